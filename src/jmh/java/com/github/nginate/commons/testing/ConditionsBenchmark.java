@@ -0,0 +1,92 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.dto.InterfaceFieldsDto;
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import org.assertj.core.api.Condition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+
+/**
+ * Evaluation cost of prepared conditions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionsBenchmark {
+    private ObjectFieldsDto objectFieldsDto;
+    private ObjectFieldsDto sameObjectFieldsDto;
+    private InterfaceFieldsDto interfaceFieldsDto;
+
+    private Condition<ObjectFieldsDto> nonNull;
+    private Condition<ObjectFieldsDto> equalTo;
+    private Condition<ObjectFieldsDto> sameAs;
+    private Condition<ObjectFieldsDto> positive;
+    private Condition<ObjectFieldsDto> positiveDouble;
+    private Condition<ObjectFieldsDto> notEmpty;
+    private Condition<InterfaceFieldsDto> hasSize;
+    private Condition<InterfaceFieldsDto> collectionContaining;
+
+    @Setup
+    public void setUp() {
+        objectFieldsDto = uniqueObject(ObjectFieldsDto.class).generate();
+        sameObjectFieldsDto = uniqueObject(ObjectFieldsDto.class).generate();
+        sameObjectFieldsDto.setStringField(objectFieldsDto.getStringField());
+        interfaceFieldsDto = uniqueObject(InterfaceFieldsDto.class).withCollectionSize(100).generate();
+
+        nonNull = Conditions.nonNullIn(ObjectFieldsDto::getStringField);
+        equalTo = Conditions.equalTo(objectFieldsDto.getLongField(), ObjectFieldsDto::getLongField);
+        sameAs = Conditions.sameAs(sameObjectFieldsDto, ObjectFieldsDto::getStringField);
+        positive = Conditions.positive(ObjectFieldsDto::getDoubleField);
+        positiveDouble = Conditions.positiveDouble(ObjectFieldsDto::getDoubleField);
+        notEmpty = Conditions.notEmpty(ObjectFieldsDto::getStringField);
+        hasSize = Conditions.hasSize(100, InterfaceFieldsDto::getListField);
+        collectionContaining = Conditions.collectionContaining(interfaceFieldsDto.getListField().get(99),
+                InterfaceFieldsDto::getListField);
+    }
+
+    @Benchmark
+    public boolean nonNullIn() {
+        return nonNull.matches(objectFieldsDto);
+    }
+
+    @Benchmark
+    public boolean equalTo() {
+        return equalTo.matches(objectFieldsDto);
+    }
+
+    @Benchmark
+    public boolean sameAs() {
+        return sameAs.matches(objectFieldsDto);
+    }
+
+    @Benchmark
+    public boolean positive() {
+        return positive.matches(objectFieldsDto);
+    }
+
+    @Benchmark
+    public boolean positiveDouble() {
+        return positiveDouble.matches(objectFieldsDto);
+    }
+
+    @Benchmark
+    public boolean notEmpty() {
+        return notEmpty.matches(objectFieldsDto);
+    }
+
+    @Benchmark
+    public boolean hasSize() {
+        return hasSize.matches(interfaceFieldsDto);
+    }
+
+    @Benchmark
+    public boolean collectionContaining() {
+        return collectionContaining.matches(interfaceFieldsDto);
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.Initializer.InitContext;
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import com.github.nginate.commons.testing.dto.PrimitiveArrayFieldsDto;
+import com.github.nginate.commons.testing.dto.RecursiveDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueList;
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+
+/**
+ * Object generation on test dtos with different collection sizes and nesting depths
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InitializerBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int collectionSize;
+
+    @Param({"1", "3", "10"})
+    private int nestingDepth;
+
+    @Benchmark
+    public ObjectFieldsDto objectFields() {
+        return context(uniqueObject(ObjectFieldsDto.class)).generate();
+    }
+
+    @Benchmark
+    public PrimitiveArrayFieldsDto primitiveArrayFields() {
+        return context(uniqueObject(PrimitiveArrayFieldsDto.class)).generate();
+    }
+
+    @Benchmark
+    public RecursiveDto recursive() {
+        return context(uniqueObject(RecursiveDto.class)).generate();
+    }
+
+    @Benchmark
+    public List<ObjectFieldsDto> listOfObjectFields() {
+        return context(uniqueList(ObjectFieldsDto.class)).generate();
+    }
+
+    private <T> InitContext<T> context(InitContext<T> context) {
+        return context.withCollectionSize(collectionSize).withNestingDepth(nestingDepth);
+    }
+}
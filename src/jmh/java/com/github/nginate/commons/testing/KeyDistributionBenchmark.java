@@ -0,0 +1,52 @@
+package com.github.nginate.commons.testing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link KeyDistribution} samplers, called from all available cores at once over a shared key space
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyDistributionBenchmark {
+    private static final int KEYS = 1_000_000;
+
+    private KeyDistribution uniform;
+    private KeyDistribution zipf;
+    private KeyDistribution hotspot;
+    private KeyDistribution gaussian;
+
+    @Setup
+    public void setUp() {
+        uniform = KeyDistribution.uniform(KEYS);
+        zipf = KeyDistribution.zipf(KEYS, 0.99);
+        hotspot = KeyDistribution.hotspot(KEYS, 0.01, 0.9);
+        gaussian = KeyDistribution.gaussian(KEYS, 0.1);
+    }
+
+    @Benchmark
+    public long uniform() {
+        return uniform.nextKey();
+    }
+
+    @Benchmark
+    public long zipf() {
+        return zipf.nextKey();
+    }
+
+    @Benchmark
+    public long hotspot() {
+        return hotspot.nextKey();
+    }
+
+    @Benchmark
+    public long gaussian() {
+        return gaussian.nextKey();
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.nginate.commons.testing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+
+/**
+ * Array generation for primitive and object component types
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NArraysBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private long[] longs;
+    private byte[] bytes;
+    private ByteBuffer directBuffer;
+
+    @Setup
+    public void setUp() {
+        longs = new long[size];
+        bytes = new byte[size];
+        directBuffer = ByteBuffer.allocateDirect(size);
+    }
+
+    @Benchmark
+    public Object generateIntArray() {
+        return NArrays.generateArray(int[].class, size, NArraysBenchmark::generate);
+    }
+
+    @Benchmark
+    public Object generateByteArray() {
+        return NArrays.generateArray(byte[].class, size, NArraysBenchmark::generate);
+    }
+
+    @Benchmark
+    public Object generateLongObjectArray() {
+        return NArrays.generateArray(Long[].class, size, NArraysBenchmark::generate);
+    }
+
+    @Benchmark
+    public Object generateStringArray() {
+        return NArrays.generateArray(String[].class, size, NArraysBenchmark::generate);
+    }
+
+    @Benchmark
+    public long[] fillUniqueLongArray() {
+        NArrays.fillUnique(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public byte[] fillPayloadByteArray() {
+        Payload.unique(size).copyTo(0, bytes, 0, size);
+        return bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer fillPayloadDirectBuffer() {
+        directBuffer.clear();
+        Payload.unique(size).copyTo(0, directBuffer);
+        return directBuffer;
+    }
+
+    private static <T> T generate(com.google.common.reflect.TypeToken<T> token) {
+        return uniqueObject(token).generate();
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.nginate.commons.testing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single threaded cost of every {@link Unique} generator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniqueBenchmark {
+
+    @Benchmark
+    public Long uniqueLong() {
+        return Unique.uniqueLong();
+    }
+
+    @Benchmark
+    public Integer uniqueInteger() {
+        return Unique.uniqueInteger();
+    }
+
+    @Benchmark
+    public Short uniqueShort() {
+        return Unique.uniqueShort();
+    }
+
+    @Benchmark
+    public Byte uniqueByte() {
+        return Unique.uniqueByte();
+    }
+
+    @Benchmark
+    public Long scrambledLong() {
+        return Unique.scrambledLong();
+    }
+
+    @Benchmark
+    public Integer scrambledInteger() {
+        return Unique.scrambledInteger();
+    }
+
+    @Benchmark
+    public String uniqueStringWithHash() {
+        return Unique.uniqueStringWithHash(0);
+    }
+
+    @Benchmark
+    public Double uniqueDouble() {
+        return Unique.uniqueDouble();
+    }
+
+    @Benchmark
+    public Float uniqueFloat() {
+        return Unique.uniqueFloat();
+    }
+
+    @Benchmark
+    public Boolean uniqueBoolean() {
+        return Unique.uniqueBoolean();
+    }
+
+    @Benchmark
+    public Character uniqueCharacter() {
+        return Unique.uniqueCharacter();
+    }
+
+    @Benchmark
+    public String uniqueString() {
+        return Unique.uniqueString();
+    }
+
+    @Benchmark
+    public String uniqueMatching() {
+        return Unique.uniqueMatching("[A-Z]{3}-\\d{4}");
+    }
+
+    @Benchmark
+    public long uniqueMillis() {
+        return Unique.uniqueMillis();
+    }
+
+    @Benchmark
+    public Date uniqueDate() {
+        return Unique.uniqueDate();
+    }
+
+    @Benchmark
+    public Instant uniqueInstant() {
+        return Unique.uniqueInstant();
+    }
+
+    @Benchmark
+    public BigDecimal uniqueBigDecimal() {
+        return Unique.uniqueBigDecimal();
+    }
+
+    @Benchmark
+    public BigInteger uniqueBigInteger() {
+        return Unique.uniqueBigInteger();
+    }
+
+    @Benchmark
+    public UUID uniqueUUID() {
+        return Unique.uniqueUUID();
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.nginate.commons.testing;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Unique} generators, called from all available cores at once. Compares shared counter with thread owned
+ * reserved blocks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class UniqueContentionBenchmark {
+    private static final int BATCH = 1000;
+
+    @Benchmark
+    public Long uniqueLong() {
+        return Unique.uniqueLong();
+    }
+
+    @Benchmark
+    public String uniqueString() {
+        return Unique.uniqueString();
+    }
+
+    @Benchmark
+    public Double uniqueDouble() {
+        return Unique.uniqueDouble();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void uniqueLongBatch(Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(Unique.uniqueLong());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void uniqueLongBatchInReservedBlocks(Blackhole blackhole) {
+        Unique.withReservedBlocks(BATCH, () -> {
+            for (int i = 0; i < BATCH; i++) {
+                blackhole.consume(Unique.uniqueLong());
+            }
+            return null;
+        });
+    }
+}
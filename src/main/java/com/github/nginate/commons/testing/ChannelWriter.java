@@ -0,0 +1,132 @@
+package com.github.nginate.commons.testing;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Writer, encoding characters straight into a reusable direct buffer, which is drained to a channel only when full. The
+ * channel is left open on {@link #close()}.
+ *
+ * @since 1.1
+ */
+final class ChannelWriter extends Writer {
+    private static final int MAX_CHAR_BUFFER_SIZE = 8 * 1024;
+    /**
+     * Longest encoded form of a single code point, so encoder always makes progress on an empty byte buffer
+     */
+    private static final int MIN_BYTE_BUFFER_SIZE = 4;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer buffer;
+    /**
+     * Chars, written since the last encoding, including a high surrogate, left unencoded until its pair arrives
+     */
+    private final CharBuffer chars;
+    private boolean closed;
+    @Getter
+    private long bytesWritten;
+
+    ChannelWriter(WritableByteChannel channel, Charset charset, int bufferSize) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_BYTE_BUFFER_SIZE));
+        this.chars = CharBuffer.allocate(Math.max(Math.min(bufferSize, MAX_CHAR_BUFFER_SIZE), 2));
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int amount = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, amount);
+            off += amount;
+            len -= amount;
+            encodeIfFull();
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int amount = Math.min(len, chars.remaining());
+            chars.put(str, off, off + amount);
+            off += amount;
+            len -= amount;
+            encodeIfFull();
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        chars.put((char) c);
+        encodeIfFull();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encode(false);
+        drain();
+    }
+
+    /**
+     * Flush encoder state and drain buffered bytes. Underlying channel is not closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        encode(true);
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+        drain();
+        closed = true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+    }
+
+    private void encodeIfFull() throws IOException {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+    }
+
+    /**
+     * Encode collected chars into byte buffer, draining it when full. Unpaired high surrogate is kept for the next
+     * call, unless input ends.
+     */
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (encoder.encode(chars, buffer, endOfInput).isOverflow()) {
+            drain();
+        }
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
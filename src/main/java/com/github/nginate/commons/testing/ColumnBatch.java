@@ -0,0 +1,348 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.Initializer.InitContext;
+import lombok.Getter;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Columnar form of generated objects: values of every simple field for a batch of rows are kept in a single array per
+ * field, primitive where possible. Each column is filled in one pass from a range of values,
+ * {@link Unique#reserve(long) reserved} at once, so values are as unique as ones produced by {@link Initializer}.
+ * Columns of fields with generators, patterns or distributions of the context are filled by them, value by value.
+ * Fields of other kinds (nested objects, arrays, collections) are not part of a batch. Bean Validation constraints are
+ * not applied and workspace of the context is not used: file and path values only name files.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     ColumnBatch<Dto> batch = uniqueObject(Dto.class).generateColumns(10_000);
+ *     long[] ids = batch.getColumn("id").getLongs();
+ *  }
+ * </pre>
+ *
+ * @param <T> row type
+ * @since 1.1
+ * @see JdbcBatchWriter
+ */
+@SuppressWarnings("WeakerAccess")
+public class ColumnBatch<T> {
+    @Getter
+    private final int rows;
+    @Getter
+    private final List<Column> columns;
+
+    private ColumnBatch(int rows, List<Column> columns) {
+        this.rows = rows;
+        this.columns = Collections.unmodifiableList(columns);
+    }
+
+    static <T> ColumnBatch<T> generate(InitContext<T> context, int rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Rows amount should not be negative : " + rows);
+        }
+        TypePlan plan = TypePlan.of(context.getContextType());
+        if (plan.getKind() != TypePlan.Kind.BEAN) {
+            throw new ObjectInitializationException("Columns can be generated for classes only : " + plan.getType());
+        }
+
+        Set<String> excludedFields = context.excludedFieldsFor(plan.getType());
+        Map<String, Supplier<?>> generators = context.fieldGeneratorsFor(plan.getType());
+        List<Column> columns = plan.getFields().stream()
+                .filter(field -> !excludedFields.contains(field.getName()))
+                .filter(field -> TypePlan.of(field.getType()).getKind() == TypePlan.Kind.VALUE)
+                .map(field -> Column.generate(field.getName(), field.getType().getRawType(), rows,
+                        generators.get(field.getName())))
+                .collect(toList());
+        return new ColumnBatch<>(rows, columns);
+    }
+
+    /**
+     * Get column by field name
+     *
+     * @param name field name
+     * @return column
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public Column getColumn(String name) {
+        return columns.stream()
+                .filter(column -> column.getName().equals(name))
+                .findAny()
+                .orElseThrow(() -> new IllegalArgumentException("There is no column : " + name));
+    }
+
+    /**
+     * Values of a single field
+     */
+    public static class Column {
+        private static final Map<Class<?>, Storage> STORAGES = new HashMap<>();
+
+        static {
+            STORAGES.put(long.class, Storage.LONG);
+            STORAGES.put(Long.class, Storage.LONG);
+            STORAGES.put(int.class, Storage.INT);
+            STORAGES.put(Integer.class, Storage.INT);
+            STORAGES.put(short.class, Storage.SHORT);
+            STORAGES.put(Short.class, Storage.SHORT);
+            STORAGES.put(byte.class, Storage.BYTE);
+            STORAGES.put(Byte.class, Storage.BYTE);
+            STORAGES.put(double.class, Storage.DOUBLE);
+            STORAGES.put(Double.class, Storage.DOUBLE);
+            STORAGES.put(float.class, Storage.FLOAT);
+            STORAGES.put(Float.class, Storage.FLOAT);
+            STORAGES.put(boolean.class, Storage.BOOLEAN);
+            STORAGES.put(Boolean.class, Storage.BOOLEAN);
+            STORAGES.put(char.class, Storage.CHAR);
+            STORAGES.put(Character.class, Storage.CHAR);
+            STORAGES.put(String.class, Storage.STRING);
+        }
+
+        private enum Storage {
+            LONG(long.class), INT(int.class), SHORT(short.class), BYTE(byte.class), DOUBLE(double.class),
+            FLOAT(float.class), BOOLEAN(boolean.class), CHAR(char.class), STRING(String.class), OBJECT(Object.class);
+
+            private final Class<?> componentType;
+
+            Storage(Class<?> componentType) {
+                this.componentType = componentType;
+            }
+        }
+
+        @Getter
+        private final String name;
+        /**
+         * Field type
+         */
+        @Getter
+        private final Class<?> type;
+        private final Storage storage;
+        /**
+         * Array of values
+         */
+        @Getter
+        private final Object values;
+
+        private Column(String name, Class<?> type, Storage storage, Object values) {
+            this.name = name;
+            this.type = type;
+            this.storage = storage;
+            this.values = values;
+        }
+
+        private static Column generate(String name, Class<?> type, int rows, Supplier<?> generator) {
+            Storage storage = STORAGES.getOrDefault(type, Storage.OBJECT);
+            Object values = Array.newInstance(storage.componentType, rows);
+            if (generator != null) {
+                fillGenerated(name, values, rows, generator);
+            } else if (rows > 0) {
+                fill(storage, type, values, rows);
+            }
+            return new Column(name, type, storage, values);
+        }
+
+        private static void fillGenerated(String name, Object values, int rows, Supplier<?> generator) {
+            for (int i = 0; i < rows; i++) {
+                try {
+                    Array.set(values, i, generator.get());
+                } catch (IllegalArgumentException e) {
+                    throw new ObjectInitializationException("Could not set generated value of field " + name, e);
+                }
+            }
+        }
+
+        private static void fill(Storage storage, Class<?> type, Object values, int rows) {
+            long first = Unique.reserve(rows);
+            switch (storage) {
+                case LONG:
+                    long[] longs = (long[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        longs[i] = first + i;
+                    }
+                    break;
+                case INT:
+                    int[] ints = (int[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        ints[i] = Unique.integerOf(first + i);
+                    }
+                    break;
+                case SHORT:
+                    short[] shorts = (short[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        shorts[i] = Unique.shortOf(first + i);
+                    }
+                    break;
+                case BYTE:
+                    byte[] bytes = (byte[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        bytes[i] = Unique.byteOf(first + i);
+                    }
+                    break;
+                case DOUBLE:
+                    double[] doubles = (double[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        doubles[i] = Unique.doubleOf(first + i);
+                    }
+                    break;
+                case FLOAT:
+                    float[] floats = (float[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        floats[i] = Unique.floatOf(first + i);
+                    }
+                    break;
+                case BOOLEAN:
+                    boolean[] booleans = (boolean[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        booleans[i] = Unique.booleanOf(first + i);
+                    }
+                    break;
+                case CHAR:
+                    char[] chars = (char[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        chars[i] = Unique.characterOf(first + i);
+                    }
+                    break;
+                case STRING:
+                    String[] strings = (String[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        strings[i] = Unique.stringOf(first + i);
+                    }
+                    break;
+                default:
+                    Object[] objects = (Object[]) values;
+                    for (int i = 0; i < rows; i++) {
+                        objects[i] = objectOf(type, first + i);
+                    }
+            }
+        }
+
+        private static Object objectOf(Class<?> type, long value) {
+            if (Date.class.equals(type)) {
+                return new Date(Unique.millisOf(value));
+            } else if (Instant.class.equals(type)) {
+                return Instant.ofEpochMilli(Unique.millisOf(value));
+            } else if (BigDecimal.class.equals(type)) {
+                return BigDecimal.valueOf(value);
+            } else if (BigInteger.class.equals(type)) {
+                return BigInteger.valueOf(value);
+            } else if (UUID.class.equals(type)) {
+                return Unique.uuidOf(value);
+            }
+            return TypePlan.of(type).newValue();
+        }
+
+        public long[] getLongs() {
+            return as(Storage.LONG, long[].class);
+        }
+
+        public int[] getInts() {
+            return as(Storage.INT, int[].class);
+        }
+
+        public short[] getShorts() {
+            return as(Storage.SHORT, short[].class);
+        }
+
+        public byte[] getBytes() {
+            return as(Storage.BYTE, byte[].class);
+        }
+
+        public double[] getDoubles() {
+            return as(Storage.DOUBLE, double[].class);
+        }
+
+        public float[] getFloats() {
+            return as(Storage.FLOAT, float[].class);
+        }
+
+        public boolean[] getBooleans() {
+            return as(Storage.BOOLEAN, boolean[].class);
+        }
+
+        public char[] getChars() {
+            return as(Storage.CHAR, char[].class);
+        }
+
+        public String[] getStrings() {
+            return as(Storage.STRING, String[].class);
+        }
+
+        public Object[] getObjects() {
+            return as(Storage.OBJECT, Object[].class);
+        }
+
+        /**
+         * Bind value of a row to a statement parameter without boxing primitives
+         *
+         * @param statement      statement to bind to
+         * @param parameterIndex index of statement parameter, starting from 1
+         * @param row            row index
+         * @throws SQLException on binding failure
+         */
+        public void bind(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+            switch (storage) {
+                case LONG:
+                    statement.setLong(parameterIndex, ((long[]) values)[row]);
+                    break;
+                case INT:
+                    statement.setInt(parameterIndex, ((int[]) values)[row]);
+                    break;
+                case SHORT:
+                    statement.setShort(parameterIndex, ((short[]) values)[row]);
+                    break;
+                case BYTE:
+                    statement.setByte(parameterIndex, ((byte[]) values)[row]);
+                    break;
+                case DOUBLE:
+                    statement.setDouble(parameterIndex, ((double[]) values)[row]);
+                    break;
+                case FLOAT:
+                    statement.setFloat(parameterIndex, ((float[]) values)[row]);
+                    break;
+                case BOOLEAN:
+                    statement.setBoolean(parameterIndex, ((boolean[]) values)[row]);
+                    break;
+                case CHAR:
+                    statement.setString(parameterIndex, String.valueOf(((char[]) values)[row]));
+                    break;
+                case STRING:
+                    statement.setString(parameterIndex, ((String[]) values)[row]);
+                    break;
+                default:
+                    bindObject(statement, parameterIndex, ((Object[]) values)[row]);
+            }
+        }
+
+        private static void bindObject(PreparedStatement statement, int parameterIndex, Object value)
+                throws SQLException {
+            if (value instanceof Date) {
+                statement.setTimestamp(parameterIndex, new Timestamp(((Date) value).getTime()));
+            } else if (value instanceof Instant) {
+                statement.setTimestamp(parameterIndex, Timestamp.from((Instant) value));
+            } else if (value instanceof BigDecimal) {
+                statement.setBigDecimal(parameterIndex, (BigDecimal) value);
+            } else if (value instanceof BigInteger) {
+                statement.setBigDecimal(parameterIndex, new BigDecimal((BigInteger) value));
+            } else if (value instanceof Enum) {
+                statement.setString(parameterIndex, ((Enum<?>) value).name());
+            } else {
+                statement.setObject(parameterIndex, value);
+            }
+        }
+
+        private <A> A as(Storage expected, Class<A> arrayType) {
+            if (storage != expected) {
+                throw new IllegalStateException("Column " + name + " of type " + type + " is not " + arrayType);
+            }
+            return arrayType.cast(values);
+        }
+    }
+}
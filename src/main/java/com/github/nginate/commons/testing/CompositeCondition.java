@@ -0,0 +1,254 @@
+package com.github.nginate.commons.testing;
+
+import lombok.NonNull;
+import org.assertj.core.api.Condition;
+import org.assertj.core.description.Description;
+import org.assertj.core.description.TextDescription;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Several field conditions, compiled into a single matcher. Checks stop on first failure and every distinct extractor
+ * is evaluated at most once per match, so expensive getters are not called over and over again as with a chain of
+ * separate conditions. Extractors are distinct by identity: method references and lambdas, written at different places,
+ * are different instances even if they call the same getter, so to share a value between checks store the extractor
+ * in a variable and pass it to every check. Once match fails, all checks are evaluated and description lists every
+ * failed one with actual values.
+ * <p>Condition is thread safe: failure report is kept per thread and is returned as description by the thread, that
+ * made the failed match.</p>
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     assertThat(obj).has(Conditions.<Obj>allOf()
+ *          .nonNullIn(Obj::getField1)
+ *          .equalTo("value", Obj::getField2)
+ *          .hasSize(3, Obj::getField3)
+ *          .build());
+ *  }
+ * </pre>
+ *
+ * @param <T> object type
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompositeCondition<T> extends Condition<T> {
+    private static final Object NOT_EVALUATED = new Object();
+
+    private final List<Function<T, ?>> extractors;
+    private final Check[] checks;
+    private final String expectation;
+    /**
+     * Report of the last failed match of a thread, null if its last match passed
+     */
+    private final ThreadLocal<String> failure = new ThreadLocal<>();
+
+    private CompositeCondition(List<Function<T, ?>> extractors, Check[] checks) {
+        this.extractors = extractors;
+        this.checks = checks;
+        StringBuilder builder = new StringBuilder("all of :");
+        for (int i = 0; i < checks.length; i++) {
+            builder.append("\n  [").append(i).append("] ").append(checks[i].description);
+        }
+        this.expectation = builder.toString();
+        describedAs(expectation);
+    }
+
+    @Override
+    public boolean matches(T value) {
+        if (value == null) {
+            failure.set(expectation + "\nbut object is null");
+            return false;
+        }
+        Object[] values = newValues();
+        for (Check check : checks) {
+            if (!check.test(value(value, values, check.slot))) {
+                failure.set(failureReport(value, values));
+                return false;
+            }
+        }
+        failure.remove();
+        return true;
+    }
+
+    /**
+     * Get expectation or, if the last match of current thread failed, its report with actual values
+     */
+    @Override
+    public Description description() {
+        String report = failure.get();
+        return report == null ? super.description() : new TextDescription(report);
+    }
+
+    @Override
+    public String toString() {
+        return description().value();
+    }
+
+    private Object[] newValues() {
+        Object[] values = new Object[extractors.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = NOT_EVALUATED;
+        }
+        return values;
+    }
+
+    private Object value(T object, Object[] values, int slot) {
+        Object value = values[slot];
+        if (value == NOT_EVALUATED) {
+            value = extractors.get(slot).apply(object);
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    private String failureReport(T object, Object[] values) {
+        StringBuilder builder = new StringBuilder(expectation).append("\nbut failed :");
+        for (int i = 0; i < checks.length; i++) {
+            Check check = checks[i];
+            Object value = value(object, values, check.slot);
+            if (!check.test(value)) {
+                builder.append("\n  [").append(i).append("] ").append(check.description)
+                        .append(" : actual <").append(describe(value)).append(">");
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String describe(Object value) {
+        if (value != null && value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return String.valueOf(value);
+    }
+
+    private static class Check {
+        private final int slot;
+        private final Predicate<Object> predicate;
+        private final String description;
+
+        private Check(int slot, Predicate<Object> predicate, String description) {
+            this.slot = slot;
+            this.predicate = predicate;
+            this.description = description;
+        }
+
+        private boolean test(Object value) {
+            return predicate.test(value);
+        }
+    }
+
+    /**
+     * Builder of a composite condition. Methods mirror single field {@link Conditions}.
+     *
+     * @param <T> object type
+     */
+    public static class Builder<T> {
+        private final Map<Function<T, ?>, Integer> slots = new IdentityHashMap<>();
+        private final List<Function<T, ?>> extractors = new ArrayList<>();
+        private final List<Check> checks = new ArrayList<>();
+
+        Builder() {
+        }
+
+        /**
+         * Add check of a field value
+         *
+         * @param fieldExtractor pointer to an object field
+         * @param check          check of field value
+         * @param description    description of expected value for failure report
+         * @param <F>            field type
+         * @return same builder
+         */
+        @SuppressWarnings("unchecked")
+        public <F> Builder<T> has(@Nonnull @NonNull Function<T, F> fieldExtractor,
+                @Nonnull @NonNull Predicate<? super F> check, @Nonnull @NonNull String description) {
+            Integer slot = slots.get(fieldExtractor);
+            if (slot == null) {
+                slot = extractors.size();
+                slots.put(fieldExtractor, slot);
+                extractors.add(fieldExtractor);
+            }
+            checks.add(new Check(slot, value -> check.test((F) value), description));
+            return this;
+        }
+
+        /**
+         * Add assertJ condition on a field value
+         *
+         * @param fieldExtractor pointer to an object field
+         * @param condition      condition for field value
+         * @param <F>            field type
+         * @return same builder
+         */
+        public <F> Builder<T> has(@Nonnull @NonNull Function<T, F> fieldExtractor,
+                @Nonnull @NonNull Condition<? super F> condition) {
+            return has(fieldExtractor, condition::matches, condition.description().value());
+        }
+
+        public <F> Builder<T> sameAs(@Nonnull @NonNull T expected, Function<T, F> fieldExtractor) {
+            F expectedValue = fieldExtractor.apply(expected);
+            return has(fieldExtractor, value -> Objects.equals(value, expectedValue),
+                    "same as <" + expectedValue + ">");
+        }
+
+        public Builder<T> nonNullIn(Function<T, Object> fieldExtractor) {
+            return has(fieldExtractor, Objects::nonNull, "non null");
+        }
+
+        public Builder<T> nullIn(Function<T, Object> fieldExtractor) {
+            return has(fieldExtractor, Objects::isNull, "null");
+        }
+
+        public <F> Builder<T> equalTo(F expected, Function<T, F> fieldExtractor) {
+            return has(fieldExtractor, value -> Objects.equals(value, expected), "equal to <" + expected + ">");
+        }
+
+        public <F> Builder<T> notEqualTo(F expected, Function<T, F> fieldExtractor) {
+            return has(fieldExtractor, value -> !Objects.equals(value, expected), "not equal to <" + expected + ">");
+        }
+
+        public <F> Builder<T> collectionContaining(F expected, Function<T, Collection<F>> fieldExtractor) {
+            return has(fieldExtractor, collection -> collection != null && collection.contains(expected),
+                    "collection containing <" + expected + ">");
+        }
+
+        public <F> Builder<T> empty(Function<T, Collection<F>> fieldExtractor) {
+            return has(fieldExtractor, collection -> collection != null && collection.isEmpty(), "empty collection");
+        }
+
+        public <F> Builder<T> hasSize(int size, Function<T, Collection<F>> fieldExtractor) {
+            return has(fieldExtractor, collection -> collection != null && collection.size() == size,
+                    "collection of size " + size);
+        }
+
+        public <K, V> Builder<T> emptyMap(Function<T, Map<K, V>> fieldExtractor) {
+            return has(fieldExtractor, map -> map != null && map.isEmpty(), "empty map");
+        }
+
+        public Builder<T> positive(Function<T, Number> fieldExtractor) {
+            return has(fieldExtractor, number -> number != null && number.doubleValue() > 0.0, "positive number");
+        }
+
+        public Builder<T> notEmpty(Function<T, CharSequence> fieldExtractor) {
+            return has(fieldExtractor, string -> string != null && string.length() > 0, "not empty string");
+        }
+
+        /**
+         * Compile added checks
+         *
+         * @return condition, matching if all checks pass
+         */
+        public CompositeCondition<T> build() {
+            return new CompositeCondition<>(new ArrayList<>(extractors), checks.toArray(new Check[checks.size()]));
+        }
+    }
+}
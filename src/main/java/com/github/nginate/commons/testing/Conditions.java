@@ -11,11 +11,26 @@ package com.github.nginate.commons.testing;
 
 import lombok.experimental.UtilityClass;
 import org.assertj.core.api.Condition;
+import org.assertj.core.description.Description;
+import org.assertj.core.description.TextDescription;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 import static com.google.common.collect.Iterables.isEmpty;
 
@@ -38,6 +53,8 @@ import static com.google.common.collect.Iterables.isEmpty;
  */
 @UtilityClass
 public class Conditions {
+    private static final Consumer<Object> SKIP = element -> {
+    };
 
     /**
      * Expect object to have same field value as other object of same type
@@ -126,6 +143,19 @@ public class Conditions {
         };
     }
 
+    /**
+     * Expect object graph to be structurally same as other one: all fields of all nested objects, collections and
+     * arrays should be equal. Field plans are cached per class, so comparing many graphs is cheap.
+     *
+     * @param expected      object to compare to
+     * @param excludedPaths dot separated paths of fields to skip, e.g. {@code "nested.id"}
+     * @param <T>           object type
+     * @return true if both graphs have same values in all not excluded fields
+     */
+    public static <T> Condition<T> deepSameAs(T expected, String... excludedPaths) {
+        return new DeepSameAs<>(expected, excludedPaths);
+    }
+
     /**
      * Expect object's field to be a collection containing provided element
      *
@@ -208,15 +238,11 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> byteArraySize(int size, Function<T, byte[]> fieldExtractor) {
-        return new Condition<T>() {
-            @Override
-            public boolean matches(T value) {
-                byte[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
-            }
-        };
+        return arrayLength(size, fieldExtractor);
     }
 
     /**
@@ -226,15 +252,11 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> booleanArraySize(int size, Function<T, boolean[]> fieldExtractor) {
-        return new Condition<T>() {
-            @Override
-            public boolean matches(T value) {
-                boolean[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
-            }
-        };
+        return arrayLength(size, fieldExtractor);
     }
 
     /**
@@ -244,15 +266,11 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> charArraySize(int size, Function<T, char[]> fieldExtractor) {
-        return new Condition<T>() {
-            @Override
-            public boolean matches(T value) {
-                char[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
-            }
-        };
+        return arrayLength(size, fieldExtractor);
     }
 
     /**
@@ -262,15 +280,11 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> doubleArraySize(int size, Function<T, double[]> fieldExtractor) {
-        return new Condition<T>() {
-            @Override
-            public boolean matches(T value) {
-                double[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
-            }
-        };
+        return arrayLength(size, fieldExtractor);
     }
 
     /**
@@ -280,15 +294,11 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> floatArraySize(int size, Function<T, float[]> fieldExtractor) {
-        return new Condition<T>() {
-            @Override
-            public boolean matches(T value) {
-                float[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
-            }
-        };
+        return arrayLength(size, fieldExtractor);
     }
 
     /**
@@ -298,15 +308,11 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> intArraySize(int size, Function<T, int[]> fieldExtractor) {
-        return new Condition<T>() {
-            @Override
-            public boolean matches(T value) {
-                int[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
-            }
-        };
+        return arrayLength(size, fieldExtractor);
     }
 
     /**
@@ -316,15 +322,11 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> longArraySize(int size, Function<T, long[]> fieldExtractor) {
-        return new Condition<T>() {
-            @Override
-            public boolean matches(T value) {
-                long[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
-            }
-        };
+        return arrayLength(size, fieldExtractor);
     }
 
     /**
@@ -334,13 +336,27 @@ public class Conditions {
      * @param fieldExtractor pointer to an object field
      * @param <T>            object type
      * @return true if array is not null and has expected size
+     * @deprecated use {@link #arrayLength(int, Function)}, that works for arrays of any type
      */
+    @Deprecated
     public static <T> Condition<T> shortArraySize(int size, Function<T, short[]> fieldExtractor) {
+        return arrayLength(size, fieldExtractor);
+    }
+
+    /**
+     * Expect object to have array of a given length. Works for arrays of both primitive and object components.
+     *
+     * @param length         expected length
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is an array of expected length
+     */
+    public static <T> Condition<T> arrayLength(int length, Function<T, ?> fieldExtractor) {
         return new Condition<T>() {
             @Override
             public boolean matches(T value) {
-                short[] array = fieldExtractor.apply(value);
-                return array != null && array.length == size;
+                Object array = fieldExtractor.apply(value);
+                return array != null && array.getClass().isArray() && Array.getLength(array) == length;
             }
         };
     }
@@ -381,6 +397,213 @@ public class Conditions {
         };
     }
 
+    /**
+     * Expect object to have positive int field, without boxing it
+     *
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is greater than zero
+     */
+    public static <T> Condition<T> positiveInt(ToIntFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsInt(value) > 0;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have positive long field, without boxing it
+     *
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is greater than zero
+     */
+    public static <T> Condition<T> positiveLong(ToLongFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsLong(value) > 0;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have positive double field, without boxing it
+     *
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is greater than zero
+     */
+    public static <T> Condition<T> positiveDouble(ToDoubleFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsDouble(value) > 0.0;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have int field within a range
+     *
+     * @param from           lower bound, inclusive
+     * @param to             upper bound, inclusive
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if from &lt;= field value &lt;= to
+     */
+    public static <T> Condition<T> intInRange(int from, int to, ToIntFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                int field = fieldExtractor.applyAsInt(value);
+                return field >= from && field <= to;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have long field within a range
+     *
+     * @param from           lower bound, inclusive
+     * @param to             upper bound, inclusive
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if from &lt;= field value &lt;= to
+     */
+    public static <T> Condition<T> longInRange(long from, long to, ToLongFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                long field = fieldExtractor.applyAsLong(value);
+                return field >= from && field <= to;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have double field within a range
+     *
+     * @param from           lower bound, inclusive
+     * @param to             upper bound, inclusive
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if from &lt;= field value &lt;= to
+     */
+    public static <T> Condition<T> doubleInRange(double from, double to, ToDoubleFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                double field = fieldExtractor.applyAsDouble(value);
+                return field >= from && field <= to;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have int field greater than a bound
+     *
+     * @param bound          exclusive lower bound
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is greater than bound
+     */
+    public static <T> Condition<T> intGreaterThan(int bound, ToIntFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsInt(value) > bound;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have long field greater than a bound
+     *
+     * @param bound          exclusive lower bound
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is greater than bound
+     */
+    public static <T> Condition<T> longGreaterThan(long bound, ToLongFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsLong(value) > bound;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have double field greater than a bound
+     *
+     * @param bound          exclusive lower bound
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is greater than bound
+     */
+    public static <T> Condition<T> doubleGreaterThan(double bound, ToDoubleFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsDouble(value) > bound;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have int field less than a bound
+     *
+     * @param bound          exclusive upper bound
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is less than bound
+     */
+    public static <T> Condition<T> intLessThan(int bound, ToIntFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsInt(value) < bound;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have long field less than a bound
+     *
+     * @param bound          exclusive upper bound
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is less than bound
+     */
+    public static <T> Condition<T> longLessThan(long bound, ToLongFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsLong(value) < bound;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have double field less than a bound
+     *
+     * @param bound          exclusive upper bound
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if field value is less than bound
+     */
+    public static <T> Condition<T> doubleLessThan(double bound, ToDoubleFunction<T> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                return fieldExtractor.applyAsDouble(value) < bound;
+            }
+        };
+    }
+
     /**
      * Expect object to have not empty string field
      *
@@ -397,4 +620,506 @@ public class Conditions {
             }
         };
     }
+
+    /**
+     * Expect object to have iterator of a given size. Elements are counted in one pass, that stops once expected size
+     * is exceeded. Iterator is consumed by check.
+     *
+     * @param size           expected size
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if iterator is not null and has expected amount of elements
+     */
+    public static <T, F> Condition<T> iteratorHasSize(long size, Function<T, Iterator<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Iterator<F> iterator = fieldExtractor.apply(value);
+                return iterator != null && countUpTo(Spliterators.spliteratorUnknownSize(iterator, 0), size) == size;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have iterator containing provided element. Elements are checked until expected one is
+     * found. Iterator is consumed by check.
+     *
+     * @param expected       expected element
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if iterator is not null and contains expected element
+     */
+    public static <T, F> Condition<T> iteratorContaining(F expected, Function<T, Iterator<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Iterator<F> iterator = fieldExtractor.apply(value);
+                return iterator != null && contains(Spliterators.spliteratorUnknownSize(iterator, 0), expected);
+            }
+        };
+    }
+
+    /**
+     * Expect object to have empty iterator. At most one element is taken. Iterator is consumed by check.
+     *
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if iterator is not null and has no elements
+     */
+    public static <T, F> Condition<T> iteratorEmpty(Function<T, Iterator<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Iterator<F> iterator = fieldExtractor.apply(value);
+                return iterator != null && countUpTo(Spliterators.spliteratorUnknownSize(iterator, 0), 0) == 0;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have stream of a given size. Elements are counted in one pass, that stops once expected size
+     * is exceeded. Elements of a {@link Spliterator#SIZED sized} stream are not traversed, so its intermediate
+     * operations may not run. Stream can not be used after check.
+     *
+     * @param size           expected size
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if stream is not null and has expected amount of elements
+     */
+    public static <T, F> Condition<T> streamHasSize(long size, Function<T, Stream<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Stream<F> stream = fieldExtractor.apply(value);
+                return stream != null && countUpTo(stream.spliterator(), size) == size;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have stream containing provided element. Elements are checked until expected one is
+     * found. Stream is consumed by check.
+     *
+     * @param expected       expected element
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if stream is not null and contains expected element
+     */
+    public static <T, F> Condition<T> streamContaining(F expected, Function<T, Stream<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Stream<F> stream = fieldExtractor.apply(value);
+                return stream != null && contains(stream.spliterator(), expected);
+            }
+        };
+    }
+
+    /**
+     * Expect object to have empty stream. At most one element is taken, none if stream is
+     * {@link Spliterator#SIZED sized}. Stream can not be used after check.
+     *
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if stream is not null and has no elements
+     */
+    public static <T, F> Condition<T> streamEmpty(Function<T, Stream<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Stream<F> stream = fieldExtractor.apply(value);
+                return stream != null && countUpTo(stream.spliterator(), 0) == 0;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have spliterator of a given size. Elements are counted in one pass, that stops once expected
+     * size is exceeded, and are consumed by check. {@link Spliterator#SIZED Sized} spliterator reports its size and
+     * is not advanced.
+     *
+     * @param size           expected size
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if spliterator is not null and has expected amount of elements
+     */
+    public static <T, F> Condition<T> spliteratorHasSize(long size, Function<T, Spliterator<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Spliterator<F> spliterator = fieldExtractor.apply(value);
+                return spliterator != null && countUpTo(spliterator, size) == size;
+            }
+        };
+    }
+
+    /**
+     * Expect object to have spliterator containing provided element. Elements are checked until expected one is
+     * found. Spliterator is consumed by check.
+     *
+     * @param expected       expected element
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if spliterator is not null and contains expected element
+     */
+    public static <T, F> Condition<T> spliteratorContaining(F expected, Function<T, Spliterator<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Spliterator<F> spliterator = fieldExtractor.apply(value);
+                return spliterator != null && contains(spliterator, expected);
+            }
+        };
+    }
+
+    /**
+     * Expect object to have empty spliterator. At most one element is taken, none if spliterator is
+     * {@link Spliterator#SIZED sized}.
+     *
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @param <F>            element type
+     * @return true if spliterator is not null and has no elements
+     */
+    public static <T, F> Condition<T> spliteratorEmpty(Function<T, Spliterator<F>> fieldExtractor) {
+        return new Condition<T>() {
+            @Override
+            public boolean matches(T value) {
+                Spliterator<F> spliterator = fieldExtractor.apply(value);
+                return spliterator != null && countUpTo(spliterator, 0) == 0;
+            }
+        };
+    }
+
+    /**
+     * Start composite condition, that evaluates each field extractor once for all its checks
+     *
+     * @param <T> object type
+     * @return builder of a condition, matching if all added checks pass
+     * @see CompositeCondition
+     */
+    public static <T> CompositeCondition.Builder<T> allOf() {
+        return new CompositeCondition.Builder<>();
+    }
+
+    /**
+     * Expect every element of a collection or other iterable to match a condition
+     *
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large collections in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<Iterable<? extends E>, E> everyElement(Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.EVERY, condition, Iterable::spliterator, 0);
+    }
+
+    /**
+     * Expect every element of an array to match a condition
+     *
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large arrays in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<E[], E> everyArrayElement(Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.EVERY, condition, Arrays::spliterator, 0);
+    }
+
+    /**
+     * Expect every element of a stream to match a condition. Stream is consumed by check.
+     *
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large sized streams in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<Stream<? extends E>, E> everyStreamElement(Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.EVERY, condition, Stream::spliterator, 0);
+    }
+
+    /**
+     * Expect no element of a collection or other iterable to match a condition
+     *
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large collections in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<Iterable<? extends E>, E> noElement(Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.NONE, condition, Iterable::spliterator, 0);
+    }
+
+    /**
+     * Expect no element of an array to match a condition
+     *
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large arrays in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<E[], E> noArrayElement(Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.NONE, condition, Arrays::spliterator, 0);
+    }
+
+    /**
+     * Expect no element of a stream to match a condition. Stream is consumed by check.
+     *
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large sized streams in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<Stream<? extends E>, E> noStreamElement(Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.NONE, condition, Stream::spliterator, 0);
+    }
+
+    /**
+     * Expect exact amount of collection or other iterable elements to match a condition
+     *
+     * @param count     expected amount of matching elements
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large collections in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<Iterable<? extends E>, E> countMatching(long count,
+            Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.COUNT, condition, Iterable::spliterator, count);
+    }
+
+    /**
+     * Expect exact amount of array elements to match a condition
+     *
+     * @param count     expected amount of matching elements
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large arrays in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<E[], E> countArrayMatching(long count, Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.COUNT, condition, Arrays::spliterator, count);
+    }
+
+    /**
+     * Expect exact amount of stream elements to match a condition. Stream is consumed by check.
+     *
+     * @param count     expected amount of matching elements
+     * @param condition element condition, should be thread safe
+     * @param <E>       element type
+     * @return condition, checking large sized streams in parallel
+     * @see ElementsCondition
+     */
+    public static <E> ElementsCondition<Stream<? extends E>, E> countStreamMatching(long count,
+            Condition<? super E> condition) {
+        return new ElementsCondition<>(ElementsCondition.Mode.COUNT, condition, Stream::spliterator, count);
+    }
+
+    /**
+     * Expect measured invocations to allocate at most given amount of bytes on average
+     *
+     * @param bytesPerInvocation allocation budget of a single invocation
+     * @return true if allocation was measured and average allocation is within budget
+     * @see Performance
+     */
+    public static Condition<Performance.Result> allocatedAtMost(long bytesPerInvocation) {
+        return new Condition<Performance.Result>("allocated at most " + bytesPerInvocation + " bytes/op") {
+            @Override
+            public boolean matches(Performance.Result value) {
+                return value.isAllocationMeasured() && value.getAllocatedBytesPerInvocation() <= bytesPerInvocation;
+            }
+        };
+    }
+
+    /**
+     * Expect latency percentile of measured invocations to be within a bound
+     *
+     * @param percentile percentile in (0, 1], e.g. 0.99
+     * @param amount     latency bound
+     * @param unit       latency bound unit
+     * @return true if given share of invocations took no longer than bound
+     * @see Performance
+     */
+    public static Condition<Performance.Result> latencyAtMost(double percentile, long amount, TimeUnit unit) {
+        long bound = unit.toNanos(amount);
+        return new Condition<Performance.Result>("p" + percentile * 100 + " latency at most " + bound + " ns") {
+            @Override
+            public boolean matches(Performance.Result value) {
+                return value.getLatencyNanos(percentile) <= bound;
+            }
+        };
+    }
+
+    /**
+     * Expect throughput of measured invocations to be at least given amount of operations per second
+     *
+     * @param operationsPerSecond minimal throughput
+     * @return true if throughput is not less than expected
+     * @see Performance
+     */
+    public static Condition<Performance.Result> throughputAtLeast(double operationsPerSecond) {
+        return new Condition<Performance.Result>("throughput at least " + operationsPerSecond + " ops/s") {
+            @Override
+            public boolean matches(Performance.Result value) {
+                return value.getThroughput() >= operationsPerSecond;
+            }
+        };
+    }
+
+    /**
+     * Expect object's field to retain at most given amount of heap: size of the field value and everything reachable
+     * from it is estimated with {@link Footprint}. Actual footprint of a failed match is reported per thread.
+     *
+     * @param bytes          maximal retained size
+     * @param fieldExtractor pointer to an object field
+     * @param <T>            object type
+     * @return true if estimated retained size of field value does not exceed given amount of bytes
+     */
+    public static <T> Condition<T> retainedSizeAtMost(long bytes, Function<T, ?> fieldExtractor) {
+        String expectation = "retained size at most " + bytes + " bytes";
+        return new Condition<T>(expectation) {
+            private final ThreadLocal<String> failure = new ThreadLocal<>();
+
+            @Override
+            public boolean matches(T value) {
+                Footprint footprint = Footprint.of(fieldExtractor.apply(value));
+                if (footprint.getRetainedSize() > bytes) {
+                    failure.set(expectation + ", but was " + footprint);
+                    return false;
+                }
+                failure.remove();
+                return true;
+            }
+
+            @Override
+            public Description description() {
+                String report = failure.get();
+                return report == null ? super.description() : new TextDescription(report);
+            }
+
+            @Override
+            public String toString() {
+                return description().value();
+            }
+        };
+    }
+
+    /**
+     * Expect stress run actors to throw no exceptions
+     *
+     * @return true if no invocation failed
+     * @see StressRunner
+     */
+    public static Condition<StressRunner.Result> noFailures() {
+        return new Condition<StressRunner.Result>("no failures") {
+            @Override
+            public boolean matches(StressRunner.Result value) {
+                return value.getFailureCount() == 0;
+            }
+        };
+    }
+
+    /**
+     * Expect stress run to have exact amount of given outcome
+     *
+     * @param outcome outcome, returned by actors
+     * @param count   expected amount of invocations with this outcome
+     * @return true if outcome occurred exactly given amount of times
+     * @see StressRunner
+     */
+    public static Condition<StressRunner.Result> outcomeCount(Object outcome, long count) {
+        return new Condition<StressRunner.Result>("outcome <" + outcome + "> " + count + " times") {
+            @Override
+            public boolean matches(StressRunner.Result value) {
+                return value.getCount(outcome) == count;
+            }
+        };
+    }
+
+    /**
+     * Expect stress run to have no outcomes except given ones
+     *
+     * @param outcomes allowed outcomes
+     * @return true if every invocation returned one of allowed outcomes
+     * @see StressRunner
+     */
+    public static Condition<StressRunner.Result> onlyOutcomes(Object... outcomes) {
+        List<Object> allowed = Arrays.asList(outcomes);
+        return new Condition<StressRunner.Result>("only outcomes " + allowed) {
+            @Override
+            public boolean matches(StressRunner.Result value) {
+                return allowed.containsAll(value.getHistogram().keySet());
+            }
+        };
+    }
+
+    /**
+     * Expect object to match a condition within a timeout. Condition is checked repeatedly with growing pauses until
+     * it matches, so it should re-read object state, e.g. through field extractors.
+     *
+     * @param condition condition to match
+     * @param timeout   maximal time to wait
+     * @param unit      timeout unit
+     * @param <T>       object type
+     * @return true if condition matched before timeout expired
+     * @see EventualCondition
+     */
+    public static <T> EventualCondition<T> eventually(Condition<? super T> condition, long timeout, TimeUnit unit) {
+        return new EventualCondition<>(condition::matches, describe(condition), timeout, unit);
+    }
+
+    /**
+     * Expect supplier to eventually supply a value, matching a condition. Supplier is called repeatedly with growing
+     * pauses until its value matches.
+     *
+     * @param condition condition for supplied value
+     * @param timeout   maximal time to wait
+     * @param unit      timeout unit
+     * @param <F>       value type
+     * @return true if supplied value matched before timeout expired
+     * @see EventualCondition
+     */
+    public static <F> EventualCondition<Supplier<F>> eventuallySupplies(Condition<? super F> condition, long timeout,
+            TimeUnit unit) {
+        return new EventualCondition<>(supplier -> condition.matches(supplier.get()), "supplies " +
+                describe(condition), timeout, unit);
+    }
+
+    /**
+     * Count elements, stopping once limit is exceeded. Sized spliterator is not advanced.
+     *
+     * @return amount of elements or limit + 1 if there are more elements than limit
+     */
+    private static long countUpTo(Spliterator<?> spliterator, long limit) {
+        long exactSize = spliterator.getExactSizeIfKnown();
+        if (exactSize >= 0) {
+            return Math.min(exactSize, limit + 1);
+        }
+        long count = 0;
+        while (count <= limit && spliterator.tryAdvance(SKIP)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String describe(Condition<?> condition) {
+        String description = condition.description().value();
+        return description == null || description.isEmpty() ? "matching condition" : description;
+    }
+
+    private static boolean contains(Spliterator<?> spliterator, Object expected) {
+        boolean[] found = new boolean[1];
+        while (!found[0] && spliterator.tryAdvance(element -> found[0] = Objects.equals(element, expected))) {
+            // consumer checks elements
+        }
+        return found[0];
+    }
 }
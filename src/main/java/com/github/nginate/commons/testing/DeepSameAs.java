@@ -0,0 +1,284 @@
+package com.github.nginate.commons.testing;
+
+import com.google.common.primitives.Primitives;
+import org.assertj.core.api.Condition;
+import org.assertj.core.description.Description;
+import org.assertj.core.description.TextDescription;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Structural comparison of object graphs. Classes are compared by fields, found with the same {@link TypePlan
+ * introspection} as used for generation, and compiled once per class into a plan, that compares primitive fields
+ * without boxing. Only user classes, collections, maps and arrays are walked: primitives and their wrappers, enums,
+ * JDK classes from {@code java.*} packages (strings, big numbers, {@code java.time} values), sets and classes without
+ * fields are compared with equals, without reflection into their internals. Other collections and arrays are
+ * compared element by element, maps by values of equal keys. Cycles are followed once per pair of objects.
+ * <p>Excluded paths are field names separated with dots, starting from compared object. Elements of arrays,
+ * collections and maps share the path of their container, so {@code "items.id"} excludes id of every item.</p>
+ * <p>Path and values of a difference are kept per thread and are returned as description by the thread, that made the
+ * failed match.</p>
+ *
+ * @param <T> object type
+ * @since 1.1
+ */
+class DeepSameAs<T> extends Condition<T> {
+    private static final Map<Class<?>, ClassPlan> PLANS = new ConcurrentHashMap<>();
+
+    private final T expected;
+    private final PathNode exclusions;
+    private final String expectation;
+    /**
+     * Report of the last failed match of a thread, null if its last match passed
+     */
+    private final ThreadLocal<String> failure = new ThreadLocal<>();
+
+    DeepSameAs(T expected, String... excludedPaths) {
+        this.expected = expected;
+        this.exclusions = new PathNode();
+        for (String path : excludedPaths) {
+            PathNode node = exclusions;
+            for (String name : path.split("\\.")) {
+                node = node.children.computeIfAbsent(name, key -> new PathNode());
+            }
+            node.excluded = true;
+        }
+        this.expectation = "deep same as <" + expected + ">" +
+                (excludedPaths.length == 0 ? "" : " excluding " + Arrays.toString(excludedPaths));
+        describedAs(expectation);
+    }
+
+    @Override
+    public boolean matches(T value) {
+        Comparison comparison = new Comparison();
+        if (comparison.same(value, expected, exclusions)) {
+            failure.remove();
+            return true;
+        }
+        String path = String.join("", comparison.path).replaceFirst("^\\.", "");
+        failure.set(expectation + "\nbut differs at <" + (path.isEmpty() ? "root" : path) + "> : actual <" +
+                comparison.actual + ">, expected <" + comparison.expected + ">");
+        return false;
+    }
+
+    /**
+     * Get expectation or, if the last match of current thread failed, its first difference
+     */
+    @Override
+    public Description description() {
+        String report = failure.get();
+        return report == null ? super.description() : new TextDescription(report);
+    }
+
+    @Override
+    public String toString() {
+        return description().value();
+    }
+
+    /**
+     * Excluded paths as a tree of field names
+     */
+    private static class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+        private boolean excluded;
+    }
+
+    /**
+     * State of a single comparison
+     */
+    private static class Comparison {
+        private final Map<Object, Object> visited = new IdentityHashMap<>();
+        /**
+         * Path to the first difference, filled while unwinding
+         */
+        private final Deque<String> path = new ArrayDeque<>();
+        private Object actual;
+        private Object expected;
+
+        private boolean same(Object actual, Object expected, PathNode exclusions) {
+            if (actual == expected) {
+                return true;
+            }
+            if (actual == null || expected == null || actual.getClass() != expected.getClass()) {
+                return differs(actual, expected);
+            }
+            Class<?> type = actual.getClass();
+            if (type.isArray()) {
+                return sameArrays(actual, expected, exclusions);
+            }
+            if (actual instanceof Set) {
+                return actual.equals(expected) || differs(actual, expected);
+            }
+            if (actual instanceof Collection) {
+                return sameIterables((Collection<?>) actual, (Collection<?>) expected, exclusions);
+            }
+            if (actual instanceof Map) {
+                return sameMaps((Map<?, ?>) actual, (Map<?, ?>) expected, exclusions);
+            }
+
+            ClassPlan plan = PLANS.computeIfAbsent(type, ClassPlan::new);
+            if (plan.valueType) {
+                return actual.equals(expected) || differs(actual, expected);
+            }
+            if (visited.get(actual) == expected) {
+                return true;
+            }
+            visited.put(actual, expected);
+            return plan.same(this, actual, expected, exclusions);
+        }
+
+        private boolean sameArrays(Object actual, Object expected, PathNode exclusions) {
+            Class<?> component = actual.getClass().getComponentType();
+            if (!component.isPrimitive()) {
+                return sameIterables(Arrays.asList((Object[]) actual), Arrays.asList((Object[]) expected),
+                        exclusions);
+            }
+            boolean same;
+            if (component == int.class) {
+                same = Arrays.equals((int[]) actual, (int[]) expected);
+            } else if (component == long.class) {
+                same = Arrays.equals((long[]) actual, (long[]) expected);
+            } else if (component == byte.class) {
+                same = Arrays.equals((byte[]) actual, (byte[]) expected);
+            } else if (component == short.class) {
+                same = Arrays.equals((short[]) actual, (short[]) expected);
+            } else if (component == char.class) {
+                same = Arrays.equals((char[]) actual, (char[]) expected);
+            } else if (component == boolean.class) {
+                same = Arrays.equals((boolean[]) actual, (boolean[]) expected);
+            } else if (component == double.class) {
+                same = Arrays.equals((double[]) actual, (double[]) expected);
+            } else {
+                same = Arrays.equals((float[]) actual, (float[]) expected);
+            }
+            return same || differs(actual, expected);
+        }
+
+        private boolean sameIterables(Collection<?> actual, Collection<?> expected, PathNode exclusions) {
+            if (actual.size() != expected.size()) {
+                return differs(actual, expected);
+            }
+            Iterator<?> expectedElements = expected.iterator();
+            int index = 0;
+            for (Object element : actual) {
+                if (!same(element, expectedElements.next(), exclusions)) {
+                    path.push("[" + index + "]");
+                    return false;
+                }
+                index++;
+            }
+            return true;
+        }
+
+        private boolean sameMaps(Map<?, ?> actual, Map<?, ?> expected, PathNode exclusions) {
+            if (actual.size() != expected.size()) {
+                return differs(actual, expected);
+            }
+            for (Map.Entry<?, ?> entry : actual.entrySet()) {
+                Object key = entry.getKey();
+                if (!expected.containsKey(key)) {
+                    path.push("[" + key + "]");
+                    return differs(entry.getValue(), null);
+                }
+                if (!same(entry.getValue(), expected.get(key), exclusions)) {
+                    path.push("[" + key + "]");
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean differs(Object actual, Object expected) {
+            this.actual = actual;
+            this.expected = expected;
+            return false;
+        }
+    }
+
+    /**
+     * Comparison of fields of a single class
+     */
+    private static class ClassPlan {
+        private final boolean valueType;
+        private final Field[] fields;
+        private final Class<?>[] primitives;
+
+        private ClassPlan(Class<?> type) {
+            boolean leaf = isLeaf(type);
+            List<TypePlan.FieldPlan> fieldPlans = leaf ? Collections.emptyList() : TypePlan.of(type).getFields();
+            this.valueType = leaf || fieldPlans.isEmpty();
+            this.fields = new Field[fieldPlans.size()];
+            this.primitives = new Class<?>[fieldPlans.size()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fieldPlans.get(i).getField();
+                primitives[i] = fields[i].getType().isPrimitive() ? fields[i].getType() : null;
+            }
+        }
+
+        /**
+         * True if instances are compared with equals, fields of JDK classes are not opened for reflection on Java 9+
+         */
+        private static boolean isLeaf(Class<?> type) {
+            return type.isPrimitive() || Primitives.isWrapperType(type) || Enum.class.isAssignableFrom(type) ||
+                    type.getName().startsWith("java.") || TypePlan.of(type).getKind() == TypePlan.Kind.VALUE;
+        }
+
+        private boolean same(Comparison comparison, Object actual, Object expected, PathNode exclusions) {
+            try {
+                for (int i = 0; i < fields.length; i++) {
+                    Field field = fields[i];
+                    PathNode fieldExclusions = exclusions == null ? null : exclusions.children.get(field.getName());
+                    if (fieldExclusions != null && fieldExclusions.excluded) {
+                        continue;
+                    }
+                    boolean same = primitives[i] == null
+                            ? comparison.same(field.get(actual), field.get(expected), fieldExclusions)
+                            : samePrimitives(comparison, primitives[i], field, actual, expected);
+                    if (!same) {
+                        comparison.path.push("." + field.getName());
+                        return false;
+                    }
+                }
+                return true;
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not compare fields of " + actual.getClass(), e);
+            }
+        }
+
+        private static boolean samePrimitives(Comparison comparison, Class<?> type, Field field, Object actual,
+                Object expected) throws IllegalAccessException {
+            boolean same;
+            if (type == int.class) {
+                same = field.getInt(actual) == field.getInt(expected);
+            } else if (type == long.class) {
+                same = field.getLong(actual) == field.getLong(expected);
+            } else if (type == boolean.class) {
+                same = field.getBoolean(actual) == field.getBoolean(expected);
+            } else if (type == double.class) {
+                same = Double.doubleToLongBits(field.getDouble(actual)) ==
+                        Double.doubleToLongBits(field.getDouble(expected));
+            } else if (type == float.class) {
+                same = Float.floatToIntBits(field.getFloat(actual)) == Float.floatToIntBits(field.getFloat(expected));
+            } else if (type == byte.class) {
+                same = field.getByte(actual) == field.getByte(expected);
+            } else if (type == short.class) {
+                same = field.getShort(actual) == field.getShort(expected);
+            } else {
+                same = field.getChar(actual) == field.getChar(expected);
+            }
+            return same || comparison.differs(field.get(actual), field.get(expected));
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.github.nginate.commons.testing;
+
+import org.assertj.core.api.Condition;
+import org.assertj.core.description.Description;
+import org.assertj.core.description.TextDescription;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Condition on all elements of a collection, array or stream. Large sources are checked in parallel with the common
+ * fork-join pool, so element condition should be thread safe. Sources, that know exact sizes of their splits (lists,
+ * arrays and streams over them), are split recursively; other sized sources are read sequentially into array batches,
+ * which are checked in parallel while the rest of a source is read. Sources of unknown size are checked sequentially.
+ * Check stops as soon as result is known: once {@link #withSampleSize(int) sample} of failed elements is collected or
+ * expected count is exceeded.
+ * <p>Failure report is kept per thread and is returned as description by the thread, that made the failed match, so
+ * a condition can be shared between parallel tests once it is configured.</p>
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     assertThat(rows).has(everyElement(positiveLong(Row::getId)).withSampleSize(20));
+ *  }
+ * </pre>
+ *
+ * @param <C> type of elements source
+ * @param <E> element type
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class ElementsCondition<C, E> extends Condition<C> {
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+    private static final int DEFAULT_SAMPLE_SIZE = 10;
+    private static final int MIN_BATCH_SIZE = 1024;
+    /**
+     * Largest array batch, read from a source without exact sizes of its splits, same as the one of
+     * {@link Spliterators.AbstractSpliterator}
+     */
+    private static final int MAX_ARRAY_BATCH_SIZE = 1 << 25;
+    /**
+     * Amount of matched elements, counted by a single thread before publishing them
+     */
+    private static final int COUNT_FLUSH_SIZE = 1024;
+
+    enum Mode {
+        EVERY, NONE, COUNT
+    }
+
+    private final Mode mode;
+    private final Condition<? super E> condition;
+    private final Function<C, Spliterator<? extends E>> source;
+    private final long expectedCount;
+    private final String expectation;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private boolean exhaustive;
+    /**
+     * Report of the last failed match of a thread, null if its last match passed
+     */
+    private final ThreadLocal<String> failure = new ThreadLocal<>();
+
+    ElementsCondition(Mode mode, Condition<? super E> condition, Function<C, Spliterator<? extends E>> source,
+            long expectedCount) {
+        this.mode = mode;
+        this.condition = condition;
+        this.source = source;
+        this.expectedCount = expectedCount;
+        switch (mode) {
+            case EVERY:
+                expectation = "every element to match <" + condition + ">";
+                break;
+            case NONE:
+                expectation = "no element to match <" + condition + ">";
+                break;
+            default:
+                expectation = expectedCount + " elements to match <" + condition + ">";
+        }
+        describedAs(expectation);
+    }
+
+    /**
+     * Set minimal amount of elements to check in parallel
+     *
+     * @param parallelThreshold elements amount
+     * @return same condition
+     */
+    public ElementsCondition<C, E> withParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold should be positive : " + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    /**
+     * Set amount of failed elements to report. Unless condition is {@link #exhaustive()} check stops once this amount
+     * of failed elements is found.
+     *
+     * @param sampleSize amount of failed elements to report
+     * @return same condition
+     */
+    public ElementsCondition<C, E> withSampleSize(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("Sample size should be positive : " + sampleSize);
+        }
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * Check all elements to report total amount of failed ones
+     *
+     * @return same condition
+     */
+    public ElementsCondition<C, E> exhaustive() {
+        this.exhaustive = true;
+        return this;
+    }
+
+    @Override
+    public boolean matches(C value) {
+        if (value == null) {
+            failure.set(expectation + "\nbut source is null");
+            return false;
+        }
+
+        Scan scan = new Scan();
+        Spliterator<? extends E> spliterator = source.apply(value);
+        long size = spliterator.getExactSizeIfKnown();
+        if (size >= parallelThreshold) {
+            long batchSize = Math.max(MIN_BATCH_SIZE, size / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+            ForkJoinTask<?> task = spliterator.hasCharacteristics(Spliterator.SUBSIZED)
+                    ? new ScanTask(scan, spliterator, 0, batchSize)
+                    : new BatchTask(scan, spliterator, (int) Math.min(batchSize, MAX_ARRAY_BATCH_SIZE));
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            scan.scan(spliterator, 0);
+        }
+
+        if (mode == Mode.COUNT) {
+            long matched = scan.matched.sum();
+            if (matched != expectedCount) {
+                failure.set(expectation + "\nbut " + (scan.stopped ? "more than " + expectedCount : matched) +
+                        " elements matched");
+                return false;
+            }
+        } else {
+            long failed = scan.failed.sum();
+            if (failed > 0) {
+                failure.set(failureReport(scan, failed));
+                return false;
+            }
+        }
+        failure.remove();
+        return true;
+    }
+
+    /**
+     * Get expectation or, if the last match of current thread failed, its report with failed elements
+     */
+    @Override
+    public Description description() {
+        String report = failure.get();
+        return report == null ? super.description() : new TextDescription(report);
+    }
+
+    @Override
+    public String toString() {
+        return description().value();
+    }
+
+    private String failureReport(Scan scan, long failed) {
+        StringBuilder builder = new StringBuilder(expectation).append("\nbut ");
+        if (scan.stopped) {
+            builder.append("at least ");
+        }
+        builder.append(failed).append(mode == Mode.EVERY ? " elements did not match" : " elements matched");
+        synchronized (scan.samples) {
+            builder.append(", sample :");
+            for (Map.Entry<Long, Object> sample : scan.samples.entrySet()) {
+                builder.append("\n  [").append(sample.getKey()).append("] <").append(sample.getValue()).append(">");
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Shared state of a single check
+     */
+    private class Scan {
+        private final LongAdder matched = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        /**
+         * Failed elements with smallest indices, found so far
+         */
+        private final TreeMap<Long, Object> samples = new TreeMap<>();
+        private volatile boolean stopped;
+
+        private void scan(Spliterator<? extends E> spliterator, long offset) {
+            Cursor cursor = new Cursor(offset);
+            while (!stopped && spliterator.tryAdvance(cursor)) {
+                // cursor checks elements
+            }
+            cursor.flush();
+        }
+
+        private void count(long amount) {
+            matched.add(amount);
+            if (matched.sum() > expectedCount) {
+                stopped = true;
+            }
+        }
+
+        private void sample(E element, long index) {
+            synchronized (samples) {
+                samples.put(index, element);
+                if (samples.size() > sampleSize) {
+                    samples.pollLastEntry();
+                    if (!exhaustive) {
+                        stopped = true;
+                    }
+                }
+            }
+        }
+
+        private class Cursor implements Consumer<E> {
+            private long index;
+            private int matched;
+
+            private Cursor(long index) {
+                this.index = index;
+            }
+
+            @Override
+            public void accept(E element) {
+                boolean matches = condition.matches(element);
+                if (mode == Mode.COUNT) {
+                    if (matches && ++matched == COUNT_FLUSH_SIZE) {
+                        flush();
+                    }
+                } else if (matches == (mode == Mode.NONE)) {
+                    failed.increment();
+                    sample(element, index);
+                }
+                index++;
+            }
+
+            private void flush() {
+                if (matched > 0) {
+                    count(matched);
+                    matched = 0;
+                }
+            }
+        }
+    }
+
+    private class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Scan scan;
+        private final Spliterator<? extends E> spliterator;
+        private final long offset;
+        private final long batchSize;
+
+        private ScanTask(Scan scan, Spliterator<? extends E> spliterator, long offset, long batchSize) {
+            this.scan = scan;
+            this.spliterator = spliterator;
+            this.offset = offset;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            Spliterator<? extends E> rest = spliterator;
+            long restOffset = offset;
+            List<ScanTask> forks = new ArrayList<>();
+            Spliterator<? extends E> prefix;
+            while (!scan.stopped && rest.estimateSize() > batchSize && (prefix = rest.trySplit()) != null) {
+                ScanTask task = new ScanTask(scan, prefix, restOffset, batchSize);
+                task.fork();
+                forks.add(task);
+                restOffset += prefix.getExactSizeIfKnown();
+            }
+            scan.scan(rest, restOffset);
+            for (ScanTask fork : forks) {
+                fork.join();
+            }
+        }
+    }
+
+    /**
+     * Check of a source, that does not know exact sizes of its splits: elements are read into array batches with known
+     * offsets, every batch is checked by a separate task
+     */
+    private class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Scan scan;
+        private final Spliterator<? extends E> spliterator;
+        private final int batchSize;
+
+        private BatchTask(Scan scan, Spliterator<? extends E> spliterator, int batchSize) {
+            this.scan = scan;
+            this.spliterator = spliterator;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            Iterator<? extends E> elements = Spliterators.iterator(spliterator);
+            List<ScanTask> forks = new ArrayList<>();
+            long offset = 0;
+            while (!scan.stopped && elements.hasNext()) {
+                Object[] batch = new Object[batchSize];
+                int length = 0;
+                while (length < batchSize && elements.hasNext()) {
+                    batch[length++] = elements.next();
+                }
+                Spliterator<E> split = Spliterators.spliterator(batch, 0, length, Spliterator.ORDERED);
+                ScanTask task = new ScanTask(scan, split, offset, batchSize);
+                task.fork();
+                forks.add(task);
+                offset += length;
+            }
+            for (ScanTask fork : forks) {
+                fork.join();
+            }
+        }
+    }
+}
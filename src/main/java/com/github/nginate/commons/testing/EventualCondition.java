@@ -0,0 +1,216 @@
+package com.github.nginate.commons.testing;
+
+import lombok.NonNull;
+import org.assertj.core.api.Condition;
+import org.assertj.core.description.Description;
+import org.assertj.core.description.TextDescription;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * Condition, that is checked repeatedly until it matches or timeout expires. Pauses between checks start short and
+ * double up to a maximal interval, so fast systems are not slowed down by a fixed sleep and slow ones are not busy
+ * polled. A {@link Signal}, fired from a callback of the system under test, wakes waiting checks immediately. Checks,
+ * that throw exceptions or assertion errors, are treated as not matching yet.
+ * <p>Outcome of a match (amount of checks, elapsed time and report) is kept per thread, so a configured condition can
+ * be shared between parallel tests, and getters return outcome of the last match of the calling thread.</p>
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     Signal signal = new Signal();
+ *     service.onStateChange(state -> signal.fire());
+ *
+ *     assertThat(service).has(eventually(equalTo(State.DONE, Service::getState), 5, TimeUnit.SECONDS)
+ *          .withSignal(signal));
+ *  }
+ * </pre>
+ *
+ * @param <T> object type
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class EventualCondition<T> extends Condition<T> {
+    private static final long MIN_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long DEFAULT_MAX_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Predicate<T> check;
+    private final String expectation;
+    private final long timeoutNanos;
+    private long maxIntervalNanos = DEFAULT_MAX_INTERVAL_NANOS;
+    private Signal signal;
+    /**
+     * Outcome of the last match of a thread
+     */
+    private final ThreadLocal<Outcome> outcome = new ThreadLocal<>();
+
+    EventualCondition(Predicate<T> check, String expectation, long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout should not be negative : " + timeout);
+        }
+        this.check = check;
+        this.expectation = "eventually " + expectation;
+        this.timeoutNanos = unit.toNanos(timeout);
+        describedAs(this.expectation);
+    }
+
+    /**
+     * Set maximal pause between checks
+     *
+     * @param interval maximal pause
+     * @param unit     pause unit
+     * @return same condition
+     */
+    public EventualCondition<T> withMaxInterval(long interval, @Nonnull @NonNull TimeUnit unit) {
+        this.maxIntervalNanos = Math.max(MIN_INTERVAL_NANOS, unit.toNanos(interval));
+        return this;
+    }
+
+    /**
+     * Wake waiting checks once signal is fired
+     *
+     * @param signal signal to wait for
+     * @return same condition
+     */
+    public EventualCondition<T> withSignal(@Nonnull @NonNull Signal signal) {
+        this.signal = signal;
+        return this;
+    }
+
+    /**
+     * Get time of the last match of current thread to converge or to time out
+     *
+     * @return elapsed nanoseconds, 0 if current thread made no matches
+     */
+    public long getElapsedNanos() {
+        Outcome last = outcome.get();
+        return last == null ? 0 : last.elapsedNanos;
+    }
+
+    /**
+     * Get amount of checks during the last match of current thread
+     *
+     * @return amount of checks, 0 if current thread made no matches
+     */
+    public int getPolls() {
+        Outcome last = outcome.get();
+        return last == null ? 0 : last.polls;
+    }
+
+    @Override
+    public boolean matches(T value) {
+        long started = System.nanoTime();
+        long interval = MIN_INTERVAL_NANOS;
+        long generation = signal == null ? 0 : signal.generation.get();
+        Throwable lastError = null;
+        int polls = 0;
+
+        while (true) {
+            polls++;
+            try {
+                if (check.test(value)) {
+                    outcome.set(new Outcome(polls, System.nanoTime() - started, "converged"));
+                    return true;
+                }
+            } catch (RuntimeException | AssertionError e) {
+                lastError = e;
+            }
+
+            // elapsed time is compared instead of a deadline, that would overflow for saturated timeouts
+            long remaining = timeoutNanos - (System.nanoTime() - started);
+            if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            if (signal == null) {
+                LockSupport.parkNanos(this, Math.min(interval, remaining));
+            } else {
+                generation = signal.await(generation, Math.min(interval, remaining));
+                if (generation < 0) {
+                    generation = -generation;
+                    interval = MIN_INTERVAL_NANOS;
+                    continue;
+                }
+            }
+            interval = Math.min(interval * 2, maxIntervalNanos);
+        }
+
+        outcome.set(new Outcome(polls, System.nanoTime() - started,
+                "did not converge" + (lastError == null ? "" : ", last error : " + lastError)));
+        return false;
+    }
+
+    /**
+     * Get expectation or, if current thread made a match, its outcome
+     */
+    @Override
+    public Description description() {
+        Outcome last = outcome.get();
+        return last == null ? super.description() : new TextDescription(last.report(expectation));
+    }
+
+    @Override
+    public String toString() {
+        return description().value();
+    }
+
+    /**
+     * Result of a single match
+     */
+    private static class Outcome {
+        private final int polls;
+        private final long elapsedNanos;
+        private final String result;
+
+        private Outcome(int polls, long elapsedNanos, String result) {
+            this.polls = polls;
+            this.elapsedNanos = elapsedNanos;
+            this.result = result;
+        }
+
+        private String report(String expectation) {
+            return String.format(Locale.ROOT, "%s, %s in %.3f ms after %d checks", expectation, result,
+                    elapsedNanos / 1e6, polls);
+        }
+    }
+
+    /**
+     * Wakes checks, waiting for a change. Can be fired from any thread, e.g. from a listener of the system under test.
+     */
+    public static class Signal {
+        private final AtomicLong generation = new AtomicLong(1);
+        private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Wake all waiting checks
+         */
+        public void fire() {
+            generation.incrementAndGet();
+            waiters.forEach(LockSupport::unpark);
+        }
+
+        /**
+         * Wait until signal is fired or timeout expires
+         *
+         * @return current generation if signal was not fired, negated new generation otherwise
+         */
+        private long await(long seen, long timeoutNanos) {
+            Thread thread = Thread.currentThread();
+            waiters.add(thread);
+            try {
+                if (generation.get() == seen) {
+                    LockSupport.parkNanos(this, timeoutNanos);
+                }
+            } finally {
+                waiters.remove(thread);
+            }
+            long current = generation.get();
+            return current == seen ? seen : -current;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.github.nginate.commons.testing;
+
+import com.google.common.primitives.Primitives;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation constraints of a single field, read once when its {@link TypePlan.FieldPlan plan} is created.
+ * Annotations are recognized by name in both {@code javax.validation.constraints} and {@code
+ * jakarta.validation.constraints} packages, so validation API is not required at runtime. Values are generated to
+ * satisfy constraints directly:
+ * <ul>
+ * <li>strings take length from {@code @Size}, {@code @NotEmpty} and {@code @NotBlank}, {@code @Email} strings are
+ * addresses, {@code @Pattern} strings are {@link Unique#uniqueMatching(String) enumerated} from a pattern</li>
+ * <li>collections, maps and arrays take size from {@code @Size} and {@code @NotEmpty}</li>
+ * <li>numbers are taken from the range of {@code @Min}, {@code @Max}, {@code @DecimalMin}, {@code @DecimalMax},
+ * {@code @Digits} and sign constraints, cycling through it with unique values</li>
+ * <li>dates and instants honor {@code @Past}, {@code @Future} and their {@code OrPresent} forms</li>
+ * <li>booleans honor {@code @AssertTrue} and {@code @AssertFalse}, {@code @Null} fields are left null</li>
+ * </ul>
+ * Unique values are unique as long as the allowed range or length is large enough to hold them.
+ *
+ * @since 1.1
+ */
+final class FieldConstraints {
+    private static final String[] PACKAGES = {"javax.validation.constraints.", "jakarta.validation.constraints."};
+    private static final long FUTURE_OFFSET_MILLIS = TimeUnit.DAYS.toMillis(365);
+
+    private enum ValueKind {
+        NONE, STRING, EMAIL, PATTERN, NUMBER, PAST, FUTURE, BOOLEAN
+    }
+
+    private final Class<?> type;
+    private final boolean alwaysNull;
+    private final boolean sized;
+    private final int minSize;
+    private final int maxSize;
+    private final ValueKind valueKind;
+    private final long minValue;
+    private final long maxValue;
+    private final boolean assertedValue;
+    private final RegexGenerator pattern;
+
+    private FieldConstraints(Field field, Map<String, Annotation> annotations) {
+        this.type = Primitives.wrap(field.getType());
+        this.alwaysNull = annotations.containsKey("Null") && !field.getType().isPrimitive();
+
+        Annotation size = annotations.get("Size");
+        boolean notEmpty = annotations.containsKey("NotEmpty") || annotations.containsKey("NotBlank");
+        this.sized = size != null || notEmpty;
+        this.minSize = Math.max(size == null ? 0 : (int) attribute(size, "min"), notEmpty ? 1 : 0);
+        this.maxSize = size == null ? Integer.MAX_VALUE : (int) attribute(size, "max");
+        if (minSize > maxSize) {
+            throw unsatisfiable(field);
+        }
+
+        long[] range = numberRange(field, annotations);
+        this.minValue = range[0];
+        this.maxValue = range[1];
+        this.assertedValue = annotations.containsKey("AssertTrue");
+        this.valueKind = valueKind(annotations);
+        this.pattern = valueKind == ValueKind.PATTERN ? patternOf(field, annotations.get("Pattern")) : null;
+    }
+
+    /**
+     * Read constraints of a field
+     *
+     * @param field field to inspect
+     * @return constraints, null if field has no validation annotations
+     * @throws ObjectInitializationException if constraints can not be satisfied together
+     */
+    static FieldConstraints of(Field field) {
+        Map<String, Annotation> annotations = null;
+        for (Annotation annotation : field.getAnnotations()) {
+            String name = annotation.annotationType().getName();
+            for (String constraintsPackage : PACKAGES) {
+                if (name.startsWith(constraintsPackage)) {
+                    if (annotations == null) {
+                        annotations = new HashMap<>();
+                    }
+                    annotations.put(name.substring(constraintsPackage.length()), annotation);
+                }
+            }
+        }
+        return annotations == null ? null : new FieldConstraints(field, annotations);
+    }
+
+    boolean isAlwaysNull() {
+        return alwaysNull;
+    }
+
+    /**
+     * @return true if field value is produced by {@link #newValue(long)}
+     */
+    boolean isValueGenerated() {
+        return valueKind != ValueKind.NONE;
+    }
+
+    /**
+     * @return true if size of collection, map or array field is constrained
+     */
+    boolean isSized() {
+        return sized && valueKind == ValueKind.NONE;
+    }
+
+    /**
+     * Fit requested collection size into constrained bounds
+     *
+     * @param requested size of context
+     * @return closest allowed size
+     */
+    int sizeOf(int requested) {
+        return Math.max(minSize, Math.min(maxSize, requested));
+    }
+
+    /**
+     * Generate value, that satisfies constraints
+     *
+     * @param id unique long
+     * @return value of field type
+     */
+    Object newValue(long id) {
+        switch (valueKind) {
+            case STRING:
+                return Unique.stringOf(id, sizeOf(Unique.stringOf(id).length()));
+            case EMAIL:
+                return Unique.stringOf(id) + "@example.com";
+            case PATTERN:
+                return pattern.generate(id);
+            case NUMBER:
+                return numberOf(minValue + offsetOf(id));
+            case PAST:
+                return temporalOf(Unique.millisOf(0) - TimeUnit.SECONDS.toMillis(id));
+            case FUTURE:
+                return temporalOf(Unique.millisOf(id) + FUTURE_OFFSET_MILLIS);
+            case BOOLEAN:
+                return assertedValue;
+            default:
+                throw new IllegalStateException("Value of " + type + " is not generated by constraints");
+        }
+    }
+
+    private ValueKind valueKind(Map<String, Annotation> annotations) {
+        if (type == String.class || type == CharSequence.class) {
+            if (annotations.containsKey("Pattern")) {
+                return ValueKind.PATTERN;
+            }
+            if (annotations.containsKey("Email")) {
+                return ValueKind.EMAIL;
+            }
+            return sized ? ValueKind.STRING : ValueKind.NONE;
+        }
+        if (isNumber(type) && (annotations.containsKey("Min") || annotations.containsKey("Max") ||
+                annotations.containsKey("DecimalMin") || annotations.containsKey("DecimalMax") ||
+                annotations.containsKey("Digits") || annotations.containsKey("Positive") ||
+                annotations.containsKey("PositiveOrZero") || annotations.containsKey("Negative") ||
+                annotations.containsKey("NegativeOrZero"))) {
+            return ValueKind.NUMBER;
+        }
+        if (type == Date.class || type == Instant.class) {
+            if (annotations.containsKey("Past") || annotations.containsKey("PastOrPresent")) {
+                return ValueKind.PAST;
+            }
+            if (annotations.containsKey("Future") || annotations.containsKey("FutureOrPresent")) {
+                return ValueKind.FUTURE;
+            }
+        }
+        if (type == Boolean.class &&
+                (annotations.containsKey("AssertTrue") || annotations.containsKey("AssertFalse"))) {
+            return ValueKind.BOOLEAN;
+        }
+        return ValueKind.NONE;
+    }
+
+    /**
+     * Intersect numeric constraints with the range of field type. Values are positive unless constraints require
+     * otherwise, same as values of {@link Unique}.
+     *
+     * @return inclusive bounds
+     */
+    private long[] numberRange(Field field, Map<String, Annotation> annotations) {
+        if (!isNumber(type)) {
+            return new long[]{0, 0};
+        }
+        BigDecimal lower = null;
+        BigDecimal upper = null;
+        if (annotations.containsKey("Min")) {
+            lower = max(lower, BigDecimal.valueOf((long) attribute(annotations.get("Min"), "value")));
+        }
+        if (annotations.containsKey("Max")) {
+            upper = min(upper, BigDecimal.valueOf((long) attribute(annotations.get("Max"), "value")));
+        }
+        if (annotations.containsKey("DecimalMin")) {
+            Annotation decimalMin = annotations.get("DecimalMin");
+            BigDecimal value = new BigDecimal((String) attribute(decimalMin, "value"));
+            boolean inclusive = (boolean) attribute(decimalMin, "inclusive");
+            lower = max(lower, inclusive ? value.setScale(0, RoundingMode.CEILING)
+                    : value.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE));
+        }
+        if (annotations.containsKey("DecimalMax")) {
+            Annotation decimalMax = annotations.get("DecimalMax");
+            BigDecimal value = new BigDecimal((String) attribute(decimalMax, "value"));
+            boolean inclusive = (boolean) attribute(decimalMax, "inclusive");
+            upper = min(upper, inclusive ? value.setScale(0, RoundingMode.FLOOR)
+                    : value.setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE));
+        }
+        if (annotations.containsKey("Digits")) {
+            int digits = (int) attribute(annotations.get("Digits"), "integer");
+            BigDecimal bound = BigDecimal.TEN.pow(digits).subtract(BigDecimal.ONE);
+            lower = max(lower, bound.negate());
+            upper = min(upper, bound);
+        }
+        if (annotations.containsKey("Positive")) {
+            lower = max(lower, BigDecimal.ONE);
+        }
+        if (annotations.containsKey("PositiveOrZero")) {
+            lower = max(lower, BigDecimal.ZERO);
+        }
+        if (annotations.containsKey("Negative")) {
+            upper = min(upper, BigDecimal.ONE.negate());
+        }
+        if (annotations.containsKey("NegativeOrZero")) {
+            upper = min(upper, BigDecimal.ZERO);
+        }
+
+        BigDecimal typeMin = BigDecimal.valueOf(minOfType(type));
+        BigDecimal typeMax = BigDecimal.valueOf(maxOfType(type));
+        if (lower == null) {
+            lower = upper != null && upper.compareTo(BigDecimal.ONE) < 0 ? typeMin : BigDecimal.ONE;
+        }
+        if (upper == null) {
+            upper = typeMax;
+        }
+        lower = lower.max(typeMin);
+        upper = upper.min(typeMax);
+        if (lower.compareTo(upper) > 0) {
+            throw unsatisfiable(field);
+        }
+        return new long[]{lower.longValueExact(), upper.longValueExact()};
+    }
+
+    /**
+     * Map unique long into [0, maxValue - minValue], range of 2^64 values is represented by 0
+     */
+    private long offsetOf(long id) {
+        long rangeSize = maxValue - minValue + 1;
+        return rangeSize == 0 ? id : Long.remainderUnsigned(id, rangeSize);
+    }
+
+    private Object numberOf(long value) {
+        if (type == Integer.class) {
+            return (int) value;
+        } else if (type == Long.class) {
+            return value;
+        } else if (type == Short.class) {
+            return (short) value;
+        } else if (type == Byte.class) {
+            return (byte) value;
+        } else if (type == Double.class) {
+            return (double) value;
+        } else if (type == Float.class) {
+            return (float) value;
+        } else if (type == BigInteger.class) {
+            return BigInteger.valueOf(value);
+        }
+        return BigDecimal.valueOf(value);
+    }
+
+    private Object temporalOf(long millis) {
+        return type == Date.class ? new Date(millis) : Instant.ofEpochMilli(millis);
+    }
+
+    private static boolean isNumber(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class ||
+                type == Double.class || type == Float.class || type == BigInteger.class || type == BigDecimal.class;
+    }
+
+    private static long minOfType(Class<?> type) {
+        if (type == Integer.class) {
+            return Integer.MIN_VALUE;
+        } else if (type == Short.class) {
+            return Short.MIN_VALUE;
+        } else if (type == Byte.class) {
+            return Byte.MIN_VALUE;
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private static long maxOfType(Class<?> type) {
+        if (type == Integer.class) {
+            return Integer.MAX_VALUE;
+        } else if (type == Short.class) {
+            return Short.MAX_VALUE;
+        } else if (type == Byte.class) {
+            return Byte.MAX_VALUE;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static BigDecimal max(BigDecimal current, BigDecimal value) {
+        return current == null ? value : current.max(value);
+    }
+
+    private static BigDecimal min(BigDecimal current, BigDecimal value) {
+        return current == null ? value : current.min(value);
+    }
+
+    private static RegexGenerator patternOf(Field field, Annotation pattern) {
+        try {
+            return RegexGenerator.of((String) attribute(pattern, "regexp"));
+        } catch (IllegalArgumentException e) {
+            throw new ObjectInitializationException("Pattern of " + field.getDeclaringClass().getSimpleName() + "." +
+                    field.getName() + " is not supported, use a field generator instead", e);
+        }
+    }
+
+    private static Object attribute(Annotation annotation, String name) {
+        try {
+            return annotation.annotationType().getMethod(name).invoke(annotation);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new ObjectInitializationException("Could not read " + name + " of " + annotation, e);
+        }
+    }
+
+    private static ObjectInitializationException unsatisfiable(Field field) {
+        return new ObjectInitializationException("Constraints of " + field.getDeclaringClass().getSimpleName() + "." +
+                field.getName() + " can not be satisfied");
+    }
+}
@@ -0,0 +1,235 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.FixtureSink.Format;
+import com.github.nginate.commons.testing.Initializer.InitContext;
+import lombok.NonNull;
+import lombok.Value;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Bulk export of generated records into sharded files. Every shard is written by its own worker through a file channel
+ * and takes unique values from blocks, reserved by this worker, so workers neither contend on shared counter nor
+ * produce overlapping values.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     Report report = FixtureExporter.of(uniqueObject(Dto.class))
+ *          .withShards(8)
+ *          .withFormat(Format.CSV)
+ *          .exportTo(Paths.get("build/seed"), 100_000_000);
+ *  }
+ * </pre>
+ * Also available from command line:
+ * <pre>
+ *     java -cp ... com.github.nginate.commons.testing.FixtureExporter com.example.Dto 100000000 build/seed 8 csv
+ * </pre>
+ *
+ * @param <T> record type
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class FixtureExporter<T> {
+    private static final int DEFAULT_BUFFER_SIZE = 4 * 1024 * 1024;
+    private static final int DEFAULT_ID_BLOCK_SIZE = 64 * 1024;
+    private static final String USAGE = "Usage: FixtureExporter <class> <records> <directory> [shards] [json|csv]";
+
+    private final InitContext<T> context;
+    private Format format = Format.JSON_LINES;
+    private int shards = Runtime.getRuntime().availableProcessors();
+    private int threads = shards;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private int idBlockSize = DEFAULT_ID_BLOCK_SIZE;
+
+    private FixtureExporter(InitContext<T> context) {
+        this.context = context;
+    }
+
+    public static <T> FixtureExporter<T> of(@Nonnull @NonNull InitContext<T> context) {
+        return new FixtureExporter<>(context);
+    }
+
+    public FixtureExporter<T> withFormat(@Nonnull @NonNull Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Set amount of output files. Also sets amount of worker threads to the same value.
+     *
+     * @param shards amount of files to split records into
+     * @return same exporter
+     */
+    public FixtureExporter<T> withShards(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shards amount should be positive : " + shards);
+        }
+        this.shards = shards;
+        this.threads = shards;
+        return this;
+    }
+
+    public FixtureExporter<T> withThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads amount should be positive : " + threads);
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Set size of direct buffer, used by each worker
+     *
+     * @param bufferSize buffer size in bytes
+     * @return same exporter
+     */
+    public FixtureExporter<T> withBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size should be positive : " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Set amount of unique values, reserved by a worker at once
+     *
+     * @param idBlockSize reserved block size
+     * @return same exporter
+     * @see Unique#withReservedBlocks(int, java.util.function.Supplier)
+     */
+    public FixtureExporter<T> withIdBlockSize(int idBlockSize) {
+        if (idBlockSize <= 0) {
+            throw new IllegalArgumentException("Id block size should be positive : " + idBlockSize);
+        }
+        this.idBlockSize = idBlockSize;
+        return this;
+    }
+
+    /**
+     * Generate records into shard files of a directory. Directory is created if absent, existing shard files are
+     * overwritten.
+     *
+     * @param directory output directory
+     * @param records   total amount of records, not negative
+     * @return export statistics
+     * @throws IOException on output failure
+     */
+    public Report exportTo(@Nonnull @NonNull Path directory, long records) throws IOException {
+        if (records < 0) {
+            throw new IllegalArgumentException("Records amount should not be negative : " + records);
+        }
+        Files.createDirectories(directory);
+        String extension = format == Format.CSV ? ".csv" : ".jsonl";
+        String prefix = context.getContextType().getRawType().getSimpleName();
+
+        List<Path> files = new ArrayList<>(shards);
+        List<Future<Long>> results = new ArrayList<>(shards);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                Path file = directory.resolve(prefix + "-" + shard + extension);
+                long shardRecords = records / shards + (shard < records % shards ? 1 : 0);
+                files.add(file);
+                results.add(executor.submit(() -> exportShard(file, shardRecords)));
+            }
+
+            long bytes = 0;
+            for (Future<Long> result : results) {
+                bytes += result.get();
+            }
+            return new Report(records, bytes, System.nanoTime() - started, files);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ObjectInitializationException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new ObjectInitializationException("Export failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long exportShard(Path file, long records) {
+        FixtureSink<T> sink = context.sink(format).withBufferSize(bufferSize);
+        return Unique.withReservedBlocks(idBlockSize, () -> {
+            try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                return sink.writeTo(channel, records);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        Class<?> type = Class.forName(args[0]);
+        long records = Long.parseLong(args[1]);
+        Path directory = Paths.get(args[2]);
+
+        FixtureExporter<?> exporter = of(Initializer.uniqueObject(type));
+        if (args.length > 3) {
+            exporter.withShards(Integer.parseInt(args[3]));
+        }
+        if (args.length > 4) {
+            exporter.withFormat("csv".equalsIgnoreCase(args[4]) ? Format.CSV : Format.JSON_LINES);
+        }
+
+        System.out.println(exporter.exportTo(directory, records));
+    }
+
+    /**
+     * Export statistics
+     */
+    @Value
+    public static class Report {
+        private long records;
+        private long bytes;
+        private long elapsedNanos;
+        private List<Path> files;
+
+        public double getRecordsPerSecond() {
+            return perSecond(records);
+        }
+
+        public double getBytesPerSecond() {
+            return perSecond(bytes);
+        }
+
+        private double perSecond(long amount) {
+            return elapsedNanos == 0 ? 0 : amount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Exported %d records (%d bytes) into %d files in %.3f s : " +
+                            "%.0f records/s, %.0f bytes/s", records, bytes, files.size(),
+                    elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1), getRecordsPerSecond(), getBytesPerSecond());
+        }
+    }
+}
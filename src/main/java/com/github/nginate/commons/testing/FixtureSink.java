@@ -0,0 +1,529 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.Initializer.InitContext;
+import com.google.common.reflect.TypeToken;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.googlecode.gentyref.GenericTypeReflector.erase;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Streaming counterpart of {@link InitContext#generate()}. Walks cached type plan of context type and writes unique
+ * values straight to the output, so no objects are materialized and memory usage does not depend on records amount.
+ * Generated values follow same rules as {@link Initializer} ones: collection size, nesting depth, mappings, excluded
+ * fields, field generators, patterns and distributions and map key generators are taken from the context. Values of
+ * field generators are written as they are, so objects they return are not limited by nesting depth. Bean Validation
+ * constraints are not applied and workspace of the context is not used: file and path values only name files.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     uniqueObject(Dto.class)
+ *          .withCollectionSize(3)
+ *          .sink(Format.JSON_LINES)
+ *          .writeTo(channel, 1_000_000);
+ *  }
+ * </pre>
+ *
+ * @param <T> record type
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class FixtureSink<T> {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final String VALUE_COLUMN = "value";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    public enum Format {
+        /**
+         * One json object per line
+         */
+        JSON_LINES,
+        /**
+         * Comma separated values with header. Nested objects are flattened to dot separated columns, arrays,
+         * collections and maps are written as json into a single column.
+         */
+        CSV
+    }
+
+    private final InitContext<T> context;
+    private final Format format;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    FixtureSink(InitContext<T> context, Format format) {
+        this.context = context;
+        this.format = format;
+    }
+
+    /**
+     * Set size of output buffer
+     *
+     * @param bufferSize buffer size in bytes for channels and chars for writers
+     * @return same sink
+     */
+    public FixtureSink<T> withBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size should be positive : " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Write records to a writer. Writer is buffered if needed, flushed, but not closed.
+     *
+     * @param writer  output
+     * @param records amount of records to write
+     * @throws IOException on output failure
+     */
+    public void writeTo(Writer writer, long records) throws IOException {
+        Writer out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, bufferSize);
+        new RecordWriter(out).write(records);
+        out.flush();
+    }
+
+    /**
+     * Write records to a channel in UTF-8 through a direct buffer. Channel is not closed.
+     *
+     * @param channel output
+     * @param records amount of records to write
+     * @return amount of bytes written
+     * @throws IOException on output failure
+     */
+    public long writeTo(WritableByteChannel channel, long records) throws IOException {
+        ChannelWriter out = new ChannelWriter(channel, UTF_8, bufferSize);
+        new RecordWriter(out).write(records);
+        out.close();
+        return out.getBytesWritten();
+    }
+
+    private static TypeToken<?> typeArgument(TypeToken<?> type, int index) {
+        return TypeToken.of(erase(((ParameterizedType) type.getType()).getActualTypeArguments()[index]));
+    }
+
+    private static boolean isJsonLiteral(Object value) {
+        return value instanceof Number || value instanceof Boolean;
+    }
+
+    private static String text(Object value) {
+        return value instanceof Date ? ((Date) value).toInstant().toString() : String.valueOf(value);
+    }
+
+    /**
+     * Output state of a single write call
+     */
+    private class RecordWriter {
+        private final Writer csvCellWriter;
+        private Writer out;
+        private boolean firstCell;
+
+        private RecordWriter(Writer out) {
+            this.out = out;
+            this.csvCellWriter = new QuoteEscapingWriter(out);
+        }
+
+        private void write(long records) throws IOException {
+            TypeToken<T> type = context.getContextType();
+            int depth = context.getNestingDepth();
+
+            if (format == Format.CSV) {
+                firstCell = true;
+                csv(type, depth, null, true);
+                out.write('\n');
+            }
+            for (long i = 0; i < records; i++) {
+                if (format == Format.CSV) {
+                    firstCell = true;
+                    csv(type, depth, null, false);
+                } else {
+                    json(type, depth);
+                }
+                out.write('\n');
+            }
+        }
+
+        private void json(TypeToken<?> type, int depth) throws IOException {
+            TypePlan plan = TypePlan.of(type);
+            if (plan.isDepthBounded() && depth < 0) {
+                out.write("null");
+                return;
+            }
+
+            switch (plan.getKind()) {
+                case VALUE:
+                    jsonValue(plan.newValue());
+                    break;
+                case ARRAY:
+                    jsonElements(type.getComponentType(), depth);
+                    break;
+                case COLLECTION:
+                    jsonElements(typeArgument(type, 0), depth);
+                    break;
+                case MAP:
+                    jsonMap(typeArgument(type, 0), typeArgument(type, 1), depth);
+                    break;
+                case ABSTRACT:
+                    json(context.mappingFor(type.getRawType()), depth);
+                    break;
+                case UNSUPPORTED:
+                    throw new ObjectInitializationException("Unsupported parametrized field type : " + type);
+                default:
+                    jsonObject(plan, depth);
+            }
+        }
+
+        private void jsonElements(TypeToken<?> elementType, int depth) throws IOException {
+            out.write('[');
+            for (int i = 0; i < context.getCollectionSize(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                json(elementType, depth - 1);
+            }
+            out.write(']');
+        }
+
+        private void jsonMapOfUniqueKeys(TypeToken<?> keyType, TypeToken<?> valueType, int depth)
+                throws IOException {
+            out.write('{');
+            for (int i = 0; i < context.getCollectionSize(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                jsonString(text(mapKey(keyType, depth - 1)));
+                out.write(':');
+                json(valueType, depth - 1);
+            }
+            out.write('}');
+        }
+
+        /**
+         * Write entries of a map. Keys of a map key generator may repeat, so they are skipped until collection size
+         * of distinct ones is written, same as {@link Initializer} does.
+         */
+        private void jsonMap(TypeToken<?> keyType, TypeToken<?> valueType, int depth) throws IOException {
+            Supplier<?> keyGenerator = context.getMapKeyGenerators().get(keyType.getRawType());
+            if (keyGenerator == null) {
+                jsonMapOfUniqueKeys(keyType, valueType, depth);
+                return;
+            }
+
+            int size = context.getCollectionSize();
+            long attempts = (long) size * Initializer.KEY_ATTEMPTS_PER_ENTRY;
+            Set<Object> keys = new HashSet<>();
+            out.write('{');
+            for (long attempt = 0; keys.size() < size; attempt++) {
+                if (attempt == attempts) {
+                    throw new ObjectInitializationException("Could not get " + size + " distinct keys of " +
+                            keyType.getRawType().getName() + " for a map in " + attempts + " attempts, got " +
+                            keys.size());
+                }
+                Object key = keyGenerator.get();
+                if (keys.add(key)) {
+                    if (keys.size() > 1) {
+                        out.write(',');
+                    }
+                    jsonString(text(key));
+                    out.write(':');
+                    json(valueType, depth - 1);
+                }
+            }
+            out.write('}');
+        }
+
+        private Object mapKey(TypeToken<?> keyType, int depth) {
+            TypePlan plan = TypePlan.of(keyType);
+            if (plan.getKind() == TypePlan.Kind.VALUE && (!plan.isDepthBounded() || depth >= 0)) {
+                return plan.newValue();
+            }
+            return context.nested(keyType).withNestingDepth(depth).generate();
+        }
+
+        private void jsonObject(TypePlan plan, int depth) throws IOException {
+            Set<String> excludedFields = context.excludedFieldsFor(plan.getType());
+            Map<String, Supplier<?>> generators = context.fieldGeneratorsFor(plan.getType());
+            boolean first = true;
+
+            out.write('{');
+            for (TypePlan.FieldPlan field : plan.getFields()) {
+                if (excludedFields.contains(field.getName())) {
+                    continue;
+                }
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                jsonString(field.getName());
+                out.write(':');
+                Supplier<?> generator = generators.get(field.getName());
+                if (generator != null) {
+                    jsonOf(generator.get());
+                } else {
+                    json(field.getType(), depth - 1);
+                }
+            }
+            out.write('}');
+        }
+
+        /**
+         * Write an existing value, returned by a field generator
+         */
+        private void jsonOf(Object value) throws IOException {
+            if (value == null) {
+                out.write("null");
+            } else if (value.getClass().isArray()) {
+                out.write('[');
+                for (int i = 0; i < Array.getLength(value); i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    jsonOf(Array.get(value, i));
+                }
+                out.write(']');
+            } else if (value instanceof Collection) {
+                out.write('[');
+                boolean first = true;
+                for (Object element : (Collection<?>) value) {
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    jsonOf(element);
+                }
+                out.write(']');
+            } else if (value instanceof Map) {
+                out.write('{');
+                boolean first = true;
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    jsonString(text(entry.getKey()));
+                    out.write(':');
+                    jsonOf(entry.getValue());
+                }
+                out.write('}');
+            } else {
+                TypePlan plan = TypePlan.of(TypeToken.of(value.getClass()));
+                if (plan.getKind() == TypePlan.Kind.BEAN) {
+                    jsonFieldsOf(value, plan);
+                } else {
+                    jsonValue(value);
+                }
+            }
+        }
+
+        private void jsonFieldsOf(Object value, TypePlan plan) throws IOException {
+            boolean first = true;
+            out.write('{');
+            for (TypePlan.FieldPlan field : plan.getFields()) {
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                jsonString(field.getName());
+                out.write(':');
+                try {
+                    jsonOf(field.getField().get(value));
+                } catch (IllegalAccessException e) {
+                    throw new ObjectInitializationException(e);
+                }
+            }
+            out.write('}');
+        }
+
+        private void jsonValue(Object value) throws IOException {
+            if (isJsonLiteral(value)) {
+                out.write(value.toString());
+            } else {
+                jsonString(text(value));
+            }
+        }
+
+        /**
+         * Write quoted string, copying runs of chars without escapes at once
+         */
+        private void jsonString(String value) throws IOException {
+            out.write('"');
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\' || c < 0x20) {
+                    out.write(value, start, i - start);
+                    out.write('\\');
+                    if (c < 0x20) {
+                        out.write("u00");
+                        out.write(HEX_DIGITS[c >>> 4]);
+                        out.write(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        out.write(c);
+                    }
+                    start = i + 1;
+                }
+            }
+            out.write(value, start, value.length() - start);
+            out.write('"');
+        }
+
+        private void csv(TypeToken<?> type, int depth, String column, boolean header) throws IOException {
+            TypePlan plan = TypePlan.of(type);
+            if (plan.isDepthBounded() && depth < 0) {
+                csvCell(header ? columnName(column) : "");
+                return;
+            }
+
+            switch (plan.getKind()) {
+                case VALUE:
+                    csvCell(header ? columnName(column) : text(plan.newValue()));
+                    break;
+                case ABSTRACT:
+                    csv(context.mappingFor(type.getRawType()), depth, column, header);
+                    break;
+                case BEAN:
+                    csvFields(plan, depth, column, header);
+                    break;
+                default:
+                    if (header) {
+                        csvCell(columnName(column));
+                    } else {
+                        csvJsonCell(type, depth);
+                    }
+            }
+        }
+
+        /**
+         * Write fields of an object. Fields with generators take a single column, as generated values may be of any
+         * shape: simple values are written as they are, other ones as json.
+         */
+        private void csvFields(TypePlan plan, int depth, String column, boolean header) throws IOException {
+            Set<String> excludedFields = context.excludedFieldsFor(plan.getType());
+            Map<String, Supplier<?>> generators = context.fieldGeneratorsFor(plan.getType());
+            for (TypePlan.FieldPlan field : plan.getFields()) {
+                if (excludedFields.contains(field.getName())) {
+                    continue;
+                }
+                String fieldColumn = column == null ? field.getName() : column + "." + field.getName();
+                Supplier<?> generator = generators.get(field.getName());
+                if (generator == null) {
+                    csv(field.getType(), depth - 1, fieldColumn, header);
+                } else if (header) {
+                    csvCell(fieldColumn);
+                } else {
+                    csvGeneratedCell(generator.get());
+                }
+            }
+        }
+
+        private void csvGeneratedCell(Object value) throws IOException {
+            if (value == null) {
+                csvCell("");
+            } else if (TypePlan.of(TypeToken.of(value.getClass())).getKind() == TypePlan.Kind.VALUE) {
+                csvCell(text(value));
+            } else {
+                csvQuotedJson(() -> jsonOf(value));
+            }
+        }
+
+        private String columnName(String column) {
+            return column == null ? VALUE_COLUMN : column;
+        }
+
+        private void csvCell(String value) throws IOException {
+            if (!firstCell) {
+                out.write(',');
+            }
+            firstCell = false;
+
+            boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 ||
+                    value.indexOf('\r') >= 0;
+            if (quoted) {
+                out.write('"');
+                csvCellWriter.write(value);
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+        }
+
+        private void csvJsonCell(TypeToken<?> type, int depth) throws IOException {
+            csvQuotedJson(() -> json(type, depth));
+        }
+
+        private void csvQuotedJson(JsonWrite write) throws IOException {
+            if (!firstCell) {
+                out.write(',');
+            }
+            firstCell = false;
+
+            Writer target = out;
+            out.write('"');
+            out = csvCellWriter;
+            try {
+                write.run();
+            } finally {
+                out = target;
+            }
+            out.write('"');
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonWrite {
+        void run() throws IOException;
+    }
+
+    /**
+     * Writer for quoted csv cells, doubling quote chars
+     */
+    private static class QuoteEscapingWriter extends Writer {
+        private final Writer delegate;
+
+        private QuoteEscapingWriter(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (c == '"') {
+                delegate.write('"');
+            }
+            delegate.write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(str.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
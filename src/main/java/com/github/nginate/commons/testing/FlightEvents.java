@@ -0,0 +1,174 @@
+package com.github.nginate.commons.testing;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Java Flight Recorder events of fixture generation. Event types are defined at runtime with {@code
+ * jdk.jfr.EventFactory}, so there is no compile time dependency on JFR and events turn into no-op on JDKs without it.
+ * Events are created only while a recording with them enabled is running.
+ *
+ * @since 1.1
+ */
+final class FlightEvents {
+    private static final String CATEGORY = "Fixtures";
+    /**
+     * Minimal amount of elements of array or collection to report its generation
+     */
+    static final int LARGE_COLLECTION_SIZE = 1000;
+
+    /**
+     * Generation of a top level object or a large array, collection or map
+     */
+    static final EventDefinition GENERATION = EventDefinition.create("com.github.nginate.commons.testing.Generation",
+            "Fixture Generation", "Generation of a top level object or a large array, collection or map",
+            new FieldDefinition(String.class, "type", "Type"),
+            new FieldDefinition(String.class, "kind", "Kind"),
+            new FieldDefinition(int.class, "elementCount", "Element Count"),
+            new FieldDefinition(int.class, "depth", "Nesting Depth"));
+
+    /**
+     * Reservation of a block of unique values
+     */
+    static final EventDefinition RESERVATION = EventDefinition.create("com.github.nginate.commons.testing.Reservation",
+            "Unique Values Reservation", "Reservation of a block of unique values",
+            new FieldDefinition(long.class, "first", "First Value"),
+            new FieldDefinition(long.class, "amount", "Amount"));
+
+    private FlightEvents() {
+    }
+
+    private static class FieldDefinition {
+        private final Class<?> type;
+        private final String name;
+        private final String label;
+
+        private FieldDefinition(Class<?> type, String name, String label) {
+            this.type = type;
+            this.name = name;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Runtime defined event type. All operations are no-op if JFR is not available.
+     */
+    static final class EventDefinition {
+        private static final EventDefinition DISABLED = new EventDefinition(null, null, null, null, null, null, null);
+
+        private final MethodHandle isEnabled;
+        private final MethodHandle newEvent;
+        private final MethodHandle begin;
+        private final MethodHandle end;
+        private final MethodHandle shouldCommit;
+        private final MethodHandle set;
+        private final MethodHandle commit;
+
+        private EventDefinition(MethodHandle isEnabled, MethodHandle newEvent, MethodHandle begin, MethodHandle end,
+                MethodHandle shouldCommit, MethodHandle set, MethodHandle commit) {
+            this.isEnabled = isEnabled;
+            this.newEvent = newEvent;
+            this.begin = begin;
+            this.end = end;
+            this.shouldCommit = shouldCommit;
+            this.set = set;
+            this.commit = commit;
+        }
+
+        boolean isAvailable() {
+            return newEvent != null;
+        }
+
+        /**
+         * Start event timing
+         *
+         * @return started event or null if JFR is not available or event is not enabled by any recording
+         */
+        Object begin() {
+            if (newEvent == null) {
+                return null;
+            }
+            try {
+                if (!(boolean) isEnabled.invoke()) {
+                    return null;
+                }
+                Object event = newEvent.invoke();
+                begin.invoke(event);
+                return event;
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        /**
+         * Finish event timing and commit it with given field values
+         *
+         * @param event  event, returned by {@link #begin()}, no-op if null
+         * @param values values of event fields in definition order
+         */
+        void commit(Object event, Object... values) {
+            if (event == null) {
+                return;
+            }
+            try {
+                end.invoke(event);
+                if ((boolean) shouldCommit.invoke(event)) {
+                    for (int i = 0; i < values.length; i++) {
+                        set.invoke(event, i, values[i]);
+                    }
+                    commit.invoke(event);
+                }
+            } catch (Throwable e) {
+                // recording should never break generation
+            }
+        }
+
+        private static EventDefinition create(String name, String label, String description,
+                FieldDefinition... fields) {
+            try {
+                Class<?> eventClass = Class.forName("jdk.jfr.Event");
+                Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+                Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+                Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement");
+                Class<?> descriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+                Constructor<?> annotation = annotationClass.getConstructor(Class.class, Object.class);
+                Constructor<?> descriptor = descriptorClass.getConstructor(Class.class, String.class, List.class);
+
+                List<Object> annotations = Arrays.asList(
+                        annotation.newInstance(Class.forName("jdk.jfr.Name"), name),
+                        annotation.newInstance(Class.forName("jdk.jfr.Label"), label),
+                        annotation.newInstance(Class.forName("jdk.jfr.Description"), description),
+                        annotation.newInstance(Class.forName("jdk.jfr.Category"), new String[]{CATEGORY}));
+                List<Object> descriptors = new ArrayList<>();
+                for (FieldDefinition field : fields) {
+                    Object fieldLabel = annotation.newInstance(Class.forName("jdk.jfr.Label"), field.label);
+                    descriptors.add(descriptor.newInstance(field.type, field.name,
+                            Collections.singletonList(fieldLabel)));
+                }
+
+                Object factory = factoryClass.getMethod("create", List.class, List.class)
+                        .invoke(null, annotations, descriptors);
+                Object eventType = factoryClass.getMethod("getEventType").invoke(factory);
+
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                return new EventDefinition(
+                        lookup.findVirtual(eventTypeClass, "isEnabled", methodType(boolean.class)).bindTo(eventType),
+                        lookup.findVirtual(factoryClass, "newEvent", methodType(eventClass)).bindTo(factory),
+                        lookup.findVirtual(eventClass, "begin", methodType(void.class)),
+                        lookup.findVirtual(eventClass, "end", methodType(void.class)),
+                        lookup.findVirtual(eventClass, "shouldCommit", methodType(boolean.class)),
+                        lookup.findVirtual(eventClass, "set", methodType(void.class, int.class, Object.class)),
+                        lookup.findVirtual(eventClass, "commit", methodType(void.class)));
+            } catch (Throwable e) {
+                return DISABLED;
+            }
+        }
+    }
+}
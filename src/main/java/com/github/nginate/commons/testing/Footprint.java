@@ -0,0 +1,382 @@
+package com.github.nginate.commons.testing;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import lombok.Getter;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static java.lang.reflect.Modifier.isStatic;
+
+/**
+ * Estimated heap footprint of an object graph. Graph is walked from a root with an identity set, so shared and cyclic
+ * references are counted once, and size of every object is computed from a cached layout of its class. Layouts follow
+ * HotSpot: object header, field sizes and reference size depend on compressed oops, objects are aligned to {@code
+ * ObjectAlignmentInBytes}. Field packing gaps are not modelled, so sizes are estimates, good for catching regressions.
+ * Retained size is the size of everything reachable from a root, including objects that are also referenced from
+ * elsewhere; {@link Class} instances and enum constants are not followed.
+ * <p>Fields of JDK classes can not be opened on Java 9+ without {@code --add-opens}. Such classes are sized explicitly:
+ * strings with their value arrays, big numbers with their magnitudes, collections and maps through their elements,
+ * keys and values with internal storage estimated as a reference array and an entry per mapping. Walking any other
+ * class with fields, that can not be opened, fails with {@link IllegalStateException}, naming that class.</p>
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     Footprint footprint = Footprint.of(cache);
+ *     assertThat(footprint.getRetainedSize()).isLessThan(64 * 1024);
+ *  }
+ * </pre>
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class Footprint {
+    private static final Map<Class<?>, ClassLayout> LAYOUTS = new ConcurrentHashMap<>();
+    private static final int REFERENCE_SIZE;
+    private static final int OBJECT_HEADER_SIZE;
+    private static final int ARRAY_HEADER_SIZE;
+    private static final int OBJECT_ALIGNMENT;
+    private static final boolean COMPACT_STRINGS;
+
+    static {
+        boolean is64Bit = !"32".equals(System.getProperty("sun.arch.data.model"));
+        boolean compressedOops = is64Bit && Boolean.parseBoolean(vmOption("UseCompressedOops", "true"));
+        boolean compressedClassPointers = is64Bit &&
+                Boolean.parseBoolean(vmOption("UseCompressedClassPointers", String.valueOf(compressedOops)));
+        REFERENCE_SIZE = compressedOops || !is64Bit ? 4 : 8;
+        OBJECT_HEADER_SIZE = !is64Bit ? 8 : compressedClassPointers ? 12 : 16;
+        ARRAY_HEADER_SIZE = align(OBJECT_HEADER_SIZE + 4, is64Bit ? 8 : 4);
+        OBJECT_ALIGNMENT = Integer.parseInt(vmOption("ObjectAlignmentInBytes", "8"));
+        COMPACT_STRINGS = Boolean.parseBoolean(vmOption("CompactStrings", "true"));
+    }
+
+    /**
+     * Size of root object itself
+     */
+    @Getter
+    private final long shallowSize;
+    /**
+     * Size of all objects, reachable from root
+     */
+    @Getter
+    private final long retainedSize;
+    /**
+     * Amount of objects, reachable from root
+     */
+    @Getter
+    private final long objects;
+
+    private Footprint(long shallowSize, long retainedSize, long objects) {
+        this.shallowSize = shallowSize;
+        this.retainedSize = retainedSize;
+        this.objects = objects;
+    }
+
+    /**
+     * Walk object graph and estimate its size
+     *
+     * @param root graph root
+     * @return footprint of a graph, empty for null root
+     */
+    public static Footprint of(Object root) {
+        if (root == null) {
+            return new Footprint(0, 0, 0);
+        }
+
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        Consumer<Object> visit = reference -> {
+            if (!(reference instanceof Class) && !(reference instanceof Enum) && visited.add(reference)) {
+                pending.push(reference);
+            }
+        };
+        long[] hidden = new long[2];
+        Hidden counter = (size, objects) -> {
+            hidden[0] += size;
+            hidden[1] += objects;
+        };
+        visit.accept(root);
+        long retainedSize = 0;
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            ClassLayout layout = layoutOf(object.getClass());
+            retainedSize += layout.sizeOf(object);
+            layout.forEachReference(object, visit, counter);
+        }
+        return new Footprint(shallowSizeOf(root), retainedSize + hidden[0], visited.size() + hidden[1]);
+    }
+
+    /**
+     * Estimate size of an object itself, without objects it references
+     *
+     * @param object object to measure
+     * @return size in bytes
+     */
+    public static long shallowSizeOf(Object object) {
+        return object == null ? 0 : layoutOf(object.getClass()).sizeOf(object);
+    }
+
+    private static ClassLayout layoutOf(Class<?> type) {
+        ClassLayout layout = LAYOUTS.get(type);
+        if (layout == null) {
+            layout = LAYOUTS.computeIfAbsent(type, ClassLayout::new);
+        }
+        return layout;
+    }
+
+    private static String vmOption(String name, String defaultValue) {
+        try {
+            return ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class).getVMOption(name).getValue();
+        } catch (RuntimeException | LinkageError e) {
+            return defaultValue;
+        }
+    }
+
+    private static long align(long size, int alignment) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    private static int align(int size, int alignment) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    private static long sizeOfArray(int elementSize, long length) {
+        return align(ARRAY_HEADER_SIZE + elementSize * length, OBJECT_ALIGNMENT);
+    }
+
+    private static int sizeOfType(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d bytes shallow, %d bytes retained by %d objects", shallowSize,
+                retainedSize, objects);
+    }
+
+    /**
+     * Size and references of instances of a single class
+     */
+    private static class ClassLayout {
+        private final boolean array;
+        private final boolean referenceArray;
+        private final int elementSize;
+        private final long instanceSize;
+        private final Field[] references;
+        /**
+         * Explicit sizing of a JDK class, which fields can not be opened
+         */
+        private final Opaque opaque;
+        /**
+         * First reference field, that can not be opened, if class can not be sized explicitly
+         */
+        private final Field inaccessible;
+
+        private ClassLayout(Class<?> type) {
+            array = type.isArray();
+            if (array) {
+                Class<?> component = type.getComponentType();
+                referenceArray = !component.isPrimitive();
+                elementSize = sizeOfType(component);
+                instanceSize = 0;
+                references = new Field[0];
+                opaque = null;
+                inaccessible = null;
+                return;
+            }
+            referenceArray = false;
+            elementSize = 0;
+
+            long fieldsSize = 0;
+            List<Field> referenceFields = new ArrayList<>();
+            Field firstInaccessible = null;
+            for (Field field : FieldUtils.getAllFields(type)) {
+                if (isStatic(field.getModifiers())) {
+                    continue;
+                }
+                fieldsSize += sizeOfType(field.getType());
+                if (field.getType().isPrimitive()) {
+                    continue;
+                }
+                if (accessible(field)) {
+                    referenceFields.add(field);
+                } else if (firstInaccessible == null) {
+                    firstInaccessible = field;
+                }
+            }
+            instanceSize = align(OBJECT_HEADER_SIZE + fieldsSize, OBJECT_ALIGNMENT);
+            opaque = firstInaccessible == null ? null : Opaque.of(type);
+            inaccessible = opaque == null ? firstInaccessible : null;
+            references = opaque == null ? referenceFields.toArray(new Field[referenceFields.size()]) : new Field[0];
+        }
+
+        private static boolean accessible(Field field) {
+            try {
+                field.setAccessible(true);
+                return true;
+            } catch (RuntimeException e) {
+                // module internals are not opened
+                return false;
+            }
+        }
+
+        private long sizeOf(Object object) {
+            if (!array) {
+                return instanceSize;
+            }
+            return sizeOfArray(elementSize, Array.getLength(object));
+        }
+
+        private void forEachReference(Object object, Consumer<Object> consumer, Hidden hidden) {
+            if (opaque != null) {
+                opaque.walk(object, consumer, hidden);
+                return;
+            }
+            if (inaccessible != null) {
+                throw new IllegalStateException("Could not measure " + object.getClass().getName() +
+                        ", field " + inaccessible.getName() + " can not be opened, add --add-opens for its package");
+            }
+            if (referenceArray) {
+                for (Object element : (Object[]) object) {
+                    if (element != null) {
+                        consumer.accept(element);
+                    }
+                }
+                return;
+            }
+            try {
+                for (Field field : references) {
+                    Object reference = field.get(object);
+                    if (reference != null) {
+                        consumer.accept(reference);
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not read fields of " + object.getClass(), e);
+            }
+        }
+    }
+
+    /**
+     * Receiver of objects, that are not reachable through accessible fields
+     */
+    @FunctionalInterface
+    private interface Hidden {
+        void add(long size, long objects);
+    }
+
+    /**
+     * Sizing of JDK classes, which fields can not be opened, through their public state
+     */
+    private enum Opaque {
+        STRING {
+            @Override
+            void walk(Object object, Consumer<Object> references, Hidden hidden) {
+                String string = (String) object;
+                boolean latin1 = COMPACT_STRINGS && string.chars().allMatch(c -> c <= 0xFF);
+                hidden.add(sizeOfArray(latin1 ? 1 : 2, string.length()), 1);
+            }
+        },
+        BIG_INTEGER {
+            @Override
+            void walk(Object object, Consumer<Object> references, Hidden hidden) {
+                hidden.add(sizeOfMagnitude((BigInteger) object), 1);
+            }
+        },
+        BIG_DECIMAL {
+            @Override
+            void walk(Object object, Consumer<Object> references, Hidden hidden) {
+                BigInteger unscaled = ((BigDecimal) object).unscaledValue();
+                if (unscaled.bitLength() >= Long.SIZE) {
+                    hidden.add(shallowSizeOf(unscaled) + sizeOfMagnitude(unscaled), 2);
+                }
+            }
+        },
+        /**
+         * Only calendar fields are cached in references of dates
+         */
+        DATE {
+            @Override
+            void walk(Object object, Consumer<Object> references, Hidden hidden) {
+                // time is a primitive field
+            }
+        },
+        COLLECTION {
+            @Override
+            void walk(Object object, Consumer<Object> references, Hidden hidden) {
+                Collection<?> collection = (Collection<?>) object;
+                for (Object element : collection) {
+                    if (element != null) {
+                        references.accept(element);
+                    }
+                }
+                hidden.add(sizeOfArray(REFERENCE_SIZE, collection.size()), 1);
+            }
+        },
+        MAP {
+            @Override
+            void walk(Object object, Consumer<Object> references, Hidden hidden) {
+                Map<?, ?> map = (Map<?, ?>) object;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (entry.getKey() != null) {
+                        references.accept(entry.getKey());
+                    }
+                    if (entry.getValue() != null) {
+                        references.accept(entry.getValue());
+                    }
+                }
+                long entrySize = align(OBJECT_HEADER_SIZE + 4 + 3 * REFERENCE_SIZE, OBJECT_ALIGNMENT);
+                hidden.add(sizeOfArray(REFERENCE_SIZE, map.size()) + entrySize * map.size(), 1 + map.size());
+            }
+        };
+
+        abstract void walk(Object object, Consumer<Object> references, Hidden hidden);
+
+        private static Opaque of(Class<?> type) {
+            if (type == String.class) {
+                return STRING;
+            } else if (type == BigInteger.class) {
+                return BIG_INTEGER;
+            } else if (type == BigDecimal.class) {
+                return BIG_DECIMAL;
+            } else if (Date.class.isAssignableFrom(type) && type.getName().startsWith("java.")) {
+                return DATE;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                return COLLECTION;
+            } else if (Map.class.isAssignableFrom(type)) {
+                return MAP;
+            }
+            return null;
+        }
+
+        private static long sizeOfMagnitude(BigInteger value) {
+            return sizeOfArray(4, (value.abs().bitLength() + 31) / 32);
+        }
+    }
+}
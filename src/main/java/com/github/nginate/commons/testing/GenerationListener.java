@@ -0,0 +1,53 @@
+package com.github.nginate.commons.testing;
+
+/**
+ * Callback for {@link Initializer} generation events. Listener is shared by all nested contexts and may be called from
+ * several threads at once, so implementations should be thread safe. All durations are inclusive: time spent on a
+ * nested object is also a part of its parent's time.
+ *
+ * @see Initializer.InitContext#withListener(GenerationListener)
+ * @see GenerationMetrics
+ * @since 1.1
+ */
+public interface GenerationListener {
+
+    enum Stage {
+        /**
+         * Creating object instance with constructor
+         */
+        INSTANTIATE,
+        /**
+         * Generating values for object fields
+         */
+        FIELD_FILL,
+        /**
+         * Generating elements of arrays, collections and maps
+         */
+        COLLECTION_FILL
+    }
+
+    /**
+     * Value of a type is generated
+     *
+     * @param type  generated type
+     * @param nanos generation time
+     */
+    void onGenerated(Class<?> type, long nanos);
+
+    /**
+     * Simple value is generated with {@link Unique} generator
+     *
+     * @param generator generator name, like "uniqueLong"
+     * @param nanos     generation time
+     */
+    void onValue(String generator, long nanos);
+
+    /**
+     * Generation stage of a type is complete
+     *
+     * @param type  generated type
+     * @param stage completed stage
+     * @param nanos stage duration
+     */
+    void onStage(Class<?> type, Stage stage, long nanos);
+}
@@ -0,0 +1,135 @@
+package com.github.nginate.commons.testing;
+
+import lombok.Value;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Generation listener, collecting counts and cumulative time per generated type, per {@link Unique} generator and per
+ * generation stage. Uses striped counters, so concurrent generation does not contend on updates.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     GenerationMetrics metrics = new GenerationMetrics();
+ *     uniqueList(Dto.class).withCollectionSize(1000).withListener(metrics).generate();
+ *     System.out.println(metrics.report(10));
+ *  }
+ * </pre>
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class GenerationMetrics implements GenerationListener {
+    private static final int DEFAULT_REPORT_SIZE = 10;
+
+    private final ConcurrentMap<Class<?>, Counter> types = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> generators = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Stage, Counter> stages = new ConcurrentHashMap<>();
+
+    @Override
+    public void onGenerated(Class<?> type, long nanos) {
+        counter(types, type).add(nanos);
+    }
+
+    @Override
+    public void onValue(String generator, long nanos) {
+        counter(generators, generator).add(nanos);
+    }
+
+    @Override
+    public void onStage(Class<?> type, Stage stage, long nanos) {
+        counter(stages, stage).add(nanos);
+    }
+
+    public Map<Class<?>, Stats> getTypes() {
+        return snapshot(types);
+    }
+
+    public Map<String, Stats> getGenerators() {
+        return snapshot(generators);
+    }
+
+    public Map<Stage, Stats> getStages() {
+        return snapshot(stages);
+    }
+
+    public void reset() {
+        types.clear();
+        generators.clear();
+        stages.clear();
+    }
+
+    public String report() {
+        return report(DEFAULT_REPORT_SIZE);
+    }
+
+    /**
+     * Create human readable report with stages summary and the hottest types and generators
+     *
+     * @param limit amount of types and generators to include
+     * @return report ranked by cumulative time
+     */
+    public String report(int limit) {
+        StringBuilder builder = new StringBuilder();
+        appendSection(builder, "Stages", getStages(), Stage::name, Integer.MAX_VALUE);
+        appendSection(builder, "Hottest types", getTypes(), Class::getName, limit);
+        appendSection(builder, "Hottest generators", getGenerators(), Function.identity(), limit);
+        return builder.toString();
+    }
+
+    private static <K> void appendSection(StringBuilder builder, String title, Map<K, Stats> stats,
+            Function<K, String> naming, int limit) {
+        builder.append(title).append(" :\n");
+        stats.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<K, Stats> entry) -> entry.getValue().getNanos()).reversed())
+                .limit(limit)
+                .forEach(entry -> builder.append(String.format(Locale.ROOT, "  %-60s count=%-10d total=%.3f ms" +
+                                " avg=%d ns%n", naming.apply(entry.getKey()), entry.getValue().getCount(),
+                        entry.getValue().getNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                        entry.getValue().getAverageNanos())));
+    }
+
+    private static <K> Counter counter(ConcurrentMap<K, Counter> counters, K key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new Counter());
+    }
+
+    private static <K> Map<K, Stats> snapshot(Map<K, Counter> counters) {
+        return Collections.unmodifiableMap(counters.entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, entry -> entry.getValue().snapshot())));
+    }
+
+    /**
+     * Snapshot of a single counter
+     */
+    @Value
+    public static class Stats {
+        private long count;
+        private long nanos;
+
+        public long getAverageNanos() {
+            return count == 0 ? 0 : nanos / count;
+        }
+    }
+
+    private static class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void add(long elapsed) {
+            count.increment();
+            nanos.add(elapsed);
+        }
+
+        private Stats snapshot() {
+            return new Stats(count.sum(), nanos.sum());
+        }
+    }
+}
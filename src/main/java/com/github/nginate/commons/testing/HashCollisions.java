@@ -0,0 +1,93 @@
+package com.github.nginate.commons.testing;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keys with chosen {@link Object#hashCode() hash codes}. Strings "Aa" and "BB" have the same hash code, so all strings,
+ * made of the same amount of such blocks, collide, and bits of a unique long choose blocks of a unique string. A prefix
+ * of 7 chars in base 31 is solved for every target hash and amount of blocks, so any hash code can be reached. Hash
+ * contributions of blocks and inverse powers of 31 are precomputed, so every key takes a few multiplications.
+ *
+ * @since 1.1
+ */
+final class HashCollisions {
+    private static final String[] BLOCKS = {"Aa", "BB"};
+    private static final int PREFIX_LENGTH = 7;
+    private static final char PREFIX_BASE_CHAR = '0';
+    private static final int MAX_BLOCKS = Long.SIZE;
+    /**
+     * Hash codes of strings of n blocks
+     */
+    private static final int[] BLOCK_HASHES = new int[MAX_BLOCKS + 1];
+    /**
+     * Modular inverses of 31^(2n), multiplying prefix hash by 31^(2n) when n blocks are appended
+     */
+    private static final int[] INVERSE_POWERS = new int[MAX_BLOCKS + 1];
+    /**
+     * Hash code of a prefix of base chars only
+     */
+    private static final int PREFIX_BASE_HASH;
+
+    static {
+        int inverse = 31;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - 31 * inverse;
+        }
+        String block = BLOCKS[0];
+        BLOCK_HASHES[0] = 0;
+        INVERSE_POWERS[0] = 1;
+        for (int i = 1; i <= MAX_BLOCKS; i++) {
+            BLOCK_HASHES[i] = BLOCK_HASHES[i - 1] * 31 * 31 + block.hashCode();
+            INVERSE_POWERS[i] = INVERSE_POWERS[i - 1] * inverse * inverse;
+        }
+        char[] base = new char[PREFIX_LENGTH];
+        Arrays.fill(base, PREFIX_BASE_CHAR);
+        PREFIX_BASE_HASH = new String(base).hashCode();
+    }
+
+    private HashCollisions() {
+    }
+
+    /**
+     * Unique string with given hash code, different values give different strings
+     */
+    static String stringOf(int hash, long value) {
+        int blocks = MAX_BLOCKS - Long.numberOfLeadingZeros(value);
+        char[] chars = new char[PREFIX_LENGTH + blocks * 2];
+        long prefix = Integer.toUnsignedLong((hash - BLOCK_HASHES[blocks]) * INVERSE_POWERS[blocks] - PREFIX_BASE_HASH);
+        for (int i = PREFIX_LENGTH - 1; i >= 0; i--) {
+            chars[i] = (char) (PREFIX_BASE_CHAR + prefix % 31);
+            prefix /= 31;
+        }
+        for (int i = 0; i < blocks; i++) {
+            BLOCKS[(int) (value >>> (blocks - 1 - i)) & 1].getChars(0, 2, chars, PREFIX_LENGTH + i * 2);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Unique string, that falls into the same bucket of hash tables of up to 2^bits buckets. {@link java.util.HashMap}
+     * spreads higher half of hash code to lower one, so hash code is chosen to give the same bucket after spreading,
+     * while all other bits differ between values.
+     *
+     * @param bucket bucket index, only lowest bits are used
+     * @param bits   amount of colliding bits in [1, 16]
+     */
+    static String bucketStringOf(int bucket, int bits, long value) {
+        int freeBits = Integer.SIZE - bits;
+        int mask = (1 << bits) - 1;
+        int high = (int) (value & ((1L << freeBits) - 1)) << bits;
+        int hash = high | ((bucket ^ (high >>> 16)) & mask);
+        return stringOf(hash, value >>> freeBits);
+    }
+
+    /**
+     * Unique composite key of two longs with given hash code
+     */
+    static List<Long> keyOf(int hash, long value) {
+        int rest = hash - 31 * (31 + Long.hashCode(value));
+        return Collections.unmodifiableList(Arrays.asList(value, Integer.toUnsignedLong(rest)));
+    }
+}
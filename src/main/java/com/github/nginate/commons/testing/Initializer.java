@@ -1,34 +1,43 @@
 package com.github.nginate.commons.testing;
 
 import com.google.common.collect.Maps;
+import com.google.common.reflect.Reflection;
 import com.google.common.reflect.TypeParameter;
 import com.google.common.reflect.TypeToken;
 import lombok.Getter;
 import lombok.NonNull;
-import org.apache.commons.lang3.reflect.FieldUtils;
 
 import javax.annotation.Nonnull;
+import java.io.File;
 import java.io.Serializable;
 import java.lang.reflect.*;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.time.Instant;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.function.Supplier;
 
 import static com.github.nginate.commons.testing.NArrays.generateArray;
 import static com.github.nginate.commons.testing.NArrays.setArrayField;
 import static com.github.nginate.commons.testing.NPrimitives.setField;
-import static com.github.nginate.commons.testing.Unique.*;
 import static com.googlecode.gentyref.GenericTypeReflector.erase;
-import static com.googlecode.gentyref.GenericTypeReflector.getExactFieldType;
 import static java.lang.reflect.Modifier.isAbstract;
-import static java.lang.reflect.Modifier.isStatic;
-import static java.lang.reflect.Modifier.isTransient;
 import static java.util.Arrays.stream;
-import static java.util.stream.Collectors.toMap;
 
 public class Initializer<T> {
+    /**
+     * Types of runtime collections and maps, refilled in place of interface typed values without type arguments
+     */
+    @SuppressWarnings("serial")
+    private static final TypeToken<?> RAW_COLLECTION = new TypeToken<Collection<Object>>() {};
+    @SuppressWarnings("serial")
+    private static final TypeToken<?> RAW_MAP = new TypeToken<Map<Object, Object>>() {};
+    /**
+     * Attempts to get a new key per map entry, key suppliers may repeat keys
+     */
+    static final int KEY_ATTEMPTS_PER_ENTRY = 100;
+    /**
+     * Size of byte arrays, above which elements can not be distinct
+     */
+    private static final int MAX_DISTINCT_BYTES = 256;
 
     public static <K, V> InitContext<? extends Map<K, V>> uniqueMap(Class<K> keyType, Class<V> valueType) {
         TypeToken<Map<K, V>> typeToken = new TypeToken<Map<K, V>>() {}
@@ -68,159 +77,425 @@ public class Initializer<T> {
     }
 
     private final InitContext<T> context;
+    /**
+     * Size of collection, array or map generated by this initializer, nested contexts keep size of the context
+     */
+    private final int collectionSize;
 
     private Initializer(InitContext<T> context) {
+        this(context, context.getCollectionSize());
+    }
+
+    private Initializer(InitContext<T> context, int collectionSize) {
         this.context = context;
+        this.collectionSize = collectionSize;
     }
 
-    @SuppressWarnings("unchecked")
     private T create() {
         TypeToken<T> type = context.getContextType();
+        TypePlan plan = TypePlan.of(type);
 
-        if (type.isPrimitive()) {
-            return NPrimitives.createUnique((Class<T>) type.getRawType());
-        }
-
-        if (TypeToken.of(Short.class).isSupertypeOf(type)) {
-            return (T) uniqueShort();
-        }
-
-        if (TypeToken.of(Integer.class).isSupertypeOf(type)) {
-            return (T) uniqueInteger();
-        }
-
-        if (TypeToken.of(Long.class).isSupertypeOf(type)) {
-            return (T) uniqueLong();
+        if (plan.isDepthBounded() && context.getNestingDepth() < 0) {
+            return null;
         }
 
-        if (TypeToken.of(Double.class).isSupertypeOf(type)) {
-            return (T) uniqueDouble();
+        if (plan.getKind() == TypePlan.Kind.ABSTRACT) {
+            context.contextType = context.mappingFor(type.getRawType());
+            return new Initializer<>(context, collectionSize).create();
         }
 
-        if (TypeToken.of(String.class).isSupertypeOf(type)) {
-            return (T) uniqueString();
+        GenerationListener listener = context.getListener();
+        if (listener == null) {
+            return create(type, plan, null);
         }
 
-        if (TypeToken.of(Character.class).isSupertypeOf(type)) {
-            return (T) uniqueCharacter();
+        long started = System.nanoTime();
+        T value = create(type, plan, listener);
+        long elapsed = System.nanoTime() - started;
+        if (plan.getKind() == TypePlan.Kind.VALUE) {
+            listener.onValue(plan.getGeneratorName(), elapsed);
         }
+        listener.onGenerated(type.getRawType(), elapsed);
+        return value;
+    }
 
-        if (TypeToken.of(Boolean.class).isSupertypeOf(type)) {
-            return (T) uniqueBoolean();
+    @SuppressWarnings("unchecked")
+    private T create(TypeToken<T> type, TypePlan plan, GenerationListener listener) {
+        long started = listener == null ? 0 : System.nanoTime();
+        T value;
+        GenerationListener.Stage stage = GenerationListener.Stage.COLLECTION_FILL;
+        Object event;
+
+        switch (plan.getKind()) {
+            case VALUE:
+                return (T) newValue(plan);
+            case ARRAY:
+                event = beginCollectionEvent();
+                value = (T) newArray(type, collectionSize);
+                commitCollectionEvent(event, type, plan.getKind());
+                break;
+            case COLLECTION:
+                event = beginCollectionEvent();
+                value = (T) uniqueCollection(type);
+                commitCollectionEvent(event, type, plan.getKind());
+                break;
+            case MAP:
+                event = beginCollectionEvent();
+                value = (T) uniqueMap(type);
+                commitCollectionEvent(event, type, plan.getKind());
+                break;
+            case UNSUPPORTED:
+                throw new ObjectInitializationException("Unsupported parametrized field type : " + type);
+            default:
+                value = (T) instantiateClass(type.getRawType());
+                if (listener != null) {
+                    long instantiated = System.nanoTime();
+                    listener.onStage(type.getRawType(), GenerationListener.Stage.INSTANTIATE, instantiated - started);
+                    started = instantiated;
+                }
+                fillObjectFields(value, plan);
+                stage = GenerationListener.Stage.FIELD_FILL;
         }
 
-        if (TypeToken.of(Float.class).isSupertypeOf(type)) {
-            return (T) uniqueFloat();
+        if (listener != null) {
+            listener.onStage(type.getRawType(), stage, System.nanoTime() - started);
         }
+        return value;
+    }
 
-        if (TypeToken.of(Byte.class).isSupertypeOf(type)) {
-            return (T) uniqueByte();
-        }
+    @SuppressWarnings("unchecked")
+    private T refill(T instance) {
+        return (T) refillValue(instance, context.getContextType(), context.getNestingDepth());
+    }
 
-        if (context.getNestingDepth() < 0) {
+    /**
+     * Update existing value in place where possible: primitive fields, dates, arrays and lists of matching size, nested
+     * objects. Immutable values are replaced, other values are generated from scratch.
+     *
+     * @return refilled value, same as current if it was updated in place
+     */
+    private Object refillValue(Object current, TypeToken<?> type, int depth) {
+        TypePlan plan = TypePlan.of(type);
+        if (plan.isDepthBounded() && depth < 0) {
             return null;
         }
-
-        if (type.getRawType().isEnum()) {
-            T[] constants = (T[]) type.getRawType().getEnumConstants();
-            return constants[0];
-        }
-
-        if (TypeToken.of(Date.class).isSupertypeOf(type)) {
-            return (T) uniqueDate();
-        }
-
-        if (TypeToken.of(Instant.class).isSupertypeOf(type)) {
-            return (T) uniqueInstant();
+        if (current == null || Proxy.isProxyClass(current.getClass())) {
+            return generateNested(type, depth);
         }
 
-        if (TypeToken.of(BigDecimal.class).isSupertypeOf(type)) {
-            return (T) uniqueBigDecimal();
-        }
-
-        if (TypeToken.of(BigInteger.class).isSupertypeOf(type)) {
-            return (T) uniqueBigInteger();
+        switch (plan.getKind()) {
+            case VALUE:
+                if (current instanceof Date) {
+                    ((Date) current).setTime(Unique.millisOf(Unique.nextId()));
+                    return current;
+                }
+                return newValue(plan);
+            case ARRAY:
+                return refillArray(current, type, depth);
+            case COLLECTION:
+                return refillCollection((Collection<?>) current, type, depth);
+            case MAP:
+                return refillMap((Map<?, ?>) current, type, depth);
+            case ABSTRACT:
+                if (current instanceof Collection) {
+                    return refillCollection((Collection<?>) current, RAW_COLLECTION, depth);
+                }
+                if (current instanceof Map) {
+                    return refillMap((Map<?, ?>) current, RAW_MAP, depth);
+                }
+                return refillValue(current, TypeToken.of(current.getClass()), depth);
+            case UNSUPPORTED:
+                throw new ObjectInitializationException("Unsupported parametrized field type : " + type);
+            default:
+                refillObjectFields(current, plan, depth);
+                return current;
         }
+    }
 
-        if (TypeToken.of(UUID.class).isSupertypeOf(type)) {
-            return (T) uniqueUUID();
+    private void refillObjectFields(Object instance, TypePlan plan, int depth) {
+        Set<String> excludedFields = context.excludedFieldsFor(plan.getType());
+        Map<String, Supplier<?>> generators = context.fieldGeneratorsFor(plan.getType());
+        try {
+            for (TypePlan.FieldPlan fieldPlan : plan.getFields()) {
+                if (excludedFields.contains(fieldPlan.getName())) {
+                    continue;
+                }
+                Field field = fieldPlan.getField();
+                Supplier<?> generator = generators.get(fieldPlan.getName());
+                if (generator != null) {
+                    setGeneratedField(instance, field, () -> reported(field.getType(), null, generator));
+                    continue;
+                }
+                if (fieldPlan.getConstraints() != null && setConstrainedField(instance, fieldPlan)) {
+                    continue;
+                }
+                if (field.getType().isPrimitive()) {
+                    setPrimitiveField(instance, field);
+                } else {
+                    Object current = field.get(instance);
+                    Object refilled = refillValue(current, fieldPlan.getType(), depth - 1);
+                    if (refilled != current) {
+                        field.set(instance, refilled);
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new ObjectInitializationException(e);
         }
+    }
 
-        if (type.isArray()) {
-            return (T) generateArray(type, context.getCollectionSize(), token -> generate(context.nested(token)));
+    private Object refillArray(Object current, TypeToken<?> type, int depth) {
+        if (Array.getLength(current) != context.getCollectionSize()) {
+            return generateNested(type, depth);
         }
-
-        if (type.getType() instanceof ParameterizedType) {
-            return generateParametrizedObjectValue(type);
+        if (current.getClass().getComponentType().isPrimitive()) {
+            reported(current.getClass(), GenerationListener.Stage.COLLECTION_FILL, () -> {
+                NArrays.fillUnique(current);
+                return current;
+            });
+        } else {
+            Object[] array = (Object[]) current;
+            TypeToken<?> componentType = type.getComponentType();
+            for (int i = 0; i < array.length; i++) {
+                array[i] = refillValue(array[i], componentType, depth - 1);
+            }
         }
+        return current;
+    }
 
-        if (type.getRawType().isInterface() || isAbstract(type.getRawType().getModifiers())) {
-            context.contextType = context.mappingFor(type.getRawType());
-            return generate(context);
+    @SuppressWarnings("unchecked")
+    private Object refillCollection(Collection<?> current, TypeToken<?> type, int depth) {
+        Type elementArgument = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+        TypeToken<?> elementType = TypeToken.of(erase(elementArgument));
+        int size = context.getCollectionSize();
+        try {
+            if (current instanceof List && current.size() == size) {
+                List<Object> list = (List<Object>) current;
+                for (int i = 0; i < size; i++) {
+                    Object element = list.get(i);
+                    Object refilled = refillValue(element, elementType, depth - 1);
+                    if (refilled != element) {
+                        list.set(i, refilled);
+                    }
+                }
+            } else {
+                Collection<Object> collection = (Collection<Object>) current;
+                collection.clear();
+                for (int i = 0; i < size; i++) {
+                    collection.add(generateNested(elementType, depth - 1));
+                }
+            }
+            return current;
+        } catch (UnsupportedOperationException e) {
+            return generateNested(type, depth);
         }
+    }
 
-        if (type.getRawType().equals(Object.class)) {
-            return (T) uniqueLong();
+    /**
+     * Put new entries straight into existing map, without building a temporary one
+     */
+    @SuppressWarnings("unchecked")
+    private Object refillMap(Map<?, ?> current, TypeToken<?> type, int depth) {
+        Type[] arguments = ((ParameterizedType) type.getType()).getActualTypeArguments();
+        TypeToken<?> keyType = TypeToken.of(erase(arguments[0]));
+        TypeToken<?> valueType = TypeToken.of(erase(arguments[1]));
+        Supplier<?> keyGenerator = context.getMapKeyGenerators().get(keyType.getRawType());
+        Map<Object, Object> map = (Map<Object, Object>) current;
+        try {
+            map.clear();
+            putEntries(map, keyType.getRawType(),
+                    keyGenerator != null ? keyGenerator : () -> generateNested(keyType, depth - 1),
+                    () -> generateNested(valueType, depth - 1));
+            return current;
+        } catch (UnsupportedOperationException e) {
+            return generateNested(type, depth);
         }
+    }
 
-        T instance = (T) instantiateClass(type.getRawType());
-        fillObjectFields(instance);
-        return instance;
+    private Object generateNested(TypeToken<?> type, int depth) {
+        return generate(context.nested(type).withNestingDepth(depth));
     }
 
-    private void fillObjectFields(T instance) {
+    private void fillObjectFields(T instance, TypePlan plan) {
         Set<String> excludedFields = context.excludedFieldsFor(context.getContextType());
+        Map<String, Supplier<?>> generators = context.fieldGeneratorsFor(context.getContextType());
 
-        stream(FieldUtils.getAllFields(context.getContextType().getRawType()))
-                .filter(field -> !excludedFields.contains(field.getName()))
-                .filter(this::isFieldAcceptableForGeneration)
-                .forEach(field -> {
-
+        plan.getFields().stream()
+                .filter(fieldPlan -> !excludedFields.contains(fieldPlan.getName()))
+                .forEach(fieldPlan -> {
+                    Field field = fieldPlan.getField();
                     Class<?> typeClass = field.getType();
+                    Supplier<?> generator = generators.get(fieldPlan.getName());
+                    if (generator != null) {
+                        setGeneratedField(instance, field, () -> reported(typeClass, null, generator));
+                        return;
+                    }
+                    if (fieldPlan.getConstraints() != null && setConstrainedField(instance, fieldPlan)) {
+                        return;
+                    }
                     if (typeClass.isPrimitive()) {
-                        setField(instance, field);
+                        setPrimitiveField(instance, field);
                     } else if (typeClass.isArray()) {
-                        Object array = generateArray(typeClass, context.getCollectionSize(),
-                                token -> generate(context.nested(token)));
+                        Object array = reported(typeClass, GenerationListener.Stage.COLLECTION_FILL, () -> {
+                            Object event = beginCollectionEvent();
+                            Object value = newArray(fieldPlan.getType(), context.getCollectionSize());
+                            commitCollectionEvent(event, fieldPlan.getType(), TypePlan.Kind.ARRAY);
+                            return value;
+                        });
                         setArrayField(instance, field, array);
                     } else {
-                        setObjectField(instance, field);
+                        setObjectField(instance, field, fieldPlan.getType());
                     }
                 });
     }
 
-    private boolean isFieldAcceptableForGeneration(Field field) {
-        return !isStatic(field.getModifiers()) && !isTransient(field.getModifiers());
+    /**
+     * Generate simple value, files and paths are created in context workspace if there is one
+     */
+    private Object newValue(TypePlan plan) {
+        Workspace workspace = context.getWorkspace();
+        if (workspace != null) {
+            Class<?> type = plan.getType().getRawType();
+            if (type == Path.class) {
+                return workspace.generatedFile();
+            } else if (type == File.class) {
+                return workspace.generatedFile().toFile();
+            }
+        }
+        return plan.newValue();
     }
 
-    private void setObjectField(Object instance, Field field) {
+    /**
+     * Generate array. Byte arrays are filled in bulk instead of element by element: ones, that fit all byte values, get
+     * distinct bytes, same as on refill, larger ones get {@link Payload unique payload}.
+     */
+    private Object newArray(TypeToken<?> type, int size) {
+        if (type.getRawType() == byte[].class) {
+            if (size > MAX_DISTINCT_BYTES) {
+                return Payload.unique(size).toByteArray();
+            }
+            byte[] bytes = new byte[size];
+            NArrays.fillUnique(bytes);
+            return bytes;
+        }
+        return generateArray(type, size, token -> generate(context.nested(token)));
+    }
+
+    private static void setGeneratedField(Object instance, Field field, Supplier<?> generator) {
+        try {
+            field.set(instance, generator.get());
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new ObjectInitializationException("Could not set generated value of field " + field.getName(), e);
+        }
+    }
+
+    /**
+     * Set value of a field with Bean Validation constraints, that affect generation
+     *
+     * @return false if constraints do not affect generation and field should be filled as usual
+     */
+    private boolean setConstrainedField(Object instance, TypePlan.FieldPlan fieldPlan) {
+        FieldConstraints constraints = fieldPlan.getConstraints();
+        Field field = fieldPlan.getField();
         try {
-            field.setAccessible(true);
-            Type type = getExactFieldType(field, instance.getClass());
-            TypeToken<?> token = TypeToken.of(type);
-            field.set(instance, generate(context.nested(token)));
+            if (constraints.isAlwaysNull()) {
+                field.set(instance, null);
+            } else if (constraints.isValueGenerated()) {
+                field.set(instance, reported(field.getType(), null, () -> constraints.newValue(Unique.nextId())));
+            } else if (constraints.isSized() && TypePlan.of(fieldPlan.getType()).getKind() != TypePlan.Kind.BEAN) {
+                InitContext<?> nestedContext = context.nested(fieldPlan.getType());
+                int size = constraints.sizeOf(context.getCollectionSize());
+                field.set(instance, new Initializer<>(nestedContext, size).create());
+            } else {
+                return false;
+            }
+            return true;
         } catch (IllegalAccessException e) {
             throw new ObjectInitializationException(e);
         }
     }
 
-    private <C> C generateParametrizedObjectValue(TypeToken<C> typeToken) {
-        if (TypeToken.of(Collection.class).isSupertypeOf(typeToken)) {
-            //noinspection unchecked
-            return (C) uniqueCollection(typeToken);
-        } else if (TypeToken.of(Map.class).isSupertypeOf(typeToken)) {
-            //noinspection unchecked
-            return (C) uniqueMap(typeToken);
-        } else {
-            throw new ObjectInitializationException("Unsupported parametrized field type : " + typeToken);
+    /**
+     * Start flight recorder event if collection to generate is large enough to be worth reporting
+     */
+    private Object beginCollectionEvent() {
+        if (collectionSize < FlightEvents.LARGE_COLLECTION_SIZE) {
+            return null;
+        }
+        return FlightEvents.GENERATION.begin();
+    }
+
+    private void commitCollectionEvent(Object event, TypeToken<?> type, TypePlan.Kind kind) {
+        if (event == null) {
+            return;
+        }
+        FlightEvents.GENERATION.commit(event, type.toString(), kind.name(), collectionSize, context.getNestingDepth());
+    }
+
+    /**
+     * Get value, generated outside of {@link #create()}, and report it to the listener the same way
+     *
+     * @param stage stage to report, null for values without stages
+     */
+    private Object reported(Class<?> type, GenerationListener.Stage stage, Supplier<?> generator) {
+        GenerationListener listener = context.getListener();
+        if (listener == null) {
+            return generator.get();
+        }
+
+        long started = System.nanoTime();
+        Object value = generator.get();
+        long elapsed = System.nanoTime() - started;
+        if (stage != null) {
+            listener.onStage(type, stage, elapsed);
+        }
+        listener.onGenerated(type, elapsed);
+        return value;
+    }
+
+    private void setPrimitiveField(Object instance, Field field) {
+        GenerationListener listener = context.getListener();
+        if (listener == null) {
+            setField(instance, field);
+            return;
         }
+
+        long started = System.nanoTime();
+        setField(instance, field);
+        long elapsed = System.nanoTime() - started;
+        listener.onValue(TypePlan.of(field.getType()).getGeneratorName(), elapsed);
+        listener.onGenerated(field.getType(), elapsed);
+    }
+
+    private void setObjectField(Object instance, Field field, TypeToken<?> token) {
+        try {
+            InitContext<?> nestedContext = context.nested(token);
+            if (isLazilyGenerated(nestedContext)) {
+                field.set(instance, Reflection.newProxy(token.getRawType(), new LazyValueHandler(nestedContext)));
+            } else {
+                field.set(instance, generate(nestedContext));
+            }
+        } catch (IllegalAccessException e) {
+            throw new ObjectInitializationException(e);
+        }
+    }
+
+    /**
+     * Only interface typed fields can be backed by jdk proxies. Interfaces, implemented by string (like
+     * {@link CharSequence} or {@link Serializable}) are simple values and are always generated eagerly, same as fields,
+     * that would be left null due to nesting depth limit.
+     */
+    private static boolean isLazilyGenerated(InitContext<?> nestedContext) {
+        Class<?> rawType = nestedContext.getContextType().getRawType();
+        return nestedContext.isLazyFields() && nestedContext.getNestingDepth() >= 0 && rawType.isInterface() &&
+                !rawType.isAssignableFrom(String.class);
     }
 
     private Collection uniqueCollection(TypeToken<?> typeToken) {
         Collection collection = (Collection) instantiateClass(typeToken.getRawType());
         Type[] genericTypes = ((ParameterizedType) typeToken.getType()).getActualTypeArguments();
 
-        for (int i = 0; i < context.getCollectionSize(); i++) {
+        for (int i = 0; i < collectionSize; i++) {
             Class<?> typeClass = erase(genericTypes[0]);
             //noinspection unchecked
             collection.add(generate(context.nested(TypeToken.of(typeClass))));
@@ -230,14 +505,33 @@ public class Initializer<T> {
 
     private Map uniqueMap(TypeToken<?> typeToken) {
         Type[] genericTypes = ((ParameterizedType) typeToken.getType()).getActualTypeArguments();
-        return IntStream.range(0, context.getCollectionSize())
-                .boxed()
-                .collect(
-                        toMap(
-                                integer -> generate(context.nested(TypeToken.of(erase(genericTypes[0])))),
-                                integer -> generate(context.nested(TypeToken.of(erase(genericTypes[1]))))
-                        )
-                );
+        Class<?> keyType = erase(genericTypes[0]);
+        Supplier<?> keyGenerator = context.getMapKeyGenerators().get(keyType);
+        Map<Object, Object> map = new HashMap<>();
+        putEntries(map, keyType,
+                keyGenerator != null ? keyGenerator : () -> generate(context.nested(TypeToken.of(keyType))),
+                () -> generate(context.nested(TypeToken.of(erase(genericTypes[1])))));
+        return map;
+    }
+
+    /**
+     * Put entries until map has collection size of them. Keys, that are already in a map, are skipped without
+     * generating values, so skewed key suppliers, like {@link KeyDistribution} ones, fill maps with distinct keys.
+     *
+     * @throws ObjectInitializationException if there are not enough distinct keys
+     */
+    private void putEntries(Map<Object, Object> map, Class<?> keyType, Supplier<?> keys, Supplier<?> values) {
+        long attempts = (long) collectionSize * KEY_ATTEMPTS_PER_ENTRY;
+        for (long attempt = 0; map.size() < collectionSize; attempt++) {
+            if (attempt == attempts) {
+                throw new ObjectInitializationException("Could not get " + collectionSize + " distinct keys of " +
+                        keyType.getName() + " for a map in " + attempts + " attempts, got " + map.size());
+            }
+            Object key = keys.get();
+            if (!map.containsKey(key)) {
+                map.put(key, values.get());
+            }
+        }
     }
 
     private <C> C instantiateClass(Class<C> clazz) {
@@ -272,6 +566,41 @@ public class Initializer<T> {
                 .isPresent();
     }
 
+    /**
+     * Proxy handler, that generates actual field value on first method invocation and delegates all calls to it
+     */
+    private static class LazyValueHandler implements InvocationHandler {
+        private final InitContext<?> context;
+        private volatile Object value;
+
+        private LazyValueHandler(InitContext<?> context) {
+            this.context = context;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(getValue(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object getValue() {
+            Object result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) {
+                        result = generate(context);
+                        value = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public static class InitContext<T> {
         private static final Map<Class<?>, TypeToken<?>> DEFAULT_IMPLEMENTATION_MAPPINGS = new HashMap<>();
@@ -296,14 +625,26 @@ public class Initializer<T> {
         @Getter
         private int nestingDepth = DEFAULT_NESTING_DEPTH;
         @Getter
+        private boolean lazyFields;
+        @Getter
+        private GenerationListener listener;
+        @Getter
+        private Workspace workspace;
+        @Getter
         private final Map<TypeToken<?>, Set<String>> excludedFields;
         @Getter
         private final Map<Class<?>, TypeToken<?>> mappings;
+        @Getter
+        private final Map<TypeToken<?>, Map<String, Supplier<?>>> fieldGenerators;
+        @Getter
+        private final Map<Class<?>, Supplier<?>> mapKeyGenerators;
 
         InitContext(@NonNull TypeToken<T> contextType) {
             this.contextType = contextType;
             excludedFields = Maps.newHashMap();
             mappings = Maps.newHashMap(DEFAULT_IMPLEMENTATION_MAPPINGS);
+            fieldGenerators = Maps.newHashMap();
+            mapKeyGenerators = Maps.newHashMap();
         }
 
         public InitContext<T> withCollectionSize(int size) {
@@ -316,6 +657,43 @@ public class Initializer<T> {
             return this;
         }
 
+        /**
+         * Replace interface typed fields with proxies, generating actual values on first method call with same context
+         * settings. Useful for deep object graphs, where only few fields are used by test.
+         *
+         * @param lazyFields true to generate interface typed fields lazily
+         * @return same context
+         */
+        public InitContext<T> withLazyFields(boolean lazyFields) {
+            this.lazyFields = lazyFields;
+            return this;
+        }
+
+        /**
+         * Report generation events of this and all nested contexts to a listener
+         *
+         * @param listener listener to notify, null to disable notifications
+         * @return same context
+         * @see GenerationMetrics
+         */
+        public InitContext<T> withListener(GenerationListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Create real files for generated {@link File} and {@link Path} values of this and all nested contexts.
+         * Without a workspace such values name files in a temporary directory, that do not exist. Sinks and columns
+         * never create files.
+         *
+         * @param workspace workspace to create files in, null to only name files
+         * @return same context
+         */
+        public InitContext<T> withWorkspace(Workspace workspace) {
+            this.workspace = workspace;
+            return this;
+        }
+
         public InitContext<T> withExcludedFieldsFor(@Nonnull @NonNull Class<?> clazz,
                 @Nonnull @NonNull String... fieldNames) {
             TypeToken<?> typeToken = TypeToken.of(clazz);
@@ -329,6 +707,93 @@ public class Initializer<T> {
             return this;
         }
 
+        /**
+         * Generate values of a field with a supplier instead of generating them by field type. Supplier takes
+         * precedence over validation constraints of a field and applies to all nested objects of given class.
+         *
+         * @param clazz     class, declaring the field or inheriting it
+         * @param fieldName name of the field
+         * @param generator supplier of field values
+         * @return same context
+         * @throws ObjectInitializationException if class has no such field
+         */
+        public InitContext<T> withFieldGenerator(@Nonnull @NonNull Class<?> clazz, @Nonnull @NonNull String fieldName,
+                @Nonnull @NonNull Supplier<?> generator) {
+            if (TypePlan.of(clazz).getFields().stream().noneMatch(field -> field.getName().equals(fieldName))) {
+                throw new ObjectInitializationException("There is no field " + fieldName + " in " + clazz);
+            }
+            fieldGenerators.computeIfAbsent(TypeToken.of(clazz), key -> new HashMap<>()).put(fieldName, generator);
+            return this;
+        }
+
+        /**
+         * Generate unique strings, matching a pattern, for a field. Ambiguous patterns, like {@code a?a?}, may repeat
+         * values before all matching strings are used.
+         *
+         * @param clazz     class, declaring the field or inheriting it
+         * @param fieldName name of the field
+         * @param regex     pattern of field values
+         * @return same context
+         * @throws IllegalArgumentException      if pattern is not supported
+         * @throws ObjectInitializationException if class has no such field
+         * @see Unique#uniqueMatching(String)
+         */
+        public InitContext<T> withFieldPattern(@Nonnull @NonNull Class<?> clazz, @Nonnull @NonNull String fieldName,
+                @Nonnull @NonNull String regex) {
+            RegexGenerator generator = RegexGenerator.of(regex);
+            return withFieldGenerator(clazz, fieldName, () -> generator.generate(Unique.nextId()));
+        }
+
+        /**
+         * Generate skewed keys of a distribution for a field, converted to the field type. Keys are sampled with
+         * {@link java.util.concurrent.ThreadLocalRandom}, so they are not reproduced by {@link PropertyRunner} seeds.
+         *
+         * @param clazz        class, declaring the field or inheriting it
+         * @param fieldName    name of the field
+         * @param distribution distribution of field values
+         * @return same context
+         * @throws IllegalArgumentException      if keys can not be converted to the field type
+         * @throws ObjectInitializationException if class has no such field
+         * @see KeyDistribution#supplier(Class)
+         */
+        public InitContext<T> withFieldDistribution(@Nonnull @NonNull Class<?> clazz,
+                @Nonnull @NonNull String fieldName, @Nonnull @NonNull KeyDistribution distribution) {
+            TypePlan.FieldPlan field = TypePlan.of(clazz).getFields().stream()
+                    .filter(plan -> plan.getName().equals(fieldName))
+                    .findFirst()
+                    .orElseThrow(() -> new ObjectInitializationException("There is no field " + fieldName + " in " +
+                            clazz));
+            return withFieldGenerator(clazz, fieldName, distribution.supplier(field.getType().getRawType()));
+        }
+
+        InitContext<T> withFieldGenerators(Map<TypeToken<?>, Map<String, Supplier<?>>> fieldGenerators) {
+            this.fieldGenerators.putAll(fieldGenerators);
+            return this;
+        }
+
+        /**
+         * Generate keys of all maps with given key type with a supplier, for example with colliding hash codes.
+         * Supplier may repeat keys, e.g. {@link KeyDistribution#supplier(Class) skewed keys}: repeated ones are
+         * skipped until a map gets collection size entries, and generation fails, if supplier does not give enough
+         * distinct keys.
+         *
+         * @param keyType   map key type
+         * @param generator supplier of unique keys
+         * @param <K>       map key type
+         * @return same context
+         * @see Unique#uniqueStringWithHash(int)
+         */
+        public <K> InitContext<T> withMapKeys(@Nonnull @NonNull Class<K> keyType,
+                @Nonnull @NonNull Supplier<? extends K> generator) {
+            mapKeyGenerators.put(keyType, generator);
+            return this;
+        }
+
+        InitContext<T> withMapKeyGenerators(Map<Class<?>, Supplier<?>> mapKeyGenerators) {
+            this.mapKeyGenerators.putAll(mapKeyGenerators);
+            return this;
+        }
+
         public InitContext<T> withMapping(@Nonnull @NonNull Class<?> interfaceClass,
                 @Nonnull @NonNull Class<?> implClass) {
             if (!interfaceClass.isInterface() && !isAbstract(interfaceClass.getModifiers())) {
@@ -366,16 +831,88 @@ public class Initializer<T> {
             return excludedFields.getOrDefault(token, Collections.emptySet());
         }
 
+        Map<String, Supplier<?>> fieldGeneratorsFor(TypeToken<?> token) {
+            return fieldGenerators.getOrDefault(token, Collections.emptyMap());
+        }
+
+        /**
+         * Generate new value. A flight recorder event is emitted for every top level value, except large arrays,
+         * collections and maps, which report themselves as they are filled, so the same work is not counted twice.
+         *
+         * @return generated value
+         */
         public T generate() {
-            return new Initializer<>(this).create();
+            TypePlan plan = TypePlan.of(contextType);
+            boolean collection = plan.getKind() == TypePlan.Kind.ARRAY ||
+                    plan.getKind() == TypePlan.Kind.COLLECTION || plan.getKind() == TypePlan.Kind.MAP;
+            Object event = collection && collectionSize >= FlightEvents.LARGE_COLLECTION_SIZE
+                    ? null
+                    : FlightEvents.GENERATION.begin();
+            if (event == null) {
+                return new Initializer<>(this).create();
+            }
+            T value = new Initializer<>(this).create();
+            FlightEvents.GENERATION.commit(event, plan.getType().toString(), plan.getKind().name(),
+                    collection ? collectionSize : 1, nestingDepth);
+            return value;
+        }
+
+        /**
+         * Refresh existing object with new unique values instead of allocating new one. Primitive fields, dates, nested
+         * objects, arrays and lists of context collection size are updated in place, immutable values are replaced and
+         * other collections and maps are cleared and filled again.
+         *
+         * @param instance object to refill, previously generated with same settings
+         * @return same instance if it was updated in place, new value otherwise
+         */
+        public T refill(@Nonnull @NonNull T instance) {
+            return new Initializer<>(this).refill(instance);
+        }
+
+        /**
+         * Generate simple field values of a batch of objects in columnar form
+         *
+         * @param rows amount of objects
+         * @return batch of columns, one per simple field
+         */
+        public ColumnBatch<T> generateColumns(int rows) {
+            return ColumnBatch.generate(this, rows);
+        }
+
+        /**
+         * Create streaming sink, writing generated records in a given format without materializing them
+         *
+         * @param format output format
+         * @return sink with this context settings
+         */
+        public FixtureSink<T> sink(@Nonnull @NonNull FixtureSink.Format format) {
+            return new FixtureSink<>(this, format);
+        }
+
+        InitContext<T> copy() {
+            return new InitContext<>(contextType)
+                    .withCollectionSize(collectionSize)
+                    .withNestingDepth(nestingDepth)
+                    .withLazyFields(lazyFields)
+                    .withListener(listener)
+                    .withWorkspace(workspace)
+                    .withMappings(mappings)
+                    .withExcludedFields(excludedFields)
+                    .withFieldGenerators(fieldGenerators)
+                    .withMapKeyGenerators(mapKeyGenerators);
         }
 
         <N> InitContext<N> nested(TypeToken<N> nestedToken) {
             return new InitContext<>(nestedToken)
                     .withCollectionSize(collectionSize)
                     .withNestingDepth(nestingDepth-1)
+                    .withLazyFields(lazyFields)
+                    .withListener(listener)
+                    .withWorkspace(workspace)
                     .withMappings(mappings)
-                    .withExcludedFields(excludedFields);
+                    .withExcludedFields(excludedFields)
+                    .withFieldGenerators(fieldGenerators)
+                    .withMapKeyGenerators(mapKeyGenerators);
         }
     }
 }
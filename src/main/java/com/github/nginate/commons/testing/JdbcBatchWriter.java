@@ -0,0 +1,110 @@
+package com.github.nginate.commons.testing;
+
+import lombok.NonNull;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Inserts {@link ColumnBatch column batches} into a table with jdbc batches. Values are bound straight from column
+ * arrays, so no row objects are created.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     new JdbcBatchWriter(connection, "dto")
+ *          .withBatchSize(5000)
+ *          .withColumnName("id", "dto_id")
+ *          .write(uniqueObject(Dto.class).generateColumns(1_000_000));
+ *  }
+ * </pre>
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class JdbcBatchWriter {
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final String table;
+    private final Map<String, String> columnNames = new HashMap<>();
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * @param connection connection to use, is not closed by writer
+     * @param table      table to insert into
+     */
+    public JdbcBatchWriter(@Nonnull @NonNull Connection connection, @Nonnull @NonNull String table) {
+        this.connection = connection;
+        this.table = table;
+    }
+
+    /**
+     * Set amount of rows to execute in a single batch
+     *
+     * @param batchSize rows per batch
+     * @return same writer
+     */
+    public JdbcBatchWriter withBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive : " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Map field to a table column with different name. By default column name is equal to field name.
+     *
+     * @param fieldName  field name
+     * @param columnName table column name
+     * @return same writer
+     */
+    public JdbcBatchWriter withColumnName(@Nonnull @NonNull String fieldName, @Nonnull @NonNull String columnName) {
+        columnNames.put(fieldName, columnName);
+        return this;
+    }
+
+    /**
+     * Insert all rows of a batch
+     *
+     * @param batch generated columns
+     * @return amount of inserted rows
+     * @throws SQLException on statement failure
+     */
+    public int write(@Nonnull @NonNull ColumnBatch<?> batch) throws SQLException {
+        List<ColumnBatch.Column> columns = batch.getColumns();
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Batch has no columns to insert");
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(insertSql(columns))) {
+            for (int row = 0; row < batch.getRows(); row++) {
+                for (int column = 0; column < columns.size(); column++) {
+                    columns.get(column).bind(statement, column + 1, row);
+                }
+                statement.addBatch();
+                if ((row + 1) % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (batch.getRows() % batchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+        return batch.getRows();
+    }
+
+    private String insertSql(List<ColumnBatch.Column> columns) {
+        return columns.stream()
+                .map(column -> columnNames.getOrDefault(column.getName(), column.getName()))
+                .collect(joining(", ", "INSERT INTO " + table + " (", ")")) +
+                columns.stream().map(column -> "?").collect(joining(", ", " VALUES (", ")"));
+    }
+}
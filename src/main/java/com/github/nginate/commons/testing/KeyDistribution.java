@@ -0,0 +1,265 @@
+package com.github.nginate.commons.testing;
+
+import com.google.common.primitives.Primitives;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nonnull;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Skewed choice of keys from a bounded key space. {@link Unique} values never repeat, while caches, sharded maps and
+ * hot key handling should be tested with traffic, where some keys are requested much more often than others. Key
+ * space is a range of unique longs, {@link Unique#reserve(long) reserved} on creation, and every sample is one of
+ * its keys, chosen with a distribution.
+ * <p>Samplers do not lock: tables of cumulative probabilities are computed once on creation and shared read only,
+ * random numbers come from {@link ThreadLocalRandom}. Zipf and latest distributions take O(log keys) per sample,
+ * others take constant time.</p>
+ * <p>Samples are not reproducible: {@link ThreadLocalRandom} can not be seeded, so inputs with fields or map keys of a
+ * distribution differ between runs of {@link PropertyRunner} with the same seed.</p>
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     KeyDistribution customers = KeyDistribution.zipf(10_000, 0.99);
+ *     List<Order> orders = uniqueList(Order.class)
+ *          .withCollectionSize(100_000)
+ *          .withFieldDistribution(Order.class, "customerId", customers)
+ *          .generate();
+ *     Long hottest = customers.keyOf(0);
+ *  }
+ * </pre>
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public final class KeyDistribution {
+    private static final int SHORT_VALUES = 1 << Short.SIZE;
+    private static final int BYTE_VALUES = 1 << Byte.SIZE;
+
+    /**
+     * Amount of keys in the key space
+     */
+    @Getter
+    private final int keys;
+    /**
+     * Unique long of the key with index 0
+     */
+    @Getter
+    private final long firstKey;
+    private final Sampler sampler;
+
+    private KeyDistribution(int keys, Sampler sampler) {
+        this.keys = keys;
+        this.firstKey = Unique.reserve(keys);
+        this.sampler = sampler;
+    }
+
+    /**
+     * Every key is chosen with the same probability
+     *
+     * @param keys amount of keys
+     * @return distribution over a new key space
+     */
+    public static KeyDistribution uniform(int keys) {
+        checkKeys(keys);
+        return new KeyDistribution(keys, random -> random.nextInt(keys));
+    }
+
+    /**
+     * Zipf distribution: key with index {@code i} is chosen with probability, proportional to
+     * {@code 1 / (i + 1)^exponent}, so key 0 is the hottest one
+     *
+     * @param keys     amount of keys
+     * @param exponent skew, 0 gives uniform distribution, 0.99 is a usual choice for web traffic
+     * @return distribution over a new key space
+     */
+    public static KeyDistribution zipf(int keys, double exponent) {
+        checkKeys(keys);
+        double[] cumulative = zipfTable(keys, exponent);
+        return new KeyDistribution(keys, random -> search(cumulative, random));
+    }
+
+    /**
+     * Zipf distribution over the most recent keys: key with the greatest index is the hottest one, popularity
+     * decreases with age of a key
+     *
+     * @param keys     amount of keys
+     * @param exponent skew, see {@link #zipf(int, double)}
+     * @return distribution over a new key space
+     */
+    public static KeyDistribution latest(int keys, double exponent) {
+        checkKeys(keys);
+        double[] cumulative = zipfTable(keys, exponent);
+        return new KeyDistribution(keys, random -> keys - 1 - search(cumulative, random));
+    }
+
+    /**
+     * Hot set of keys gets a given share of samples, other keys are chosen uniformly
+     *
+     * @param keys           amount of keys
+     * @param hotFraction    fraction of keys in a hot set, in (0, 1], hot keys have the lowest indexes
+     * @param hotProbability probability to choose a hot key, in [0, 1]
+     * @return distribution over a new key space
+     */
+    public static KeyDistribution hotspot(int keys, double hotFraction, double hotProbability) {
+        checkKeys(keys);
+        if (!(hotFraction > 0 && hotFraction <= 1)) {
+            throw new IllegalArgumentException("Hot fraction should be in (0, 1] : " + hotFraction);
+        }
+        if (!(hotProbability >= 0 && hotProbability <= 1)) {
+            throw new IllegalArgumentException("Hot probability should be in [0, 1] : " + hotProbability);
+        }
+        int hotKeys = Math.max(1, (int) (keys * hotFraction));
+        if (hotKeys == keys) {
+            return new KeyDistribution(keys, random -> random.nextInt(keys));
+        }
+        return new KeyDistribution(keys, random -> random.nextDouble() < hotProbability
+                ? random.nextInt(hotKeys)
+                : hotKeys + random.nextInt(keys - hotKeys));
+    }
+
+    /**
+     * Normal distribution around the middle key, values out of the key space are drawn again
+     *
+     * @param keys      amount of keys
+     * @param deviation standard deviation as a fraction of the key space, positive
+     * @return distribution over a new key space
+     */
+    public static KeyDistribution gaussian(int keys, double deviation) {
+        checkKeys(keys);
+        if (!(deviation > 0)) {
+            throw new IllegalArgumentException("Deviation should be positive : " + deviation);
+        }
+        double mean = (keys - 1) / 2.0;
+        double sigma = deviation * keys;
+        return new KeyDistribution(keys, random -> {
+            while (true) {
+                long index = Math.round(mean + random.nextGaussian() * sigma);
+                if (index >= 0 && index < keys) {
+                    return (int) index;
+                }
+            }
+        });
+    }
+
+    /**
+     * Choose a key
+     *
+     * @return index of a key in [0, keys)
+     */
+    public int nextIndex() {
+        return sampler.next(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Choose a key
+     *
+     * @return unique long of a key
+     */
+    public long nextKey() {
+        return firstKey + nextIndex();
+    }
+
+    /**
+     * Get key by its index
+     *
+     * @param index index in [0, keys)
+     * @return unique long of a key
+     */
+    public long keyOf(int index) {
+        if (index < 0 || index >= keys) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of key space of size " + keys);
+        }
+        return firstKey + index;
+    }
+
+    /**
+     * Supplier of keys, converted to a value type. Short and byte keys are the lowest bits of unique longs, so
+     * different keys always give different values, other types are converted the same way {@link Unique} converts
+     * unique longs.
+     *
+     * @param type key type: string, UUID, big integer, big decimal or integral primitive or its wrapper
+     * @param <T>  key type
+     * @return supplier of skewed keys
+     * @throws IllegalArgumentException if type is not supported or has less values than the key space
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> supplier(@Nonnull @NonNull Class<T> type) {
+        Class<?> wrapped = Primitives.wrap(type);
+        LongFunction<?> converter = converterOf(wrapped);
+        if (converter == null) {
+            throw new IllegalArgumentException("Keys of " + type + " are not supported");
+        }
+        if ((wrapped == Short.class && keys > SHORT_VALUES) || (wrapped == Byte.class && keys > BYTE_VALUES)) {
+            throw new IllegalArgumentException("Key space of " + keys + " keys does not fit into " + type);
+        }
+        return () -> (T) converter.apply(nextKey());
+    }
+
+    private static LongFunction<?> converterOf(Class<?> type) {
+        if (type == Long.class) {
+            return Long::valueOf;
+        } else if (type == Integer.class) {
+            return Unique::integerOf;
+        } else if (type == Short.class) {
+            return key -> (short) key;
+        } else if (type == Byte.class) {
+            return key -> (byte) key;
+        } else if (type == String.class) {
+            return Unique::stringOf;
+        } else if (type == UUID.class) {
+            return Unique::uuidOf;
+        } else if (type == BigInteger.class) {
+            return BigInteger::valueOf;
+        } else if (type == BigDecimal.class) {
+            return BigDecimal::valueOf;
+        }
+        return null;
+    }
+
+    private static void checkKeys(int keys) {
+        if (keys <= 0) {
+            throw new IllegalArgumentException("Amount of keys should be positive : " + keys);
+        }
+    }
+
+    /**
+     * Cumulative zipf weights, normalized to 1
+     */
+    private static double[] zipfTable(int keys, double exponent) {
+        if (!(exponent >= 0)) {
+            throw new IllegalArgumentException("Exponent should not be negative : " + exponent);
+        }
+        double[] cumulative = new double[keys];
+        double sum = 0;
+        for (int i = 0; i < keys; i++) {
+            sum += Math.pow(i + 1, -exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < keys; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int search(double[] cumulative, ThreadLocalRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "KeyDistribution(keys=" + keys + ", firstKey=" + firstKey + ")";
+    }
+
+    @FunctionalInterface
+    private interface Sampler {
+        int next(ThreadLocalRandom random);
+    }
+}
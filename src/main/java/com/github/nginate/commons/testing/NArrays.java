@@ -70,6 +70,69 @@ public class NArrays {
         return o;
     }
 
+    /**
+     * Overwrite elements of a primitive array with unique values without boxing them. Values for all elements are
+     * {@link Unique#reserve(long) reserved} at once. Byte arrays count up from the byte of the first reserved value,
+     * so arrays of up to 256 elements have no duplicates.
+     *
+     * @param array non-null primitive array
+     * @throws IllegalArgumentException if array is not a primitive one
+     */
+    public static void fillUnique(Object array) {
+        Class<?> type = array.getClass().getComponentType();
+        if (type == null || !type.isPrimitive()) {
+            throw new IllegalArgumentException("Not a primitive array : " + array.getClass());
+        }
+        int length = Array.getLength(array);
+        if (length == 0) {
+            return;
+        }
+
+        long first = Unique.reserve(length);
+        if (int.class.equals(type)) {
+            int[] ints = (int[]) array;
+            for (int i = 0; i < length; i++) {
+                ints[i] = Unique.integerOf(first + i);
+            }
+        } else if (long.class.equals(type)) {
+            long[] longs = (long[]) array;
+            for (int i = 0; i < length; i++) {
+                longs[i] = first + i;
+            }
+        } else if (double.class.equals(type)) {
+            double[] doubles = (double[]) array;
+            for (int i = 0; i < length; i++) {
+                doubles[i] = Unique.doubleOf(first + i);
+            }
+        } else if (short.class.equals(type)) {
+            short[] shorts = (short[]) array;
+            for (int i = 0; i < length; i++) {
+                shorts[i] = Unique.shortOf(first + i);
+            }
+        } else if (char.class.equals(type)) {
+            char[] chars = (char[]) array;
+            for (int i = 0; i < length; i++) {
+                chars[i] = Unique.characterOf(first + i);
+            }
+        } else if (boolean.class.equals(type)) {
+            boolean[] booleans = (boolean[]) array;
+            for (int i = 0; i < length; i++) {
+                booleans[i] = Unique.booleanOf(first + i);
+            }
+        } else if (byte.class.equals(type)) {
+            byte[] bytes = (byte[]) array;
+            byte start = Unique.byteOf(first);
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (start + i);
+            }
+        } else {
+            float[] floats = (float[]) array;
+            for (int i = 0; i < length; i++) {
+                floats[i] = Unique.floatOf(first + i);
+            }
+        }
+    }
+
     /**
      * Set array to an object's field
      *
@@ -63,22 +63,23 @@ public class NPrimitives {
         try {
             primitiveField.setAccessible(true);
             Class<?> type = primitiveField.getType();
+            long id = nextId();
             if (int.class.isAssignableFrom(type)) {
-                primitiveField.setInt(instance, uniqueInteger());
+                primitiveField.setInt(instance, integerOf(id));
             } else if (long.class.isAssignableFrom(type)) {
-                primitiveField.setLong(instance, uniqueLong());
+                primitiveField.setLong(instance, id);
             } else if (double.class.isAssignableFrom(type)) {
-                primitiveField.setDouble(instance, uniqueDouble());
+                primitiveField.setDouble(instance, doubleOf(id));
             } else if (short.class.isAssignableFrom(type)) {
-                primitiveField.setShort(instance, uniqueShort());
+                primitiveField.setShort(instance, shortOf(id));
             } else if (char.class.isAssignableFrom(type)) {
-                primitiveField.setChar(instance, uniqueCharacter());
+                primitiveField.setChar(instance, characterOf(id));
             } else if (boolean.class.isAssignableFrom(type)) {
-                primitiveField.setBoolean(instance, uniqueBoolean());
+                primitiveField.setBoolean(instance, booleanOf(id));
             } else if (byte.class.isAssignableFrom(type)) {
-                primitiveField.setByte(instance, uniqueByte());
+                primitiveField.setByte(instance, byteOf(id));
             } else if (float.class.isAssignableFrom(type)) {
-                primitiveField.setFloat(instance, uniqueFloat());
+                primitiveField.setFloat(instance, floatOf(id));
             } else {
                 throw new ObjectInitializationException("Unsupported primitive field type : " + type);
             }
@@ -0,0 +1,371 @@
+package com.github.nginate.commons.testing;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Deterministic binary content of arbitrary length, computed on the fly. Every 8 bytes at position {@code p} are a
+ * SplitMix64 hash of the seed and {@code p / 8}, written in little endian order, so any byte can be computed
+ * independently: streams and channels need O(1) memory, skip and seek are free and bulk fills write whole words.
+ * The same seed and size always give the same content, {@link #unique(long) unique} payloads take their seed from
+ * {@link Unique}.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     Payload payload = Payload.unique(4L << 30);
+ *     try (InputStream in = payload.openStream()) {
+ *         storage.upload("blob", in);
+ *     }
+ *     try (InputStream in = storage.download("blob")) {
+ *         assertThat(payload.mismatch(in)).isEqualTo(-1);
+ *     }
+ *  }
+ * </pre>
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class Payload {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int COMPARISON_CHUNK = 64 * 1024;
+
+    @Getter
+    private final long seed;
+    @Getter
+    private final long size;
+
+    private Payload(long seed, long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Payload size should not be negative : " + size);
+        }
+        this.seed = seed;
+        this.size = size;
+    }
+
+    /**
+     * Create payload with a seed, taken from {@link Unique}
+     *
+     * @param size amount of bytes
+     * @return payload, different from all other unique payloads
+     */
+    public static Payload unique(long size) {
+        return new Payload(Unique.nextId(), size);
+    }
+
+    /**
+     * Create payload with given seed
+     *
+     * @param seed seed of content
+     * @param size amount of bytes
+     * @return payload
+     */
+    public static Payload of(long seed, long size) {
+        return new Payload(seed, size);
+    }
+
+    /**
+     * Get single byte of content
+     *
+     * @param position position in [0, size)
+     * @return byte at position
+     */
+    public byte byteAt(long position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " is out of payload of size " + size);
+        }
+        return byteOf(position);
+    }
+
+    /**
+     * Copy content into array
+     *
+     * @param position first position of content to copy
+     * @param array    target array
+     * @param offset   first index of array to write
+     * @param length   amount of bytes to copy
+     */
+    public void copyTo(long position, @Nonnull @NonNull byte[] array, int offset, int length) {
+        checkRange(position, length);
+        if (offset < 0 || length > array.length - offset) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length +
+                    ") is out of array of length " + array.length);
+        }
+        write(position, array, offset, length);
+    }
+
+    /**
+     * Fill remaining bytes of a buffer with content, starting at given position. Buffer position is moved to its
+     * limit. Direct buffers are filled with whole words.
+     *
+     * @param position first position of content to copy
+     * @param buffer   target buffer
+     */
+    public void copyTo(long position, @Nonnull @NonNull ByteBuffer buffer) {
+        int length = buffer.remaining();
+        checkRange(position, length);
+        if (buffer.hasArray()) {
+            write(position, buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        } else {
+            write(position, buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN), buffer.position(), length);
+        }
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * Copy the whole content into a new array
+     *
+     * @return array of payload size
+     * @throws IllegalStateException if payload does not fit into array
+     */
+    public byte[] toByteArray() {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Payload of size " + size + " does not fit into array");
+        }
+        byte[] array = new byte[(int) size];
+        write(0, array, 0, array.length);
+        return array;
+    }
+
+    /**
+     * Open stream of content. Stream supports mark, reset and skips in constant time.
+     *
+     * @return stream, that computes content on read
+     */
+    public InputStream openStream() {
+        return new PayloadStream();
+    }
+
+    /**
+     * Open read only channel of content. Channel supports positioning in constant time.
+     *
+     * @return channel, that computes content on read
+     */
+    public SeekableByteChannel openChannel() {
+        return new PayloadChannel();
+    }
+
+    /**
+     * Compare stream with content
+     *
+     * @param in stream to read till its end, not closed
+     * @return position of the first different byte or of the end of shorter content, -1 if stream has same content
+     * @throws IOException if stream can not be read
+     */
+    public long mismatch(@Nonnull @NonNull InputStream in) throws IOException {
+        byte[] actual = new byte[COMPARISON_CHUNK];
+        byte[] expected = new byte[COMPARISON_CHUNK];
+        long position = 0;
+        while (true) {
+            int read = in.read(actual);
+            if (read < 0) {
+                return position == size ? -1 : position;
+            }
+            int comparable = (int) Math.min(read, size - position);
+            write(position, expected, 0, comparable);
+            for (int i = 0; i < comparable; i++) {
+                if (actual[i] != expected[i]) {
+                    return position + i;
+                }
+            }
+            if (comparable < read) {
+                return size;
+            }
+            position += read;
+        }
+    }
+
+    private void checkRange(long position, long length) {
+        if (position < 0 || length < 0 || length > size - position) {
+            throw new IndexOutOfBoundsException("Range [" + position + ", " + position + " + " + length +
+                    ") is out of payload of size " + size);
+        }
+    }
+
+    private long word(long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private byte byteOf(long position) {
+        return (byte) (word(position >>> 3) >>> ((position & 7) << 3));
+    }
+
+    private void write(long position, byte[] array, int offset, int length) {
+        long end = position + length;
+        while (position < end && (position & 7) != 0) {
+            array[offset++] = byteOf(position++);
+        }
+        while (end - position >= 8) {
+            long word = word(position >>> 3);
+            array[offset] = (byte) word;
+            array[offset + 1] = (byte) (word >>> 8);
+            array[offset + 2] = (byte) (word >>> 16);
+            array[offset + 3] = (byte) (word >>> 24);
+            array[offset + 4] = (byte) (word >>> 32);
+            array[offset + 5] = (byte) (word >>> 40);
+            array[offset + 6] = (byte) (word >>> 48);
+            array[offset + 7] = (byte) (word >>> 56);
+            offset += 8;
+            position += 8;
+        }
+        while (position < end) {
+            array[offset++] = byteOf(position++);
+        }
+    }
+
+    /**
+     * Write content with absolute puts, buffer should be in little endian order
+     */
+    private void write(long position, ByteBuffer buffer, int index, int length) {
+        long end = position + length;
+        while (position < end && (position & 7) != 0) {
+            buffer.put(index++, byteOf(position++));
+        }
+        while (end - position >= 8) {
+            buffer.putLong(index, word(position >>> 3));
+            index += 8;
+            position += 8;
+        }
+        while (position < end) {
+            buffer.put(index++, byteOf(position++));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Payload(seed=" + seed + ", size=" + size + ")";
+    }
+
+    private class PayloadStream extends InputStream {
+        private long position;
+        private long mark;
+
+        @Override
+        public int read() {
+            return position < size ? byteOf(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@Nonnull byte[] array, int offset, int length) {
+            if (offset < 0 || length < 0 || length > array.length - offset) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int read = (int) Math.min(length, size - position);
+            write(position, array, offset, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long amount) {
+            long skipped = Math.max(0, Math.min(amount, size - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(size - position, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            mark = position;
+        }
+
+        @Override
+        public synchronized void reset() {
+            position = mark;
+        }
+    }
+
+    private class PayloadChannel implements SeekableByteChannel {
+        private long position;
+        private boolean open = true;
+
+        @Override
+        public int read(ByteBuffer buffer) throws IOException {
+            ensureOpen();
+            if (position >= size) {
+                return -1;
+            }
+            int read = (int) Math.min(buffer.remaining(), size - position);
+            ByteBuffer target = buffer.duplicate();
+            target.limit(target.position() + read);
+            copyTo(position, target);
+            buffer.position(buffer.position() + read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int write(ByteBuffer buffer) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition < 0) {
+                throw new IllegalArgumentException("Position should not be negative : " + newPosition);
+            }
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            ensureOpen();
+            return size;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        private void ensureOpen() throws ClosedChannelException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.nginate.commons.testing;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small measurement harness for performance budgets in unit tests. Task is invoked for warmup first, then measured
+ * invocations are timed one by one into a preallocated array, so harness itself does not allocate while measuring.
+ * Allocated bytes are taken from per-thread allocation counter of HotSpot and are not available on other JVMs.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     Performance.Result result = Performance.of(() -> codec.encode(message, buffer))
+ *          .withWarmup(10_000)
+ *          .withInvocations(10_000)
+ *          .measure();
+ *
+ *     assertThat(result)
+ *          .has(allocatedAtMost(0))
+ *          .has(latencyAtMost(0.99, 50, TimeUnit.MICROSECONDS))
+ *          .has(throughputAtLeast(100_000));
+ *  }
+ * </pre>
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class Performance {
+    private static final int DEFAULT_WARMUP = 10_000;
+    private static final int DEFAULT_INVOCATIONS = 10_000;
+
+    private final Runnable task;
+    private int warmup = DEFAULT_WARMUP;
+    private int invocations = DEFAULT_INVOCATIONS;
+
+    private Performance(Runnable task) {
+        this.task = task;
+    }
+
+    public static Performance of(@Nonnull @NonNull Runnable task) {
+        return new Performance(task);
+    }
+
+    /**
+     * Set amount of invocations to run before measurement, so measured code is compiled
+     *
+     * @param warmup amount of not measured invocations
+     * @return same harness
+     */
+    public Performance withWarmup(int warmup) {
+        if (warmup < 0) {
+            throw new IllegalArgumentException("Warmup invocations amount should not be negative : " + warmup);
+        }
+        this.warmup = warmup;
+        return this;
+    }
+
+    public Performance withInvocations(int invocations) {
+        if (invocations <= 0) {
+            throw new IllegalArgumentException("Invocations amount should be positive : " + invocations);
+        }
+        this.invocations = invocations;
+        return this;
+    }
+
+    /**
+     * Run warmup and measured invocations in current thread
+     *
+     * @return measurement results
+     */
+    public Result measure() {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+
+        long[] latencies = new long[invocations];
+        AllocationCounter allocations = AllocationCounter.forCurrentThread();
+        long allocatedBefore = allocations.get();
+        long started = System.nanoTime();
+        for (int i = 0; i < invocations; i++) {
+            long invocationStarted = System.nanoTime();
+            task.run();
+            latencies[i] = System.nanoTime() - invocationStarted;
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = allocations.since(allocatedBefore);
+
+        Arrays.sort(latencies);
+        return new Result(invocations, elapsed, allocated, latencies);
+    }
+
+    /**
+     * Measurement results
+     */
+    public static class Result {
+        @Getter
+        private final int invocations;
+        @Getter
+        private final long elapsedNanos;
+        /**
+         * Total bytes allocated by measured invocations, negative if allocation counter is not available
+         */
+        @Getter
+        private final long allocatedBytes;
+        private final long[] sortedLatencies;
+
+        private Result(int invocations, long elapsedNanos, long allocatedBytes, long[] sortedLatencies) {
+            this.invocations = invocations;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        public boolean isAllocationMeasured() {
+            return allocatedBytes >= 0;
+        }
+
+        public double getAllocatedBytesPerInvocation() {
+            return allocatedBytes / (double) invocations;
+        }
+
+        /**
+         * Get latency percentile
+         *
+         * @param percentile percentile in (0, 1], e.g. 0.99
+         * @return latency of an invocation in nanoseconds, that is not exceeded by given share of invocations
+         */
+        public long getLatencyNanos(double percentile) {
+            if (percentile <= 0 || percentile > 1) {
+                throw new IllegalArgumentException("Percentile should be in (0, 1] : " + percentile);
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)];
+        }
+
+        /**
+         * Get throughput of measured invocations
+         *
+         * @return invocations per second
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? Double.POSITIVE_INFINITY :
+                    invocations * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            String allocated = isAllocationMeasured()
+                    ? String.format(Locale.ROOT, "%.1f bytes/op", getAllocatedBytesPerInvocation())
+                    : "not measured";
+            return String.format(Locale.ROOT, "%d invocations : %.0f ops/s, latency p50 %d ns, p99 %d ns, " +
+                            "max %d ns, allocated %s", invocations, getThroughput(), getLatencyNanos(0.5),
+                    getLatencyNanos(0.99), getLatencyNanos(1), allocated);
+        }
+    }
+
+    /**
+     * Allocated bytes counter of a thread, corrected by allocations of counter itself
+     */
+    private static class AllocationCounter {
+        private final com.sun.management.ThreadMXBean threads;
+        private final long threadId;
+        private final long overhead;
+
+        private AllocationCounter(com.sun.management.ThreadMXBean threads, long threadId) {
+            this.threads = threads;
+            this.threadId = threadId;
+            long first = threads.getThreadAllocatedBytes(threadId);
+            long second = threads.getThreadAllocatedBytes(threadId);
+            this.overhead = second - first;
+        }
+
+        private AllocationCounter() {
+            this.threads = null;
+            this.threadId = -1;
+            this.overhead = 0;
+        }
+
+        private static AllocationCounter forCurrentThread() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            try {
+                if (threads instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean hotSpotThreads = (com.sun.management.ThreadMXBean) threads;
+                    if (hotSpotThreads.isThreadAllocatedMemorySupported() &&
+                            hotSpotThreads.isThreadAllocatedMemoryEnabled()) {
+                        return new AllocationCounter(hotSpotThreads, Thread.currentThread().getId());
+                    }
+                }
+            } catch (LinkageError e) {
+                // not a HotSpot JVM
+            }
+            return new AllocationCounter();
+        }
+
+        private long get() {
+            return threads == null ? -1 : threads.getThreadAllocatedBytes(threadId);
+        }
+
+        private long since(long before) {
+            if (threads == null) {
+                return -1;
+            }
+            return Math.max(0, get() - before - overhead);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.Initializer.InitContext;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Property based testing on top of {@link Initializer}. Every trial generates an input with its own collection size,
+ * nesting depth and first unique value, all derived from a seed and trial index, so the same seed reproduces the
+ * same inputs. Trials run in parallel on the common fork-join pool and reuse cached type plans of the context type.
+ * Once a trial fails, its input is shrunk: collection sizes, nesting depth and first unique value are reduced while
+ * the property still fails, and the smallest failing input is reported as a counterexample.
+ * <p>Property fails if it returns false or throws an exception or assertion error. Generation failures are not
+ * treated as property failures and are rethrown. Values of generated dates depend on the time {@link Unique} was
+ * loaded, so only other values are reproduced between runs.</p>
+ * <p>To be reproducible, values of an input are taken from a private sequence, starting with its first value, instead
+ * of {@link Unique#reserve(long) reserved} ranges. They are unique within one input, but may repeat values of other
+ * inputs and of objects, generated with {@link Unique} outside of trial generation, including objects, created by
+ * the property itself. Property should not expect input values to differ from values of such objects, e.g. ids of
+ * fixtures stored before the check.</p>
+ * <p>Workspace of the context is not used, as names of workspace files are not reproducible and shrinking would
+ * create thousands of them, so file and path values of inputs only name files.</p>
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     PropertyRunner.forAll(uniqueObject(Order.class))
+ *          .withTrials(1000)
+ *          .withMaxCollectionSize(20)
+ *          .verify(order -> codec.decode(codec.encode(order)).equals(order));
+ *  }
+ * </pre>
+ *
+ * @param <T> input type
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class PropertyRunner<T> {
+    private static final int DEFAULT_TRIALS = 100;
+    private static final int DEFAULT_MAX_COLLECTION_SIZE = 10;
+    private static final int DEFAULT_MAX_SHRINKS = 1000;
+    private static final long MAX_FIRST_VALUE = Integer.MAX_VALUE;
+    private static final long TRIAL_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final InitContext<T> context;
+    private int trials = DEFAULT_TRIALS;
+    private long seed;
+    private int maxCollectionSize = DEFAULT_MAX_COLLECTION_SIZE;
+    private int maxNestingDepth;
+    private int maxShrinks = DEFAULT_MAX_SHRINKS;
+
+    private PropertyRunner(InitContext<T> context) {
+        this.context = context;
+        this.maxNestingDepth = Math.max(context.getNestingDepth(), 0);
+    }
+
+    /**
+     * Create runner, generating inputs with given context. Context is copied for every trial, so its collection size
+     * and nesting depth are replaced by trial ones, while mappings and exclusions are kept. Lazy fields are not used.
+     * Unique values of inputs are not reserved, see class description.
+     *
+     * @param context generation context
+     * @param <T>     input type
+     * @return runner with default settings
+     */
+    public static <T> PropertyRunner<T> forAll(@Nonnull @NonNull InitContext<T> context) {
+        return new PropertyRunner<>(context);
+    }
+
+    public PropertyRunner<T> withTrials(int trials) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trials amount should be positive : " + trials);
+        }
+        this.trials = trials;
+        return this;
+    }
+
+    /**
+     * Set seed of generated inputs, 0 by default
+     *
+     * @param seed seed, reported with every failure
+     * @return same runner
+     */
+    public PropertyRunner<T> withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Set maximal size of generated collections and arrays
+     *
+     * @param maxCollectionSize inclusive bound, trial sizes are taken from [0, bound]
+     * @return same runner
+     */
+    public PropertyRunner<T> withMaxCollectionSize(int maxCollectionSize) {
+        if (maxCollectionSize < 0) {
+            throw new IllegalArgumentException("Collection size should not be negative : " + maxCollectionSize);
+        }
+        this.maxCollectionSize = maxCollectionSize;
+        return this;
+    }
+
+    /**
+     * Set maximal nesting depth of generated objects, nesting depth of the context by default
+     *
+     * @param maxNestingDepth inclusive bound, trial depths are taken from [0, bound]
+     * @return same runner
+     */
+    public PropertyRunner<T> withMaxNestingDepth(int maxNestingDepth) {
+        if (maxNestingDepth < 0) {
+            throw new IllegalArgumentException("Nesting depth should not be negative : " + maxNestingDepth);
+        }
+        this.maxNestingDepth = maxNestingDepth;
+        return this;
+    }
+
+    /**
+     * Set maximal amount of successful shrink steps
+     *
+     * @param maxShrinks shrink steps, 0 to report failing input as is
+     * @return same runner
+     */
+    public PropertyRunner<T> withMaxShrinks(int maxShrinks) {
+        if (maxShrinks < 0) {
+            throw new IllegalArgumentException("Shrinks amount should not be negative : " + maxShrinks);
+        }
+        this.maxShrinks = maxShrinks;
+        return this;
+    }
+
+    /**
+     * Run trials and shrink the first failing input
+     *
+     * @param property property to check
+     * @return check result with a minimal counterexample, if property failed
+     * @throws ObjectInitializationException if inputs could not be generated
+     */
+    public Result<T> check(@Nonnull @NonNull Predicate<? super T> property) {
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        IntStream.range(0, trials).parallel().forEach(index -> {
+            if (index < firstFailure.get() && test(property, trialOf(index)) != null) {
+                firstFailure.accumulateAndGet(index, Math::min);
+            }
+        });
+
+        int index = firstFailure.get();
+        if (index == Integer.MAX_VALUE) {
+            return new Result<>(seed, trials, -1, null, null, null, 0);
+        }
+        Trial original = trialOf(index);
+        Trial minimal = original;
+        Throwable failure = test(property, minimal);
+        int shrinks = 0;
+        boolean shrunk = true;
+        while (shrunk && shrinks < maxShrinks) {
+            shrunk = false;
+            for (Trial candidate : minimal.smaller()) {
+                Throwable candidateFailure = test(property, candidate);
+                if (candidateFailure != null) {
+                    minimal = candidate;
+                    failure = candidateFailure;
+                    shrinks++;
+                    shrunk = true;
+                    break;
+                }
+            }
+        }
+        return new Result<>(seed, index + 1, index, original.generate(), minimal.generate(), failure, shrinks);
+    }
+
+    /**
+     * Run trials and fail, if property does not hold
+     *
+     * @param property property to check
+     * @throws AssertionError                if property failed, with a minimal counterexample in a message
+     * @throws ObjectInitializationException if inputs could not be generated
+     */
+    public void verify(@Nonnull @NonNull Predicate<? super T> property) {
+        Result<T> result = check(property);
+        if (!result.isPassed()) {
+            AssertionError error = new AssertionError(result.toString());
+            error.initCause(result.getFailure());
+            throw error;
+        }
+    }
+
+    private Trial trialOf(int index) {
+        SplittableRandom random = new SplittableRandom(seed + index * TRIAL_SEED_STEP);
+        return new Trial(random.nextInt(maxCollectionSize + 1), random.nextInt(maxNestingDepth + 1),
+                1 + random.nextLong(MAX_FIRST_VALUE));
+    }
+
+    /**
+     * Check property on input of a trial
+     *
+     * @return property failure, null if property holds
+     */
+    private Throwable test(Predicate<? super T> property, Trial trial) {
+        T input = trial.generate();
+        try {
+            return property.test(input) ? null : new AssertionError("Property returned false");
+        } catch (RuntimeException | AssertionError e) {
+            return e;
+        }
+    }
+
+    /**
+     * Generation parameters of a single input
+     */
+    private class Trial {
+        private final int collectionSize;
+        private final int nestingDepth;
+        private final long firstValue;
+
+        private Trial(int collectionSize, int nestingDepth, long firstValue) {
+            this.collectionSize = collectionSize;
+            this.nestingDepth = nestingDepth;
+            this.firstValue = firstValue;
+        }
+
+        private T generate() {
+            InitContext<T> trialContext = context.copy()
+                    .withCollectionSize(collectionSize)
+                    .withNestingDepth(nestingDepth)
+                    .withLazyFields(false)
+                    .withWorkspace(null);
+            return Unique.withSequence(firstValue, trialContext::generate);
+        }
+
+        /**
+         * Candidates, smaller than this trial in exactly one parameter, from the most aggressive ones
+         */
+        private List<Trial> smaller() {
+            List<Trial> candidates = new ArrayList<>();
+            IntStream.of(0, collectionSize / 2, collectionSize - 1)
+                    .filter(size -> size >= 0 && size < collectionSize)
+                    .distinct()
+                    .forEach(size -> candidates.add(new Trial(size, nestingDepth, firstValue)));
+            IntStream.of(0, nestingDepth / 2, nestingDepth - 1)
+                    .filter(depth -> depth >= 0 && depth < nestingDepth)
+                    .distinct()
+                    .forEach(depth -> candidates.add(new Trial(collectionSize, depth, firstValue)));
+            LongStream.of(1, firstValue / 2, firstValue - 1)
+                    .filter(value -> value >= 1 && value < firstValue)
+                    .distinct()
+                    .forEach(value -> candidates.add(new Trial(collectionSize, nestingDepth, value)));
+            return candidates;
+        }
+    }
+
+    /**
+     * Outcome of a property check
+     *
+     * @param <T> input type
+     */
+    public static class Result<T> {
+        @Getter
+        private final long seed;
+        /**
+         * Amount of trials up to and including the first failing one
+         */
+        @Getter
+        private final int trials;
+        /**
+         * Index of the first failing trial, negative if property holds
+         */
+        @Getter
+        private final int failedTrial;
+        /**
+         * Input of the first failing trial, before shrinking
+         */
+        @Getter
+        private final T originalCounterexample;
+        /**
+         * Smallest failing input, found by shrinking
+         */
+        @Getter
+        private final T counterexample;
+        /**
+         * Failure of a property on the smallest input
+         */
+        @Getter
+        private final Throwable failure;
+        /**
+         * Amount of successful shrink steps
+         */
+        @Getter
+        private final int shrinks;
+
+        private Result(long seed, int trials, int failedTrial, T originalCounterexample, T counterexample,
+                Throwable failure, int shrinks) {
+            this.seed = seed;
+            this.trials = trials;
+            this.failedTrial = failedTrial;
+            this.originalCounterexample = originalCounterexample;
+            this.counterexample = counterexample;
+            this.failure = failure;
+            this.shrinks = shrinks;
+        }
+
+        public boolean isPassed() {
+            return failedTrial < 0;
+        }
+
+        @Override
+        public String toString() {
+            if (isPassed()) {
+                return "Property held for " + trials + " trials with seed " + seed;
+            }
+            return "Property failed at trial " + failedTrial + " with seed " + seed + " after " + shrinks +
+                    " shrinks, counterexample <" + counterexample + ">, original <" + originalCounterexample +
+                    ">, failure : " + failure;
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package com.github.nginate.commons.testing;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enumerates strings, matching a regular expression. Pattern is compiled once into a tree of nodes, every node knows
+ * how many strings it produces, so n-th string is written straight into a char array by reading n as a number in
+ * mixed radix: sequences take digits from left to right, alternatives and repetitions pick a branch by range of n.
+ * Consecutive numbers give strings, that differ at the end, and shorter repetitions come first.
+ * <p>Supported subset: literals and escapes, character classes with ranges and negation, {@code .}, {@code \d},
+ * {@code \w}, {@code \s} and their negations, groups, alternation and greedy, lazy or possessive quantifiers. Anchors
+ * are ignored. Negated classes and {@code .} produce printable ASCII characters only. Unbounded quantifiers repeat at
+ * most {@value #MAX_EXTRA_REPEATS} times above their minimum. Back references and lookarounds are not supported.</p>
+ * <p>Different numbers give different strings only while every string has a single way to match the pattern. For
+ * ambiguous patterns, like {@code a?a?} or {@code (a|ab)(c|bc)}, several numbers may produce the same string, so
+ * {@link #count()} is an upper bound and values may repeat before it is reached.</p>
+ *
+ * @since 1.1
+ */
+final class RegexGenerator {
+    private static final Map<String, RegexGenerator> GENERATORS = new ConcurrentHashMap<>();
+    private static final int MAX_EXTRA_REPEATS = 8;
+    private static final int MAX_LENGTH = 1 << 16;
+    private static final char FIRST_PRINTABLE = ' ';
+    private static final char LAST_PRINTABLE = '~';
+
+    private final Node root;
+
+    private RegexGenerator(String regex) {
+        this.root = new Parser(regex).parse();
+        if (root.count == 0) {
+            throw new IllegalArgumentException("Pattern does not match any string : " + regex);
+        }
+        if (root.maxLength > MAX_LENGTH) {
+            throw new IllegalArgumentException("Pattern produces strings longer than " + MAX_LENGTH + " : " + regex);
+        }
+    }
+
+    /**
+     * Get compiled generator for a pattern
+     *
+     * @param regex pattern
+     * @return cached generator
+     * @throws IllegalArgumentException if pattern is not supported
+     */
+    static RegexGenerator of(String regex) {
+        RegexGenerator generator = GENERATORS.get(regex);
+        if (generator == null) {
+            generator = GENERATORS.computeIfAbsent(regex, RegexGenerator::new);
+        }
+        return generator;
+    }
+
+    /**
+     * Amount of enumerated strings, saturated at {@link Long#MAX_VALUE}. Exact for unambiguous patterns, upper bound of
+     * distinct strings otherwise.
+     */
+    long count() {
+        return root.count;
+    }
+
+    /**
+     * Get string for a unique long. Values beyond {@link #count()} wrap around.
+     *
+     * @param value non-negative value
+     * @return matching string
+     */
+    String generate(long value) {
+        long index = root.count == Long.MAX_VALUE ? value : value % root.count;
+        char[] chars = new char[root.maxLength];
+        int length = root.write(index, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    private static long add(long left, long right) {
+        long sum = left + right;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long multiply(long left, long right) {
+        if (left != 0 && right > Long.MAX_VALUE / left) {
+            return Long.MAX_VALUE;
+        }
+        return left * right;
+    }
+
+    private static int addLength(int left, int right) {
+        return (int) Math.min((long) left + right, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Part of a pattern, producing {@code count} strings of at most {@code maxLength} chars
+     */
+    private abstract static class Node {
+        final long count;
+        final int maxLength;
+
+        Node(long count, int maxLength) {
+            this.count = count;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Write string with given index
+         *
+         * @return position after written string
+         */
+        abstract int write(long index, char[] out, int position);
+    }
+
+    private static final class CharSet extends Node {
+        private final char[] chars;
+
+        private CharSet(char[] chars) {
+            super(chars.length, 1);
+            this.chars = chars;
+        }
+
+        @Override
+        int write(long index, char[] out, int position) {
+            out[position] = chars[(int) index];
+            return position + 1;
+        }
+    }
+
+    private static final class Sequence extends Node {
+        private final Node[] nodes;
+        /**
+         * Product of counts of all following nodes, weight of a digit in mixed radix
+         */
+        private final long[] weights;
+
+        private Sequence(Node[] nodes) {
+            super(countOf(nodes), lengthOf(nodes));
+            this.nodes = nodes;
+            this.weights = new long[nodes.length];
+            long weight = 1;
+            for (int i = nodes.length - 1; i >= 0; i--) {
+                weights[i] = weight;
+                weight = multiply(weight, nodes[i].count);
+            }
+        }
+
+        private static long countOf(Node[] nodes) {
+            long count = 1;
+            for (Node node : nodes) {
+                count = multiply(count, node.count);
+            }
+            return count;
+        }
+
+        private static int lengthOf(Node[] nodes) {
+            int length = 0;
+            for (Node node : nodes) {
+                length = addLength(length, node.maxLength);
+            }
+            return length;
+        }
+
+        @Override
+        int write(long index, char[] out, int position) {
+            for (int i = 0; i < nodes.length; i++) {
+                position = nodes[i].write(index / weights[i] % nodes[i].count, out, position);
+            }
+            return position;
+        }
+    }
+
+    private static final class Alternation extends Node {
+        private final Node[] branches;
+
+        private Alternation(Node[] branches) {
+            super(countOf(branches), lengthOf(branches));
+            this.branches = branches;
+        }
+
+        private static long countOf(Node[] branches) {
+            long count = 0;
+            for (Node branch : branches) {
+                count = add(count, branch.count);
+            }
+            return count;
+        }
+
+        private static int lengthOf(Node[] branches) {
+            int length = 0;
+            for (Node branch : branches) {
+                length = Math.max(length, branch.maxLength);
+            }
+            return length;
+        }
+
+        @Override
+        int write(long index, char[] out, int position) {
+            for (Node branch : branches) {
+                if (index < branch.count) {
+                    return branch.write(index, out, position);
+                }
+                index -= branch.count;
+            }
+            throw new IllegalStateException("Index is out of range : " + index);
+        }
+    }
+
+    private static final class Repeat extends Node {
+        private final Node node;
+        private final int min;
+        private final int max;
+        /**
+         * Amount of strings of node repeated k times, for k from 0 to max
+         */
+        private final long[] powers;
+
+        private Repeat(Node node, int min, int max, long[] powers) {
+            super(countOf(powers, min, max), (int) Math.min((long) node.maxLength * max, Integer.MAX_VALUE));
+            this.node = node;
+            this.min = min;
+            this.max = max;
+            this.powers = powers;
+        }
+
+        private static Repeat of(Node node, int min, int max) {
+            long[] powers = new long[max + 1];
+            powers[0] = 1;
+            for (int i = 1; i <= max; i++) {
+                powers[i] = multiply(powers[i - 1], node.count);
+            }
+            return new Repeat(node, min, max, powers);
+        }
+
+        private static long countOf(long[] powers, int min, int max) {
+            long count = 0;
+            for (int i = min; i <= max; i++) {
+                count = add(count, powers[i]);
+            }
+            return count;
+        }
+
+        @Override
+        int write(long index, char[] out, int position) {
+            for (int repeats = min; repeats <= max; repeats++) {
+                if (index < powers[repeats]) {
+                    for (int i = repeats - 1; i >= 0; i--) {
+                        position = node.write(index / powers[i] % node.count, out, position);
+                    }
+                    return position;
+                }
+                index -= powers[repeats];
+            }
+            throw new IllegalStateException("Index is out of range : " + index);
+        }
+    }
+
+    /**
+     * Recursive descent parser of supported pattern subset
+     */
+    private static final class Parser {
+        private final String regex;
+        private int position;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        private Node parse() {
+            Node node = alternation();
+            if (position < regex.length()) {
+                throw unsupported("unbalanced parenthesis");
+            }
+            return node;
+        }
+
+        private Node alternation() {
+            List<Node> branches = new ArrayList<>();
+            branches.add(sequence());
+            while (peek('|')) {
+                position++;
+                branches.add(sequence());
+            }
+            return branches.size() == 1 ? branches.get(0) : new Alternation(branches.toArray(new Node[0]));
+        }
+
+        private Node sequence() {
+            List<Node> nodes = new ArrayList<>();
+            while (position < regex.length() && !peek('|') && !peek(')')) {
+                Node atom = atom();
+                if (atom != null) {
+                    nodes.add(quantifier(atom));
+                }
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Sequence(nodes.toArray(new Node[0]));
+        }
+
+        /**
+         * @return parsed atom, null for anchors
+         */
+        private Node atom() {
+            char c = regex.charAt(position++);
+            switch (c) {
+                case '(':
+                    if (regex.startsWith("?:", position)) {
+                        position += 2;
+                    } else if (peek('?')) {
+                        throw unsupported("lookaround or inline flags");
+                    }
+                    Node group = alternation();
+                    if (!peek(')')) {
+                        throw unsupported("unclosed group");
+                    }
+                    position++;
+                    return group;
+                case '[':
+                    return new CharSet(charClass());
+                case '.':
+                    return new CharSet(toChars(printable()));
+                case '\\':
+                    BitSet escaped = escape(false);
+                    return new CharSet(toChars(escaped));
+                case '^':
+                case '$':
+                    return null;
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw unsupported("dangling quantifier");
+                default:
+                    return new CharSet(new char[]{c});
+            }
+        }
+
+        private Node quantifier(Node atom) {
+            if (position >= regex.length()) {
+                return atom;
+            }
+            int min;
+            int max;
+            char c = regex.charAt(position);
+            if (c == '*') {
+                min = 0;
+                max = MAX_EXTRA_REPEATS;
+            } else if (c == '+') {
+                min = 1;
+                max = 1 + MAX_EXTRA_REPEATS;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+            } else if (c == '{') {
+                int end = regex.indexOf('}', position);
+                if (end < 0) {
+                    throw unsupported("unclosed quantifier");
+                }
+                String[] bounds = regex.substring(position + 1, end).split(",", -1);
+                try {
+                    min = Integer.parseInt(bounds[0].trim());
+                    max = bounds.length == 1 ? min : bounds[1].trim().isEmpty() ? min + MAX_EXTRA_REPEATS
+                            : Integer.parseInt(bounds[1].trim());
+                } catch (NumberFormatException e) {
+                    throw unsupported("malformed quantifier");
+                }
+                if (bounds.length > 2 || min < 0 || max < min) {
+                    throw unsupported("malformed quantifier");
+                }
+                position = end;
+            } else {
+                return atom;
+            }
+            position++;
+            if (peek('?') || peek('+')) {
+                // lazy and possessive quantifiers match the same strings
+                position++;
+            }
+            return Repeat.of(atom, min, max);
+        }
+
+        private char[] charClass() {
+            boolean negated = peek('^');
+            if (negated) {
+                position++;
+            }
+            BitSet chars = new BitSet();
+            boolean first = true;
+            while (true) {
+                if (position >= regex.length()) {
+                    throw unsupported("unclosed character class");
+                }
+                char c = regex.charAt(position++);
+                if (c == ']' && !first) {
+                    break;
+                }
+                first = false;
+                if (c == '[' || c == '&' && peek('&')) {
+                    throw unsupported("nested character class");
+                }
+                if (c == '\\') {
+                    BitSet escaped = escape(true);
+                    if (escaped.cardinality() != 1 || !peek('-')) {
+                        chars.or(escaped);
+                        continue;
+                    }
+                    c = (char) escaped.nextSetBit(0);
+                }
+                if (peek('-') && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                    position++;
+                    char last = regex.charAt(position++);
+                    if (last == '\\') {
+                        last = (char) escape(true).nextSetBit(0);
+                    }
+                    if (last < c) {
+                        throw unsupported("illegal character range");
+                    }
+                    chars.set(c, last + 1);
+                } else {
+                    chars.set(c);
+                }
+            }
+            if (negated) {
+                BitSet printable = printable();
+                printable.andNot(chars);
+                chars = printable;
+            }
+            return toChars(chars);
+        }
+
+        /**
+         * Parse escape after a backslash
+         *
+         * @param inClass true if escape is inside a character class
+         * @return escaped characters
+         */
+        private BitSet escape(boolean inClass) {
+            if (position >= regex.length()) {
+                throw unsupported("trailing backslash");
+            }
+            char c = regex.charAt(position++);
+            BitSet chars = new BitSet();
+            switch (c) {
+                case 'd':
+                case 'w':
+                case 's':
+                    return shorthand(c);
+                case 'D':
+                case 'W':
+                case 'S':
+                    BitSet printable = printable();
+                    printable.andNot(shorthand(Character.toLowerCase(c)));
+                    return printable;
+                case 't':
+                    chars.set('\t');
+                    return chars;
+                case 'n':
+                    chars.set('\n');
+                    return chars;
+                case 'r':
+                    chars.set('\r');
+                    return chars;
+                case 'f':
+                    chars.set('\f');
+                    return chars;
+                case 'x':
+                    chars.set(hex(2));
+                    return chars;
+                case 'u':
+                    chars.set(hex(4));
+                    return chars;
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        throw unsupported("escape \\" + c + (inClass ? " in character class" : ""));
+                    }
+                    chars.set(c);
+                    return chars;
+            }
+        }
+
+        private int hex(int digits) {
+            if (position + digits > regex.length()) {
+                throw unsupported("malformed escape");
+            }
+            try {
+                int value = Integer.parseInt(regex.substring(position, position + digits), 16);
+                position += digits;
+                return value;
+            } catch (NumberFormatException e) {
+                throw unsupported("malformed escape");
+            }
+        }
+
+        private boolean peek(char c) {
+            return position < regex.length() && regex.charAt(position) == c;
+        }
+
+        private IllegalArgumentException unsupported(String construct) {
+            return new IllegalArgumentException("Unsupported pattern, " + construct + " at " + position + " : " +
+                    regex);
+        }
+    }
+
+    /**
+     * Characters of {@code \d}, {@code \w} or {@code \s} class
+     */
+    private static BitSet shorthand(char name) {
+        BitSet chars = new BitSet();
+        if (name == 'd') {
+            chars.set('0', '9' + 1);
+        } else if (name == 'w') {
+            chars.set('a', 'z' + 1);
+            chars.set('A', 'Z' + 1);
+            chars.set('0', '9' + 1);
+            chars.set('_');
+        } else {
+            chars.set(' ');
+        }
+        return chars;
+    }
+
+    private static BitSet printable() {
+        BitSet chars = new BitSet();
+        chars.set(FIRST_PRINTABLE, LAST_PRINTABLE + 1);
+        return chars;
+    }
+
+    private static char[] toChars(BitSet set) {
+        char[] chars = new char[set.cardinality()];
+        int index = 0;
+        for (int c = set.nextSetBit(0); c >= 0; c = set.nextSetBit(c + 1)) {
+            chars[index++] = (char) c;
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,308 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.Initializer.InitContext;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs actors on several threads, released simultaneously, and collects histogram of their outcomes. Every thread
+ * generates its inputs before release, taking unique values from blocks, {@link Unique#withReservedBlocks(int,
+ * Supplier) reserved} by this thread, so threads neither contend on shared generators nor receive equal inputs.
+ * Outcomes are counted per thread and merged once all threads finish, so bookkeeping does not interfere with the race.
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     StressRunner.Result result = StressRunner.of(uniqueObject(Order.class))
+ *          .withIterations(10_000)
+ *          .withActor(4, order -> queue.offer(order) ? "offered" : "rejected")
+ *          .withActor(4, order -> queue.poll() != null ? "polled" : "empty")
+ *          .run();
+ *
+ *     assertThat(result).has(noFailures()).has(outcomeCount("offered", 40_000));
+ *  }
+ * </pre>
+ *
+ * @param <I> input type
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class StressRunner<I> {
+    private static final int DEFAULT_ITERATIONS = 1000;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 60;
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final Supplier<I> inputs;
+    private final List<Function<? super I, ?>> actors = new ArrayList<>();
+    private int iterations = DEFAULT_ITERATIONS;
+    private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECONDS);
+
+    private StressRunner(Supplier<I> inputs) {
+        this.inputs = inputs;
+    }
+
+    /**
+     * Create runner with inputs from a supplier
+     *
+     * @param inputs input generator, called by every thread before release
+     * @param <I>    input type
+     * @return runner without actors
+     */
+    public static <I> StressRunner<I> of(@Nonnull @NonNull Supplier<I> inputs) {
+        return new StressRunner<>(inputs);
+    }
+
+    /**
+     * Create runner with generated objects as inputs
+     *
+     * @param context generation context
+     * @param <I>     input type
+     * @return runner without actors
+     */
+    public static <I> StressRunner<I> of(@Nonnull @NonNull InitContext<I> context) {
+        return new StressRunner<>(context::generate);
+    }
+
+    /**
+     * Create runner with iteration indices as inputs
+     *
+     * @return runner without actors
+     */
+    public static StressRunner<Integer> indexed() {
+        return new StressRunner<>(null);
+    }
+
+    /**
+     * Add actor, run by given amount of threads
+     *
+     * @param threads amount of threads
+     * @param actor   action on an input, returning its outcome
+     * @return same runner
+     */
+    public StressRunner<I> withActor(int threads, @Nonnull @NonNull Function<? super I, ?> actor) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads amount should be positive : " + threads);
+        }
+        for (int i = 0; i < threads; i++) {
+            actors.add(actor);
+        }
+        return this;
+    }
+
+    /**
+     * Set amount of actor invocations per thread
+     *
+     * @param iterations invocations per thread
+     * @return same runner
+     */
+    public StressRunner<I> withIterations(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations amount should be positive : " + iterations);
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    public StressRunner<I> withTimeout(long timeout, @Nonnull @NonNull TimeUnit unit) {
+        this.timeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Run all actors and wait for them to finish
+     *
+     * @return collected outcomes
+     * @throws IllegalStateException         if threads did not finish in time
+     * @throws ObjectInitializationException if inputs could not be generated
+     */
+    public Result run() {
+        if (actors.isEmpty()) {
+            throw new IllegalStateException("No actors to run");
+        }
+
+        CountDownLatch ready = new CountDownLatch(actors.size());
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(actors.size());
+        List<Worker> workers = new ArrayList<>(actors.size());
+        for (int i = 0; i < actors.size(); i++) {
+            Worker worker = new Worker(actors.get(i), ready, start, done);
+            workers.add(worker);
+            worker.setName("stress-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        try {
+            long deadline = System.nanoTime() + timeoutNanos;
+            ready.await(timeoutNanos, TimeUnit.NANOSECONDS);
+            long started = System.nanoTime();
+            start.countDown();
+            if (!done.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                workers.forEach(Thread::interrupt);
+                throw new IllegalStateException("Stress run did not finish in " +
+                        TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+            }
+            for (Worker worker : workers) {
+                if (worker.inputFailure != null) {
+                    throw new ObjectInitializationException("Could not generate stress inputs", worker.inputFailure);
+                }
+            }
+            long finished = workers.stream().mapToLong(worker -> worker.finished).max().orElse(started);
+            return merge(workers, finished - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(Thread::interrupt);
+            throw new IllegalStateException("Stress run interrupted", e);
+        }
+    }
+
+    private Result merge(List<Worker> workers, long elapsedNanos) {
+        Map<Object, Long> histogram = new LinkedHashMap<>();
+        List<Throwable> failures = new ArrayList<>();
+        long failureCount = 0;
+        for (Worker worker : workers) {
+            worker.outcomes.forEach((outcome, count) -> histogram.merge(outcome, count[0], Long::sum));
+            failureCount += worker.failureCount;
+            for (Throwable failure : worker.failures) {
+                if (failures.size() < MAX_REPORTED_FAILURES) {
+                    failures.add(failure);
+                }
+            }
+        }
+        return new Result((long) iterations * workers.size(), elapsedNanos, histogram, failureCount, failures);
+    }
+
+    private class Worker extends Thread {
+        private final Function<? super I, ?> actor;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final CountDownLatch done;
+        private final Map<Object, long[]> outcomes = new HashMap<>();
+        private final List<Throwable> failures = new ArrayList<>();
+        private long failureCount;
+        private volatile long finished;
+        private volatile RuntimeException inputFailure;
+
+        private Worker(Function<? super I, ?> actor, CountDownLatch ready, CountDownLatch start,
+                CountDownLatch done) {
+            this.actor = actor;
+            this.ready = ready;
+            this.start = start;
+            this.done = done;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            Object[] values = new Object[iterations];
+            try {
+                if (inputs != null) {
+                    Unique.withReservedBlocks(iterations, () -> {
+                        for (int i = 0; i < iterations; i++) {
+                            values[i] = inputs.get();
+                        }
+                        return null;
+                    });
+                }
+            } catch (RuntimeException e) {
+                inputFailure = e;
+                ready.countDown();
+                done.countDown();
+                return;
+            }
+
+            try {
+                ready.countDown();
+                start.await();
+
+                for (int i = 0; i < iterations; i++) {
+                    I input = inputs == null ? (I) Integer.valueOf(i) : (I) values[i];
+                    try {
+                        Object outcome = actor.apply(input);
+                        outcomes.computeIfAbsent(outcome, key -> new long[1])[0]++;
+                    } catch (RuntimeException | AssertionError e) {
+                        failureCount++;
+                        if (failures.size() < MAX_REPORTED_FAILURES) {
+                            failures.add(e);
+                        }
+                    }
+                }
+                finished = System.nanoTime();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    /**
+     * Collected outcomes of a stress run
+     */
+    public static class Result {
+        /**
+         * Total amount of actor invocations
+         */
+        @Getter
+        private final long invocations;
+        /**
+         * Time from threads release to the last thread finish
+         */
+        @Getter
+        private final long elapsedNanos;
+        /**
+         * Amount of invocations per outcome, null outcome included
+         */
+        @Getter
+        private final Map<Object, Long> histogram;
+        @Getter
+        private final long failureCount;
+        /**
+         * Sample of exceptions, thrown by actors
+         */
+        @Getter
+        private final List<Throwable> failures;
+
+        private Result(long invocations, long elapsedNanos, Map<Object, Long> histogram, long failureCount,
+                List<Throwable> failures) {
+            this.invocations = invocations;
+            this.elapsedNanos = elapsedNanos;
+            this.histogram = Collections.unmodifiableMap(histogram);
+            this.failureCount = failureCount;
+            this.failures = Collections.unmodifiableList(failures);
+        }
+
+        public long getCount(Object outcome) {
+            return histogram.getOrDefault(outcome, 0L);
+        }
+
+        /**
+         * Get throughput of all threads together
+         *
+         * @return invocations per second
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? Double.POSITIVE_INFINITY :
+                    invocations * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d invocations in %.3f ms (%.0f ops/s), outcomes %s, %d failures%s",
+                    invocations, elapsedNanos / 1e6, getThroughput(), histogram, failureCount,
+                    failures.isEmpty() ? "" : " " + failures);
+        }
+    }
+}
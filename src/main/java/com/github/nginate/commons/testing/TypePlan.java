@@ -0,0 +1,259 @@
+package com.github.nginate.commons.testing;
+
+import com.google.common.primitives.Primitives;
+import com.google.common.reflect.TypeToken;
+import lombok.Getter;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.googlecode.gentyref.GenericTypeReflector.getExactFieldType;
+import static java.lang.reflect.Modifier.isAbstract;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.lang.reflect.Modifier.isTransient;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Result of type introspection, shared by all generation contexts. Resolving generation strategy with type token
+ * comparisons and reflective field lookups is the most expensive part of object generation, so it is done once per
+ * type.
+ *
+ * @since 1.1
+ */
+final class TypePlan {
+    private static final Map<TypeToken<?>, TypePlan> PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * Simple values, generated even if nesting depth is exceeded
+     */
+    private static final Map<Class<?>, Supplier<Object>> UNBOUNDED_VALUES = new LinkedHashMap<>();
+    /**
+     * Simple values, that are left null if nesting depth is exceeded
+     */
+    private static final Map<Class<?>, Supplier<Object>> BOUNDED_VALUES = new LinkedHashMap<>();
+    /**
+     * Directory of generated {@link File} and {@link Path} values, neither it nor the values are created on disk
+     */
+    private static final Path GENERATED_PATHS_ROOT = Paths.get(System.getProperty("java.io.tmpdir"), "fixtures");
+
+    static {
+        UNBOUNDED_VALUES.put(Short.class, Unique::uniqueShort);
+        UNBOUNDED_VALUES.put(Integer.class, Unique::uniqueInteger);
+        UNBOUNDED_VALUES.put(Long.class, Unique::uniqueLong);
+        UNBOUNDED_VALUES.put(Double.class, Unique::uniqueDouble);
+        UNBOUNDED_VALUES.put(String.class, Unique::uniqueString);
+        UNBOUNDED_VALUES.put(Character.class, Unique::uniqueCharacter);
+        UNBOUNDED_VALUES.put(Boolean.class, Unique::uniqueBoolean);
+        UNBOUNDED_VALUES.put(Float.class, Unique::uniqueFloat);
+        UNBOUNDED_VALUES.put(Byte.class, Unique::uniqueByte);
+
+        BOUNDED_VALUES.put(Date.class, Unique::uniqueDate);
+        BOUNDED_VALUES.put(Instant.class, Unique::uniqueInstant);
+        BOUNDED_VALUES.put(BigDecimal.class, Unique::uniqueBigDecimal);
+        BOUNDED_VALUES.put(BigInteger.class, Unique::uniqueBigInteger);
+        BOUNDED_VALUES.put(UUID.class, Unique::uniqueUUID);
+        BOUNDED_VALUES.put(File.class, () -> generatedPath().toFile());
+        BOUNDED_VALUES.put(Path.class, TypePlan::generatedPath);
+    }
+
+    enum Kind {
+        /**
+         * Primitives, boxed primitives, strings and other simple values, generated with {@link Unique}
+         */
+        VALUE,
+        ARRAY,
+        COLLECTION,
+        MAP,
+        /**
+         * Interface or abstract class, that should be resolved with context mappings
+         */
+        ABSTRACT,
+        /**
+         * Parametrized type, that is neither collection nor map
+         */
+        UNSUPPORTED,
+        /**
+         * Class to instantiate and fill fields of
+         */
+        BEAN
+    }
+
+    @Getter
+    private final TypeToken<?> type;
+    @Getter
+    private final Kind kind;
+    /**
+     * True if value should not be generated when nesting depth is exceeded
+     */
+    @Getter
+    private final boolean depthBounded;
+    private final Supplier<Object> valueGenerator;
+    /**
+     * Name of {@link Unique} generator for simple values, type name for others
+     */
+    @Getter
+    private final String generatorName;
+    private volatile List<FieldPlan> fields;
+
+    private TypePlan(TypeToken<?> type, Kind kind, boolean depthBounded, Supplier<Object> valueGenerator) {
+        this(type, kind, depthBounded, valueGenerator, type.toString());
+    }
+
+    private TypePlan(TypeToken<?> type, Kind kind, boolean depthBounded, Supplier<Object> valueGenerator,
+            String generatorName) {
+        this.type = type;
+        this.kind = kind;
+        this.depthBounded = depthBounded;
+        this.valueGenerator = valueGenerator;
+        this.generatorName = generatorName;
+    }
+
+    private static Path generatedPath() {
+        return GENERATED_PATHS_ROOT.resolve(Unique.uniqueString());
+    }
+
+    static TypePlan of(TypeToken<?> type) {
+        TypePlan plan = PLANS.get(type);
+        if (plan == null) {
+            plan = PLANS.computeIfAbsent(type, TypePlan::resolve);
+        }
+        return plan;
+    }
+
+    static TypePlan of(Class<?> type) {
+        return of(TypeToken.of(type));
+    }
+
+    /**
+     * Generate simple value
+     *
+     * @return unique value
+     * @throws IllegalStateException if plan is not for a {@link Kind#VALUE value} type
+     */
+    Object newValue() {
+        if (valueGenerator == null) {
+            throw new IllegalStateException("Not a simple value type : " + type);
+        }
+        return valueGenerator.get();
+    }
+
+    /**
+     * Get fields to generate values for
+     *
+     * @return non-static non-transient fields including inherited ones, accessible for reflective calls
+     */
+    List<FieldPlan> getFields() {
+        List<FieldPlan> result = fields;
+        if (result == null) {
+            Class<?> rawType = type.getRawType();
+            result = Collections.unmodifiableList(stream(FieldUtils.getAllFields(rawType))
+                    .filter(field -> !isStatic(field.getModifiers()) && !isTransient(field.getModifiers()))
+                    .map(field -> new FieldPlan(field, TypeToken.of(getExactFieldType(field, rawType))))
+                    .collect(toList()));
+            fields = result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypePlan resolve(TypeToken<?> type) {
+        Class<?> rawType = type.getRawType();
+        if (type.isPrimitive()) {
+            return new TypePlan(type, Kind.VALUE, false, () -> NPrimitives.createUnique(rawType),
+                    uniqueGeneratorName(Primitives.wrap(rawType)));
+        }
+
+        Optional<Map.Entry<Class<?>, Supplier<Object>>> unbounded = findValueGenerator(UNBOUNDED_VALUES, type);
+        if (unbounded.isPresent()) {
+            return new TypePlan(type, Kind.VALUE, false, unbounded.get().getValue(),
+                    uniqueGeneratorName(unbounded.get().getKey()));
+        }
+
+        if (rawType.isEnum()) {
+            Object constant = rawType.getEnumConstants()[0];
+            return new TypePlan(type, Kind.VALUE, true, () -> constant, "enumConstant");
+        }
+
+        Optional<Map.Entry<Class<?>, Supplier<Object>>> bounded = findValueGenerator(BOUNDED_VALUES, type);
+        if (bounded.isPresent()) {
+            return new TypePlan(type, Kind.VALUE, true, bounded.get().getValue(),
+                    generatorName(bounded.get().getKey()));
+        }
+
+        if (type.isArray()) {
+            return new TypePlan(type, Kind.ARRAY, true, null);
+        }
+
+        if (type.getType() instanceof ParameterizedType) {
+            if (TypeToken.of(Collection.class).isSupertypeOf(type)) {
+                return new TypePlan(type, Kind.COLLECTION, true, null);
+            }
+            if (TypeToken.of(Map.class).isSupertypeOf(type)) {
+                return new TypePlan(type, Kind.MAP, true, null);
+            }
+            return new TypePlan(type, Kind.UNSUPPORTED, true, null);
+        }
+
+        if (rawType.isInterface() || isAbstract(rawType.getModifiers())) {
+            return new TypePlan(type, Kind.ABSTRACT, true, null);
+        }
+
+        if (rawType.equals(Object.class)) {
+            return new TypePlan(type, Kind.VALUE, true, Unique::uniqueLong, uniqueGeneratorName(Long.class));
+        }
+
+        return new TypePlan(type, Kind.BEAN, true, null);
+    }
+
+    private static Optional<Map.Entry<Class<?>, Supplier<Object>>> findValueGenerator(
+            Map<Class<?>, Supplier<Object>> generators, TypeToken<?> type) {
+        return generators.entrySet().stream()
+                .filter(entry -> TypeToken.of(entry.getKey()).isSupertypeOf(type))
+                .findFirst();
+    }
+
+    private static String generatorName(Class<?> valueType) {
+        return File.class.equals(valueType) || Path.class.equals(valueType)
+                ? "workspace" + valueType.getSimpleName()
+                : uniqueGeneratorName(valueType);
+    }
+
+    private static String uniqueGeneratorName(Class<?> valueType) {
+        return "unique" + valueType.getSimpleName();
+    }
+
+    /**
+     * Single field of a {@link Kind#BEAN bean} type
+     */
+    @Getter
+    static final class FieldPlan {
+        private final Field field;
+        private final TypeToken<?> type;
+        /**
+         * Bean Validation constraints, null if field has none
+         */
+        private final FieldConstraints constraints;
+
+        private FieldPlan(Field field, TypeToken<?> type) {
+            this.field = field;
+            this.type = type;
+            this.constraints = FieldConstraints.of(field);
+            field.setAccessible(true);
+        }
+
+        String getName() {
+            return field.getName();
+        }
+    }
+}
@@ -18,11 +18,11 @@ import java.math.BigInteger;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.StringUtils.overlay;
 
@@ -39,19 +39,99 @@ import static org.apache.commons.lang3.StringUtils.overlay;
 public class Unique {
     private static final long initMillis = System.currentTimeMillis();
     private static final AtomicLong idCounter = new AtomicLong();
-    private static final Iterator<Character> randomCharGenerator =
-            getCharsStream(Pair.of('a', 'z'), Pair.of('A', 'Z'), Pair.of('0', '9')).iterator();
+    private static final ThreadLocal<ReservedBlock> reservedBlocks = new ThreadLocal<>();
+    private static final char[] validChars = getChars(Pair.of('a', 'z'), Pair.of('A', 'Z'), Pair.of('0', '9'));
     private static final String UUID_TEMPLATE = "00000000000000000000000000000000";
 
     /**
-     * Generate unique long. Uses plain output of atomic counter. Produces values greater than 0.
+     * Generate unique long. Uses plain output of atomic counter or next value of a block, reserved by current thread.
+     * Produces values greater than 0.
      *
      * @return unique long
      * @see AtomicLong#incrementAndGet()
+     * @see Unique#withReservedBlocks(int, Supplier)
      */
     @Nonnull
     public static Long uniqueLong() {
-        return idCounter.incrementAndGet();
+        return nextId();
+    }
+
+    /**
+     * Primitive form of {@link Unique#uniqueLong()} for callers, that should not box values
+     */
+    static long nextId() {
+        ReservedBlock block = reservedBlocks.get();
+        return block == null ? idCounter.incrementAndGet() : block.next();
+    }
+
+    /**
+     * Reserve a range of unique longs. Values of this range will never be returned by other generators.
+     *
+     * @param amount amount of values to reserve
+     * @return first value of reserved range, range is [first, first + amount)
+     */
+    public static long reserve(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount to reserve should be positive : " + amount);
+        }
+        Object event = FlightEvents.RESERVATION.begin();
+        long first = idCounter.getAndAdd(amount) + 1;
+        if (event != null) {
+            FlightEvents.RESERVATION.commit(event, first, amount);
+        }
+        return first;
+    }
+
+    /**
+     * Run task with all unique values of current thread taken from blocks, reserved by this thread. Once block is
+     * exhausted, next one is reserved. This way parallel generation does not contend on a shared counter and every
+     * thread owns disjoint ranges of values.
+     *
+     * @param blockSize amount of values to reserve at once
+     * @param task      task to run
+     * @param <R>       task result type
+     * @return task result
+     * @see Unique#reserve(long)
+     */
+    public static <R> R withReservedBlocks(int blockSize, @Nonnull Supplier<R> task) {
+        ReservedBlock previous = reservedBlocks.get();
+        reservedBlocks.set(new ReservedBlock(blockSize));
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                reservedBlocks.remove();
+            } else {
+                reservedBlocks.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Run task with all unique values of current thread taken from a private sequence, starting with a given value.
+     * Values of this sequence are not reserved, so they are unique only within the task, but the same first value
+     * always produces the same values. Used to reproduce generated objects.
+     *
+     * @param first first value of a sequence, positive
+     * @param task  task to run
+     * @param <R>   task result type
+     * @return task result
+     */
+    static <R> R withSequence(long first, Supplier<R> task) {
+        if (first <= 0) {
+            throw new IllegalArgumentException("First value should be positive : " + first);
+        }
+        ReservedBlock previous = reservedBlocks.get();
+        reservedBlocks.set(new ReservedBlock(first, Long.MAX_VALUE));
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                reservedBlocks.remove();
+            } else {
+                reservedBlocks.set(previous);
+            }
+        }
     }
 
     /**
@@ -63,7 +143,10 @@ public class Unique {
      */
     @Nonnull
     public static Double uniqueDouble() {
-        long value = uniqueLong();
+        return doubleOf(uniqueLong());
+    }
+
+    static double doubleOf(long value) {
         String stringValue = String.valueOf(value);
 
         StringBuilder fractionalBuilder = new StringBuilder(stringValue);
@@ -86,7 +169,11 @@ public class Unique {
      */
     @Nonnull
     public static Float uniqueFloat() {
-        return uniqueDouble().floatValue();
+        return floatOf(uniqueLong());
+    }
+
+    static float floatOf(long value) {
+        return (float) doubleOf(value);
     }
 
     /**
@@ -98,7 +185,10 @@ public class Unique {
      */
     @Nonnull
     public static Short uniqueShort() {
-        long value = uniqueLong();
+        return shortOf(uniqueLong());
+    }
+
+    static short shortOf(long value) {
         return (short) (value ^ (value >>> 48));
     }
 
@@ -111,7 +201,11 @@ public class Unique {
      */
     @Nonnull
     public static Integer uniqueInteger() {
-        return Long.hashCode(uniqueLong());
+        return integerOf(uniqueLong());
+    }
+
+    static int integerOf(long value) {
+        return Long.hashCode(value);
     }
 
     /**
@@ -123,17 +217,104 @@ public class Unique {
      */
     @Nonnull
     public static String uniqueString() {
-        return "testValue" + uniqueLong();
+        return stringOf(uniqueLong());
+    }
+
+    static String stringOf(long value) {
+        return "testValue" + value;
     }
 
     /**
-     * Generate almost unique character from latin chars and digits.
+     * Generate unique string, matching a regular expression. Pattern is compiled once and cached, then strings are
+     * enumerated in order of unique longs, so they are unique until all matching strings are used and then repeat.
+     * This holds for unambiguous patterns only: when a string matches a pattern in several ways, like {@code aa} does
+     * for {@code a?a?}, it is produced once per way, so values may repeat earlier. Supports literals, character
+     * classes, groups, alternation and quantifiers; unbounded quantifiers produce at most 8 extra repetitions.
+     *
+     * @param regex pattern to match
+     * @return unique matching string
+     * @throws IllegalArgumentException if pattern uses back references, lookarounds or other unsupported constructs
+     */
+    @Nonnull
+    public static String uniqueMatching(@Nonnull String regex) {
+        return RegexGenerator.of(regex).generate(nextId());
+    }
+
+    /**
+     * Generate unique string with a given hash code. Strings are made of colliding blocks and a prefix, chosen for the
+     * hash code, so any amount of them falls into the same bucket of a hash table. Use to check, that hash based code
+     * degrades gracefully under hash flooding.
+     *
+     * @param hashCode hash code of all generated strings
+     * @return unique string
+     * @see String#hashCode()
+     */
+    @Nonnull
+    public static String uniqueStringWithHash(int hashCode) {
+        return HashCollisions.stringOf(hashCode, nextId());
+    }
+
+    /**
+     * Generate unique string, colliding with other strings of a bucket only in the lowest bits of a hash code. Such
+     * strings fall into the same bucket of a {@link java.util.HashMap} of up to 2^bits buckets, taking its hash
+     * spreading into account, but have different hash codes, so they are not found by comparing full hash codes.
+     *
+     * @param bucket bucket index, only lowest bits are used
+     * @param bits   amount of colliding bits in [1, 16]
+     * @return unique string
+     */
+    @Nonnull
+    public static String uniqueStringInBucket(int bucket, int bits) {
+        if (bits < 1 || bits > 16) {
+            throw new IllegalArgumentException("Colliding bits should be in [1, 16] : " + bits);
+        }
+        return HashCollisions.bucketStringOf(bucket, bits, nextId());
+    }
+
+    /**
+     * Generate unique composite key of two longs with a given hash code. Unlike strings, composite keys are not
+     * comparable, so hash maps can not order colliding keys in tree bins.
+     *
+     * @param hashCode hash code of all generated keys
+     * @return unique unmodifiable list of two longs
+     * @see List#hashCode()
+     */
+    @Nonnull
+    public static List<Long> uniqueKeyWithHash(int hashCode) {
+        return HashCollisions.keyOf(hashCode, nextId());
+    }
+
+    /**
+     * String of a given length for a unique long. Uses plain {@link #stringOf(long) form} if it fits, otherwise writes
+     * value in base of latin chars and digits, padded with leading chars. Values, that do not fit into length, wrap
+     * around.
+     */
+    static String stringOf(long value, int length) {
+        String plain = stringOf(value);
+        if (plain.length() == length) {
+            return plain;
+        }
+        char[] chars = new char[length];
+        long rest = value;
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = validChars[(int) Long.remainderUnsigned(rest, validChars.length)];
+            rest = Long.divideUnsigned(rest, validChars.length);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Generate almost unique character from latin chars and digits. Cycles through available chars with unique long.
      *
      * @return unique char
      */
     @Nonnull
     public static Character uniqueCharacter() {
-        return randomCharGenerator.next();
+        return characterOf(uniqueLong());
+    }
+
+    static char characterOf(long value) {
+        return validChars[(int) (value % validChars.length)];
     }
 
     /**
@@ -143,7 +324,11 @@ public class Unique {
      * @see Unique#initMillis
      */
     public static long uniqueMillis() {
-        return initMillis + uniqueLong() * 1000;
+        return millisOf(uniqueLong());
+    }
+
+    static long millisOf(long value) {
+        return initMillis + value * 1000;
     }
 
     /**
@@ -176,7 +361,11 @@ public class Unique {
      */
     @Nonnull
     public static Boolean uniqueBoolean() {
-        return uniqueLong() % 2 == 1;
+        return booleanOf(uniqueLong());
+    }
+
+    static boolean booleanOf(long value) {
+        return value % 2 == 1;
     }
 
     /**
@@ -189,8 +378,107 @@ public class Unique {
      */
     @Nonnull
     public static Byte uniqueByte() {
-        short value = uniqueShort();
-        return (byte) (value ^ (value >>> 8));
+        return byteOf(uniqueLong());
+    }
+
+    static byte byteOf(long value) {
+        short shortValue = shortOf(value);
+        return (byte) (shortValue ^ (shortValue >>> 8));
+    }
+
+    /**
+     * Generate unique long in pseudo-random order. Counter value is mapped through a fixed permutation of positive
+     * longs, so values never collide, but sorted, tree and hash structures do not get sequential keys. Produces values
+     * greater than 0.
+     *
+     * @return unique long
+     * @see Unique#unscrambleLong(long)
+     */
+    @Nonnull
+    public static Long scrambledLong() {
+        return Scrambler.scramblePositive(nextId());
+    }
+
+    /**
+     * Map value of {@link Unique#scrambledLong()} back to the counter value, it was generated from
+     *
+     * @param scrambled positive generated value
+     * @return counter value
+     */
+    public static long unscrambleLong(long scrambled) {
+        return Scrambler.unscramblePositive(scrambled);
+    }
+
+    /**
+     * Generate unique int in pseudo-random order. Lowest 32 bits of counter value are mapped through a fixed
+     * permutation of ints, so any 2^32 consecutive counter values give different ints.
+     *
+     * @return unique int
+     * @see Unique#unscrambleInteger(int)
+     */
+    @Nonnull
+    public static Integer scrambledInteger() {
+        return (int) Scrambler.scramble(nextId(), Integer.SIZE);
+    }
+
+    /**
+     * Map value of {@link Unique#scrambledInteger()} back to the counter value, it was generated from, modulo 2^32.
+     * Only lowest 32 bits of a counter are kept in a generated value, so counter values, that differ by a multiple of
+     * 2^32, can not be told apart.
+     *
+     * @param scrambled generated value
+     * @return counter value modulo 2^32, in [0, 2^32)
+     */
+    public static long unscrambleInteger(int scrambled) {
+        return Scrambler.unscramble(Integer.toUnsignedLong(scrambled), Integer.SIZE);
+    }
+
+    /**
+     * Generate unique short in pseudo-random order. Lowest 16 bits of counter value are mapped through a fixed
+     * permutation of shorts, so any 65536 consecutive counter values give different shorts.
+     *
+     * @return unique short
+     * @see Unique#unscrambleShort(short)
+     */
+    @Nonnull
+    public static Short scrambledShort() {
+        return (short) Scrambler.scramble(nextId(), Short.SIZE);
+    }
+
+    /**
+     * Map value of {@link Unique#scrambledShort()} back to the counter value, it was generated from, modulo 2^16.
+     * Only lowest 16 bits of a counter are kept in a generated value, so counter values, that differ by a multiple of
+     * 2^16, can not be told apart.
+     *
+     * @param scrambled generated value
+     * @return counter value modulo 2^16, in [0, 2^16)
+     */
+    public static long unscrambleShort(short scrambled) {
+        return Scrambler.unscramble(Short.toUnsignedLong(scrambled), Short.SIZE);
+    }
+
+    /**
+     * Generate unique byte in pseudo-random order. Lowest 8 bits of counter value are mapped through a fixed
+     * permutation of bytes, so any 256 consecutive counter values give different bytes.
+     *
+     * @return unique byte
+     * @see Unique#unscrambleByte(byte)
+     */
+    @Nonnull
+    public static Byte scrambledByte() {
+        return (byte) Scrambler.scramble(nextId(), Byte.SIZE);
+    }
+
+    /**
+     * Map value of {@link Unique#scrambledByte()} back to the counter value, it was generated from, modulo 2^8.
+     * Only lowest 8 bits of a counter are kept in a generated value, so counter values, that differ by a multiple of
+     * 2^8, can not be told apart.
+     *
+     * @param scrambled generated value
+     * @return counter value modulo 2^8, in [0, 2^8)
+     */
+    public static long unscrambleByte(byte scrambled) {
+        return Scrambler.unscramble(Byte.toUnsignedLong(scrambled), Byte.SIZE);
     }
 
     /**
@@ -221,7 +509,11 @@ public class Unique {
      */
     @Nonnull
     public static UUID uniqueUUID() {
-        String seed = uniqueLong().toString();
+        return uuidOf(uniqueLong());
+    }
+
+    static UUID uuidOf(long value) {
+        String seed = String.valueOf(value);
         String uuid = overlay(UUID_TEMPLATE, seed, UUID_TEMPLATE.length() - seed.length(), UUID_TEMPLATE.length());
         return UUID.fromString(new StringBuilder(uuid)
                 .insert(8, '-')
@@ -233,12 +525,41 @@ public class Unique {
 
     @SafeVarargs
     @SuppressWarnings("varargs")
-    private static Stream<Character> getCharsStream(Pair<Character, Character>... fromToInclusivePairs) {
-        int[] validChars = Arrays.stream(fromToInclusivePairs)
+    private static char[] getChars(Pair<Character, Character>... fromToInclusivePairs) {
+        String chars = Arrays.stream(fromToInclusivePairs)
                 .flatMapToInt(fromTo -> IntStream.rangeClosed(fromTo.getLeft(), fromTo.getRight()))
-                .toArray();
-        return IntStream.iterate(0, i -> i + 1)
-                .map(i -> validChars[i - validChars.length * (i / validChars.length)])
-                .mapToObj(charCode -> (char) charCode);
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+        return chars.toCharArray();
+    }
+
+    /**
+     * Range of unique values, owned by a single thread
+     */
+    private static class ReservedBlock {
+        private final int size;
+        private long next;
+        private long end;
+
+        private ReservedBlock(int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Block size should be positive : " + size);
+            }
+            this.size = size;
+        }
+
+        private ReservedBlock(long next, long end) {
+            this.size = 0;
+            this.next = next;
+            this.end = end;
+        }
+
+        private long next() {
+            if (next == end) {
+                next = reserve(size);
+                end = next + size;
+            }
+            return next++;
+        }
     }
 }
@@ -0,0 +1,284 @@
+package com.github.nginate.commons.testing;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Temporary directory for real files, generated by tests. Files are written through {@link FileChannel} from a
+ * thread local direct buffer, filled with {@link Payload unique payload}, so thousands of files are created without
+ * garbage. Large files can be created sparse, without writing their content. Names are unique within a workspace and
+ * do not depend on {@link Unique} values, so generation with repeated unique sequences never collides.
+ * <p>Passed to {@link Initializer.InitContext#withWorkspace(Workspace)}, workspace holds files for generated
+ * {@link java.io.File} and {@link Path} values, which otherwise only name files, that do not exist. All workspaces,
+ * that are not closed, are deleted by a shutdown hook, {@link #cleanUp()} deletes files at the end of a test.</p>
+ * <p>Example:</p>
+ * <pre>
+ *  {@code
+ *     try (Workspace workspace = Workspace.create()) {
+ *         List<Path> files = workspace.newFiles(10_000, 4096);
+ *         ingest.scan(workspace.getRoot());
+ *         assertThat(ingest.getProcessed()).hasSize(10_000);
+ *     }
+ *  }
+ * </pre>
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class Workspace implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Size of files, generated for {@link java.io.File} and {@link Path} values
+     */
+    private static final int GENERATED_FILE_SIZE = 64;
+    private static final ThreadLocal<ByteBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+    private static final Set<Workspace> OPEN = ConcurrentHashMap.newKeySet();
+    private static volatile Workspace shared;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> OPEN.forEach(Workspace::deleteQuietly),
+                "workspace-cleanup"));
+    }
+
+    /**
+     * Directory, containing all files of this workspace
+     */
+    @Getter
+    private final Path root;
+    private final AtomicLong names = new AtomicLong();
+
+    private Workspace(Path root) {
+        this.root = root;
+        OPEN.add(this);
+    }
+
+    /**
+     * Create new workspace in a temporary directory
+     *
+     * @return workspace, deleted on close or on JVM shutdown
+     * @throws IOException if directory can not be created
+     */
+    public static Workspace create() throws IOException {
+        return new Workspace(Files.createTempDirectory("fixtures-"));
+    }
+
+    /**
+     * Get workspace of this JVM, created on first call
+     *
+     * @return shared workspace, deleted on JVM shutdown
+     * @throws UncheckedIOException if directory can not be created
+     */
+    public static Workspace shared() {
+        Workspace workspace = shared;
+        if (workspace == null) {
+            synchronized (Workspace.class) {
+                workspace = shared;
+                if (workspace == null) {
+                    try {
+                        workspace = create();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    shared = workspace;
+                }
+            }
+        }
+        return workspace;
+    }
+
+    /**
+     * Create file with unique content
+     *
+     * @param size file size in bytes
+     * @return path of a new file
+     * @throws IOException if file can not be written
+     */
+    public Path newFile(long size) throws IOException {
+        return newFile(Payload.unique(size));
+    }
+
+    /**
+     * Create file with given content
+     *
+     * @param payload file content
+     * @return path of a new file
+     * @throws IOException if file can not be written
+     */
+    public Path newFile(@Nonnull @NonNull Payload payload) throws IOException {
+        Path file = nextPath("file-");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = BUFFERS.get();
+            long position = 0;
+            while (position < payload.getSize()) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, payload.getSize() - position));
+                payload.copyTo(position, buffer);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer);
+                }
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Create sparse file of zeros, file systems without sparse files allocate it
+     *
+     * @param size file size in bytes
+     * @return path of a new file
+     * @throws IOException if file can not be created
+     */
+    public Path newSparseFile(long size) throws IOException {
+        if (size < 0) {
+            throw new IllegalArgumentException("File size should not be negative : " + size);
+        }
+        Path file = nextPath("sparse-");
+        try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+            if (size > 0) {
+                channel.position(size - 1).write(ByteBuffer.allocate(1));
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Create files with unique content in parallel
+     *
+     * @param amount amount of files
+     * @param size   size of every file in bytes
+     * @return paths of new files
+     * @throws IOException if any file can not be written
+     */
+    public List<Path> newFiles(int amount, long size) throws IOException {
+        try {
+            return IntStream.range(0, amount).parallel()
+                    .mapToObj(index -> {
+                        try {
+                            return newFile(size);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .collect(toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Create empty directory
+     *
+     * @return path of a new directory
+     * @throws IOException if directory can not be created
+     */
+    public Path newDirectory() throws IOException {
+        return Files.createDirectory(nextPath("dir-"));
+    }
+
+    /**
+     * Delete all files and directories of this workspace, keeping workspace itself
+     *
+     * @throws IOException if files can not be deleted
+     */
+    public void cleanUp() throws IOException {
+        delete(false);
+    }
+
+    /**
+     * Delete workspace with all its files
+     *
+     * @throws IOException if files can not be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        OPEN.remove(this);
+        delete(true);
+    }
+
+    /**
+     * Create small file for a generated value
+     *
+     * @throws ObjectInitializationException if file can not be written
+     */
+    Path generatedFile() {
+        try {
+            return newFile(GENERATED_FILE_SIZE);
+        } catch (IOException e) {
+            throw new ObjectInitializationException("Could not create file in workspace", e);
+        }
+    }
+
+    private Path nextPath(String prefix) {
+        return root.resolve(prefix + names.incrementAndGet());
+    }
+
+    private void delete(boolean withRoot) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.deleteIfExists(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                if (e instanceof NoSuchFileException) {
+                    return FileVisitResult.CONTINUE;
+                }
+                throw e;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                if (withRoot || !directory.equals(root)) {
+                    Files.deleteIfExists(directory);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void deleteQuietly() {
+        try {
+            delete(true);
+        } catch (IOException e) {
+            // nothing to do on shutdown
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Workspace(" + root + ")";
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import com.github.nginate.commons.testing.dto.PrimitiveFieldsDto;
+import com.github.nginate.commons.testing.dto.RecursiveDto;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ColumnBatchTest {
+
+    @Test
+    public void generatePrimitiveColumns() throws Exception {
+        int rows = 100;
+        ColumnBatch<PrimitiveFieldsDto> batch = uniqueObject(PrimitiveFieldsDto.class).generateColumns(rows);
+
+        assertThat(batch.getRows()).isEqualTo(rows);
+        assertThat(batch.getColumns()).hasSize(7);
+        assertThat(batch.getColumn("longField").getLongs()).hasSize(rows).doesNotHaveDuplicates();
+        assertThat(batch.getColumn("integerField").getInts()).hasSize(rows).doesNotHaveDuplicates();
+        assertThat(batch.getColumn("doubleField").getDoubles()).hasSize(rows).doesNotHaveDuplicates();
+        assertThat(batch.getColumn("characterField").getChars()).hasSize(rows);
+    }
+
+    @Test
+    public void generateObjectColumns() throws Exception {
+        int rows = 10;
+        ColumnBatch<ObjectFieldsDto> batch = uniqueObject(ObjectFieldsDto.class)
+                .withExcludedFieldsFor(ObjectFieldsDto.class, "uuidField")
+                .generateColumns(rows);
+
+        assertThat(batch.getColumns()).hasSize(13);
+        assertThat(batch.getColumn("stringField").getStrings()).hasSize(rows).doesNotContainNull()
+                .doesNotHaveDuplicates();
+        assertThat(batch.getColumn("dateField").getObjects()).hasSize(rows).hasOnlyElementsOfType(Date.class);
+        assertThatThrownBy(() -> batch.getColumn("uuidField")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void skipNestedObjects() throws Exception {
+        assertThat(uniqueObject(RecursiveDto.class).generateColumns(1).getColumns()).isEmpty();
+    }
+
+    @Test
+    public void generateColumnsWithFieldGenerators() throws Exception {
+        int rows = 100;
+        ColumnBatch<ObjectFieldsDto> batch = uniqueObject(ObjectFieldsDto.class)
+                .withFieldPattern(ObjectFieldsDto.class, "stringField", "[A-Z]{2}\\d{6}")
+                .withFieldGenerator(ObjectFieldsDto.class, "integerField", () -> 42)
+                .generateColumns(rows);
+
+        assertThat(batch.getColumn("stringField").getStrings()).hasSize(rows)
+                .doesNotHaveDuplicates()
+                .allMatch(value -> value.matches("[A-Z]{2}\\d{6}"));
+        assertThat(batch.getColumn("integerField").getInts()).hasSize(rows).containsOnly(42);
+        assertThatThrownBy(() -> uniqueObject(ObjectFieldsDto.class)
+                .withFieldGenerator(ObjectFieldsDto.class, "longField", () -> null)
+                .generateColumns(1))
+                .isInstanceOf(ObjectInitializationException.class)
+                .hasMessageContaining("longField");
+    }
+
+    @Test
+    public void rejectWrongColumnType() throws Exception {
+        ColumnBatch<PrimitiveFieldsDto> batch = uniqueObject(PrimitiveFieldsDto.class).generateColumns(1);
+        assertThatThrownBy(() -> batch.getColumn("longField").getInts()).isInstanceOf(IllegalStateException.class);
+    }
+}
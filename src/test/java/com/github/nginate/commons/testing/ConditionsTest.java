@@ -1,16 +1,37 @@
 package com.github.nginate.commons.testing;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.Value;
+import org.assertj.core.api.Condition;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.github.nginate.commons.testing.Conditions.*;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ConditionsTest {
     private TestObject.TestObjectBuilder prototype;
@@ -127,6 +148,287 @@ public class ConditionsTest {
         assertThat(emptyStringObject).doesNotHave(notEmpty(TestObject::getString));
     }
 
+    @Test
+    public void testArrayLength() throws Exception {
+        TestObject actual = prototype.build();
+
+        assertThat(actual).has(arrayLength(2, object -> new int[2]));
+        assertThat(actual).has(arrayLength(3, object -> new String[3]));
+        assertThat(actual).doesNotHave(arrayLength(3, object -> new long[2]));
+        assertThat(actual).doesNotHave(arrayLength(0, TestObject::getString));
+        assertThat(actual).doesNotHave(arrayLength(0, object -> null));
+    }
+
+    @Test
+    public void testPrimitiveConditions() throws Exception {
+        TestObject actual = prototype.integer(5).build();
+
+        assertThat(actual)
+                .has(positiveInt(TestObject::getInteger))
+                .has(positiveLong(object -> object.getInteger() * 1L))
+                .has(positiveDouble(object -> object.getInteger() / 2.0))
+                .has(intInRange(5, 5, TestObject::getInteger))
+                .has(longInRange(0, 10, object -> object.getInteger() * 1L))
+                .has(doubleInRange(2.4, 2.6, object -> object.getInteger() / 2.0))
+                .has(intGreaterThan(4, TestObject::getInteger))
+                .has(longGreaterThan(4, object -> object.getInteger() * 1L))
+                .has(doubleGreaterThan(2.4, object -> object.getInteger() / 2.0))
+                .has(intLessThan(6, TestObject::getInteger))
+                .has(longLessThan(6, object -> object.getInteger() * 1L))
+                .has(doubleLessThan(2.6, object -> object.getInteger() / 2.0));
+        assertThat(actual)
+                .doesNotHave(positiveInt(object -> -object.getInteger()))
+                .doesNotHave(intInRange(6, 10, TestObject::getInteger))
+                .doesNotHave(longGreaterThan(5, object -> object.getInteger() * 1L))
+                .doesNotHave(doubleLessThan(2.5, object -> object.getInteger() / 2.0));
+    }
+
+    @Test
+    public void testStreamingConditions() throws Exception {
+        TestObject actual = prototype.list(Arrays.asList(1, 2, 3)).build();
+
+        assertThat(actual)
+                .has(iteratorHasSize(3, object -> object.getList().iterator()))
+                .has(iteratorContaining(2, object -> object.getList().iterator()))
+                .doesNotHave(iteratorEmpty(object -> object.getList().iterator()))
+                .has(streamHasSize(2, object -> object.getList().stream().filter(value -> value > 1)))
+                .has(streamContaining(3, object -> object.getList().stream()))
+                .has(streamEmpty(object -> object.getList().stream().filter(value -> value > 3)))
+                .has(spliteratorHasSize(3, object -> object.getList().spliterator()))
+                .doesNotHave(spliteratorContaining(4, object -> object.getList().spliterator()))
+                .doesNotHave(spliteratorEmpty(object -> object.getList().spliterator()));
+    }
+
+    @Test
+    public void testStreamingConditionsStopEarly() throws Exception {
+        TestObject actual = prototype.build();
+        AtomicInteger taken = new AtomicInteger();
+        Function<TestObject, Stream<Integer>> naturals = object -> Stream.iterate(0, i -> i + 1)
+                .peek(i -> taken.incrementAndGet());
+
+        assertThat(actual).doesNotHave(streamHasSize(10, naturals));
+        assertThat(taken.get()).isEqualTo(11);
+
+        taken.set(0);
+        assertThat(actual).has(streamContaining(100, naturals));
+        assertThat(taken.get()).isEqualTo(101);
+
+        Spliterator<Integer> sized = Arrays.asList(1, 2, 3).spliterator();
+        assertThat(actual).has(spliteratorHasSize(3, object -> sized));
+        assertThat(sized.tryAdvance(value -> assertThat(value).isEqualTo(1))).isTrue();
+    }
+
+    @Test
+    public void testEveryElementReportsFailedIndices() throws Exception {
+        List<Integer> values = IntStream.range(0, 100_000).boxed().collect(toList());
+        Condition<Integer> notDivisibleBy1000 = new Condition<>(value -> value % 1000 != 0, "not divisible by 1000");
+
+        assertThat(values).has(everyElement(intGreaterThan(-1, Integer::intValue)));
+        ElementsCondition<Iterable<? extends Integer>, Integer> condition = everyElement(notDivisibleBy1000)
+                .exhaustive()
+                .withSampleSize(3);
+        assertThat(values).doesNotHave(condition);
+        assertThat(condition.description().value())
+                .contains("but 100 elements did not match")
+                .contains("[0] <0>", "[1000] <1000>", "[2000] <2000>")
+                .doesNotContain("[3000]");
+        assertThat(new HashSet<>(values)).doesNotHave(everyElement(notDivisibleBy1000));
+    }
+
+    @Test
+    public void testEveryElementSplitsSourcesWithoutSizedSplits() throws Exception {
+        Set<Integer> values = IntStream.range(0, 100_000).boxed().collect(toCollection(TreeSet::new));
+        Condition<Integer> notDivisibleBy1000 = new Condition<>(value -> value % 1000 != 0, "not divisible by 1000");
+        ElementsCondition<Iterable<? extends Integer>, Integer> condition = everyElement(notDivisibleBy1000)
+                .exhaustive()
+                .withSampleSize(2)
+                .withParallelThreshold(1);
+
+        assertThat(values.spliterator().hasCharacteristics(Spliterator.SUBSIZED)).isFalse();
+        assertThat(values).doesNotHave(condition);
+        assertThat(condition.description().value())
+                .contains("but 100 elements did not match")
+                .contains("[0] <0>", "[1000] <1000>")
+                .doesNotContain("[2000]");
+        assertThat(values).has(countMatching(1000, intLessThan(1000, Integer::intValue)).withParallelThreshold(1));
+        assertThatThrownBy(() -> everyElement(notDivisibleBy1000).withParallelThreshold(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testNoElement() throws Exception {
+        Integer[] values = IntStream.range(0, 50_000).boxed().toArray(Integer[]::new);
+
+        assertThat(values).has(noArrayElement(intLessThan(0, Integer::intValue)));
+        assertThat(values).doesNotHave(noArrayElement(intInRange(100, 200, Integer::intValue)));
+        assertThat(noStreamElement(intLessThan(0, Integer::intValue)).matches(IntStream.range(0, 100).boxed()))
+                .isTrue();
+    }
+
+    @Test
+    public void testCountMatching() throws Exception {
+        List<Integer> values = IntStream.range(0, 100_000).boxed().collect(toList());
+
+        assertThat(values).has(countMatching(100, intLessThan(100, Integer::intValue)));
+        assertThat(values).doesNotHave(countMatching(99, intLessThan(100, Integer::intValue)));
+        assertThat(values).doesNotHave(countMatching(101, intLessThan(100, Integer::intValue)));
+        assertThat(IntStream.range(0, 100).boxed().toArray(Integer[]::new))
+                .has(countArrayMatching(50, intLessThan(50, Integer::intValue)));
+        assertThat(countStreamMatching(10, intLessThan(10, Integer::intValue))
+                .matches(IntStream.range(0, 20_000).boxed().filter(value -> value % 2 == 0))).isFalse();
+    }
+
+    @Test
+    public void testDeepSameAs() throws Exception {
+        assertThat(tree("root", "left", "right")).has(deepSameAs(tree("root", "left", "right")));
+        assertThat(prototype.list(Arrays.asList(1, 2)).build())
+                .has(deepSameAs(prototype.list(Arrays.asList(1, 2)).build()))
+                .doesNotHave(deepSameAs(prototype.list(Arrays.asList(2, 1)).build()));
+    }
+
+    @Test
+    public void testDeepSameAsComparesJdkValuesWithEquals() throws Exception {
+        List<Object> actual = Arrays.asList(LocalDate.of(2016, 1, 1), BigDecimal.ONE, TimeUnit.SECONDS,
+                Optional.of("value"), new StringBuilder("builder").toString());
+
+        assertThat(actual)
+                .has(deepSameAs(Arrays.asList(LocalDate.of(2016, 1, 1), BigDecimal.ONE, TimeUnit.SECONDS,
+                        Optional.of("value"), "builder")))
+                .doesNotHave(deepSameAs(Arrays.asList(LocalDate.of(2016, 1, 2), BigDecimal.ONE, TimeUnit.SECONDS,
+                        Optional.of("value"), "builder")));
+    }
+
+    @Test
+    public void testDeepSameAsReportsPath() throws Exception {
+        Node actual = tree("root", "left", "right");
+        Condition<Node> condition = deepSameAs(tree("root", "left", "other"));
+
+        assertThat(actual).doesNotHave(condition);
+        assertThat(condition.description().value())
+                .contains("differs at <children[1].name> : actual <right>, expected <other>");
+
+        actual.getChildren().get(0).getWeights()[1] = 5;
+        Condition<Node> weights = deepSameAs(tree("root", "left", "right"));
+        assertThat(actual).doesNotHave(weights);
+        assertThat(weights.description().value()).contains("differs at <children[0].weights>");
+    }
+
+    @Test
+    public void testDeepSameAsKeepsFailureReportPerThread() throws Exception {
+        Condition<Node> condition = deepSameAs(tree("root", "left"));
+
+        assertThat(tree("root", "right")).doesNotHave(condition);
+        Thread other = new Thread(() -> assertThat(tree("root", "left")).has(condition));
+        other.start();
+        other.join();
+
+        assertThat(condition.description().value()).contains("differs at <children[0].name>");
+        assertThat(tree("root", "left")).has(condition);
+        assertThat(condition.description().value()).doesNotContain("differs");
+    }
+
+    @Test
+    public void testDeepSameAsExclusions() throws Exception {
+        Node actual = tree("root", "left", "right");
+        Node expected = tree("other", "left", "other");
+
+        assertThat(actual)
+                .doesNotHave(deepSameAs(expected, "name"))
+                .has(deepSameAs(expected, "name", "children.name"));
+    }
+
+    @Test
+    public void testAllOfEvaluatesExtractorOnce() throws Exception {
+        TestObject actual = prototype.list(Arrays.asList(1, 2, 3)).build();
+        AtomicInteger calls = new AtomicInteger();
+        Function<TestObject, Collection<Integer>> list = object -> {
+            calls.incrementAndGet();
+            return object.getList();
+        };
+
+        assertThat(actual).has(Conditions.<TestObject>allOf()
+                .hasSize(3, list)
+                .collectionContaining(2, list)
+                .equalTo("string", TestObject::getString)
+                .positive(object -> object.getList().size())
+                .build());
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAllOfReportsAllFailures() throws Exception {
+        TestObject actual = prototype.string(null).build();
+        CompositeCondition<TestObject> condition = Conditions.<TestObject>allOf()
+                .nonNullIn(TestObject::getString)
+                .equalTo(0, TestObject::getInteger)
+                .hasSize(2, TestObject::getList)
+                .build();
+
+        assertThat(actual).doesNotHave(condition);
+        String failures = condition.description().value().split("but failed :")[1];
+        assertThat(failures)
+                .contains("[0] non null : actual <null>")
+                .doesNotContain("[1]")
+                .contains("[2] collection of size 2 : actual <[]>");
+        assertThatThrownBy(() -> assertThat(actual).has(condition))
+                .hasMessageContaining("[2] collection of size 2 : actual <[]>");
+    }
+
+    @Test
+    public void testAllOfKeepsFailureReportPerThread() throws Exception {
+        TestObject failing = prototype.string(null).build();
+        TestObject passing = prototype.string("string").build();
+        CompositeCondition<TestObject> condition = Conditions.<TestObject>allOf()
+                .nonNullIn(TestObject::getString)
+                .build();
+
+        assertThat(failing).doesNotHave(condition);
+        Thread other = new Thread(() -> assertThat(passing).has(condition));
+        other.start();
+        other.join();
+
+        assertThat(condition.description().value()).contains("but failed :", "[0] non null : actual <null>");
+        assertThat(passing).has(condition);
+        assertThat(condition.description().value()).doesNotContain("but failed");
+    }
+
+    @Test
+    public void testEveryElementKeepsFailureReportPerThread() throws Exception {
+        ElementsCondition<Iterable<? extends Integer>, Integer> condition =
+                everyElement(intGreaterThan(0, Integer::intValue));
+
+        assertThat(Arrays.asList(1, -1)).doesNotHave(condition);
+        Thread other = new Thread(() -> assertThat(Arrays.asList(1, 2)).has(condition));
+        other.start();
+        other.join();
+
+        assertThat(condition.description().value()).contains("but 1 elements did not match", "[1] <-1>");
+        assertThat(Arrays.asList(1, 2)).has(condition);
+        assertThat(condition.description().value()).doesNotContain("but");
+    }
+
+    private static Node tree(String root, String... children) {
+        Node parent = new Node(root, new ArrayList<>(), null, new int[]{1, 2});
+        for (String child : children) {
+            parent.getChildren().add(new Node(child, new ArrayList<>(), parent, new int[]{1, 2}));
+        }
+        return parent;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Node {
+        private String name;
+        private List<Node> children;
+        private Node parent;
+        private int[] weights;
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
     @Value
     @Builder(toBuilder = true)
     private static class TestObject {
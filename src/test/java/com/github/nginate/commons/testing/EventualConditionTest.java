@@ -0,0 +1,116 @@
+package com.github.nginate.commons.testing;
+
+import org.assertj.core.api.Condition;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.github.nginate.commons.testing.Conditions.eventually;
+import static com.github.nginate.commons.testing.Conditions.eventuallySupplies;
+import static com.github.nginate.commons.testing.Conditions.intGreaterThan;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventualConditionTest {
+
+    @Test
+    public void conditionConvergesOnceStateChanges() throws Exception {
+        AtomicInteger state = new AtomicInteger();
+        CountDownLatch firstPoll = new CountDownLatch(1);
+        Supplier<Integer> supplier = () -> {
+            int value = state.get();
+            firstPoll.countDown();
+            return value;
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                firstPoll.await();
+                state.set(1);
+                return null;
+            });
+            EventualCondition<Supplier<Integer>> condition =
+                    eventuallySupplies(intGreaterThan(0, Integer::intValue), 5, TimeUnit.SECONDS);
+
+            assertThat(supplier).has(condition);
+            assertThat(condition.getPolls()).isGreaterThan(1);
+            assertThat(condition.getElapsedNanos()).isLessThan(TimeUnit.SECONDS.toNanos(5));
+            assertThat(condition.description().value()).contains("converged");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void signalWakesWaitingCheck() throws Exception {
+        EventualCondition.Signal signal = new EventualCondition.Signal();
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Supplier<String> supplier = () -> result.getNow(null);
+        EventualCondition<Supplier<String>> condition =
+                eventuallySupplies(new Condition<String>("done"::equals, "done"), 10, TimeUnit.SECONDS)
+                        .withMaxInterval(10, TimeUnit.SECONDS)
+                        .withSignal(signal);
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            // without signal check would sleep from 819 ms to 1638 ms
+            executor.schedule(() -> {
+                result.complete("done");
+                signal.fire();
+            }, 1000, TimeUnit.MILLISECONDS);
+
+            assertThat(supplier).has(condition);
+            assertThat(condition.getElapsedNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(1400));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void saturatedTimeoutKeepsPolling() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Integer> supplier = calls::incrementAndGet;
+        EventualCondition<Supplier<Integer>> condition =
+                eventuallySupplies(intGreaterThan(2, Integer::intValue), Long.MAX_VALUE, TimeUnit.DAYS);
+
+        assertThat(supplier).has(condition);
+        assertThat(condition.getPolls()).isEqualTo(3);
+    }
+
+    @Test
+    public void outcomeIsKeptPerThread() throws Exception {
+        EventualCondition<String> condition =
+                eventually(new Condition<String>("ready"::equals, "ready"), 20, TimeUnit.MILLISECONDS);
+
+        assertThat("waiting").doesNotHave(condition);
+        int polls = condition.getPolls();
+        Thread other = new Thread(() -> assertThat("ready").has(condition));
+        other.start();
+        other.join();
+
+        assertThat(condition.getPolls()).isEqualTo(polls).isGreaterThan(1);
+        assertThat(condition.description().value()).contains("did not converge");
+        assertThat("ready").has(condition);
+        assertThat(condition.getPolls()).isEqualTo(1);
+        assertThat(condition.description().value()).contains("converged").doesNotContain("did not");
+    }
+
+    @Test
+    public void timeoutIsReportedWithLastError() throws Exception {
+        EventualCondition<String> condition = eventually(new Condition<String>(value -> {
+            throw new IllegalStateException("not ready");
+        }, "ready"), 50, TimeUnit.MILLISECONDS);
+
+        assertThat("value").doesNotHave(condition);
+        assertThat(condition.getElapsedNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(condition.description().value())
+                .contains("eventually ready, did not converge")
+                .contains("not ready");
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.FixtureExporter.Report;
+import com.github.nginate.commons.testing.FixtureSink.Format;
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FixtureExporterTest {
+    private static final Pattern LONG_FIELD = Pattern.compile("\"longField\":(\\d+)");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void exportShardsWithDisjointValues() throws Exception {
+        int records = 1001;
+        Path directory = folder.getRoot().toPath();
+
+        Report report = FixtureExporter.of(uniqueObject(ObjectFieldsDto.class))
+                .withShards(4)
+                .withIdBlockSize(16)
+                .exportTo(directory, records);
+
+        assertThat(report.getFiles()).hasSize(4).allMatch(Files::exists);
+        assertThat(report.getRecords()).isEqualTo(records);
+        assertThat(report.getRecordsPerSecond()).isPositive();
+
+        long bytes = 0;
+        List<String> longValues = new ArrayList<>();
+        for (Path file : report.getFiles()) {
+            bytes += Files.size(file);
+            for (String line : Files.readAllLines(file)) {
+                Matcher matcher = LONG_FIELD.matcher(line);
+                assertThat(matcher.find()).isTrue();
+                longValues.add(matcher.group(1));
+            }
+        }
+        assertThat(report.getBytes()).isEqualTo(bytes);
+        assertThat(longValues).hasSize(records).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void exportFromCommandLine() throws Exception {
+        Path directory = folder.getRoot().toPath().resolve("cli");
+
+        FixtureExporter.main(new String[]{ObjectFieldsDto.class.getName(), "10", directory.toString(), "2", "csv"});
+
+        Path shard = directory.resolve("ObjectFieldsDto-0.csv");
+        assertThat(Files.readAllLines(shard)).hasSize(6);
+        assertThat(filesCount(directory)).isEqualTo(2);
+    }
+
+    @Test
+    public void exportCsvShards() throws Exception {
+        Report report = FixtureExporter.of(uniqueObject(ObjectFieldsDto.class))
+                .withFormat(Format.CSV)
+                .withShards(3)
+                .exportTo(folder.getRoot().toPath(), 3);
+
+        for (Path file : report.getFiles()) {
+            assertThat(Files.readAllLines(file)).hasSize(2);
+        }
+    }
+
+    @Test
+    public void rejectNonPositiveSettings() throws Exception {
+        FixtureExporter<ObjectFieldsDto> exporter = FixtureExporter.of(uniqueObject(ObjectFieldsDto.class));
+
+        assertThatThrownBy(() -> exporter.withBufferSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> exporter.withIdBlockSize(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> exporter.exportTo(folder.getRoot().toPath(), -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long filesCount(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.FixtureSink.Format;
+import com.github.nginate.commons.testing.dto.ObjectArraysFieldsDto;
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import com.github.nginate.commons.testing.dto.RecursiveDto;
+import com.github.nginate.commons.testing.dto.SimpleObjectFieldDto;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FixtureSinkTest {
+
+    @Test
+    public void writeJsonLines() throws Exception {
+        int records = 10;
+        StringWriter writer = new StringWriter();
+        uniqueObject(ObjectFieldsDto.class).sink(Format.JSON_LINES).writeTo(writer, records);
+
+        List<String> lines = Arrays.asList(writer.toString().split("\n"));
+        assertThat(lines).hasSize(records).doesNotHaveDuplicates();
+        lines.forEach(line -> assertThat(line)
+                .startsWith("{")
+                .endsWith("}")
+                .contains("\"stringField\":\"testValue")
+                .contains("\"uuidField\":"));
+    }
+
+    @Test
+    public void writeJsonNestedObjectsWithinDepth() throws Exception {
+        StringWriter writer = new StringWriter();
+        uniqueObject(RecursiveDto.class).withNestingDepth(2).sink(Format.JSON_LINES).writeTo(writer, 1);
+
+        assertThat(writer.toString()).isEqualTo("{\"recursiveDto\":{\"recursiveDto\":{\"recursiveDto\":null}}}\n");
+    }
+
+    @Test
+    public void writeJsonArrays() throws Exception {
+        StringWriter writer = new StringWriter();
+        uniqueObject(ObjectArraysFieldsDto.class)
+                .withCollectionSize(3)
+                .withExcludedFieldsFor(ObjectArraysFieldsDto.class, "stringField")
+                .sink(Format.JSON_LINES)
+                .writeTo(writer, 1);
+
+        assertThat(writer.toString())
+                .contains("\"longField\":[")
+                .doesNotContain("stringField");
+    }
+
+    @Test
+    public void writeCsv() throws Exception {
+        int records = 5;
+        StringWriter writer = new StringWriter();
+        uniqueObject(ObjectArraysFieldsDto.class).withCollectionSize(2).sink(Format.CSV).writeTo(writer, records);
+
+        List<String> lines = Arrays.asList(writer.toString().split("\n"));
+        assertThat(lines).hasSize(records + 1);
+        assertThat(lines.get(0)).startsWith("stringField,characterField,");
+        assertThat(lines.get(1)).startsWith("\"[\"\"testValue");
+    }
+
+    @Test
+    public void writeCsvFlattensNestedObjects() throws Exception {
+        StringWriter writer = new StringWriter();
+        uniqueObject(RecursiveDto.class).withNestingDepth(2).sink(Format.CSV).writeTo(writer, 1);
+
+        assertThat(writer.toString().split("\n")[0]).isEqualTo("recursiveDto.recursiveDto.recursiveDto");
+    }
+
+    @Test
+    public void writeFieldGenerators() throws Exception {
+        StringWriter json = new StringWriter();
+        StringWriter csv = new StringWriter();
+        Initializer.InitContext<ObjectFieldsDto> context = uniqueObject(ObjectFieldsDto.class)
+                .withFieldPattern(ObjectFieldsDto.class, "stringField", "[A-Z]{2}\\d{6}")
+                .withFieldGenerator(ObjectFieldsDto.class, "integerField", () -> 42)
+                .withFieldGenerator(ObjectFieldsDto.class, "uuidField", () -> Arrays.asList(1, 2));
+        context.sink(Format.JSON_LINES).writeTo(json, 10);
+        context.sink(Format.CSV).writeTo(csv, 10);
+
+        assertThat(json.toString().split("\n")).hasSize(10).allMatch(line ->
+                line.matches("\\{\"stringField\":\"[A-Z]{2}\\d{6}\",.*\"integerField\":42,.*\"uuidField\":\\[1,2]}"));
+        List<String> lines = Arrays.asList(csv.toString().split("\n"));
+        assertThat(lines.get(0)).endsWith(",uuidField");
+        assertThat(lines.subList(1, lines.size())).hasSize(10).allMatch(line ->
+                line.matches("[A-Z]{2}\\d{6},.*,42,.*,\"\\[1,2]\""));
+    }
+
+    @Test
+    public void writeMapKeyGenerators() throws Exception {
+        KeyDistribution distribution = KeyDistribution.uniform(3);
+        StringWriter writer = new StringWriter();
+        Initializer.uniqueMap(Long.class, String.class)
+                .withCollectionSize(3)
+                .withMapKeys(Long.class, distribution.supplier(Long.class))
+                .sink(Format.JSON_LINES)
+                .writeTo(writer, 10);
+
+        assertThat(writer.toString().split("\n")).hasSize(10).allMatch(line -> line.split(":").length == 4 &&
+                line.contains("\"" + distribution.keyOf(0) + "\":") &&
+                line.contains("\"" + distribution.keyOf(1) + "\":") &&
+                line.contains("\"" + distribution.keyOf(2) + "\":"));
+        assertThatThrownBy(() -> Initializer.uniqueMap(Long.class, String.class)
+                .withCollectionSize(4)
+                .withMapKeys(Long.class, distribution.supplier(Long.class))
+                .sink(Format.JSON_LINES)
+                .writeTo(new StringWriter(), 1))
+                .isInstanceOf(ObjectInitializationException.class)
+                .hasMessageContaining("distinct keys of java.lang.Long");
+    }
+
+    @Test
+    public void writeToChannel() throws Exception {
+        int records = 1000;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long bytes = uniqueObject(SimpleObjectFieldDto.class)
+                .sink(Format.JSON_LINES)
+                .withBufferSize(128)
+                .writeTo(Channels.newChannel(outputStream), records);
+
+        assertThat(bytes).isEqualTo(outputStream.size());
+        String output = new String(outputStream.toByteArray(), UTF_8);
+        assertThat(output.split("\n")).hasSize(records).allMatch(line -> line.startsWith("{\"object\":"));
+    }
+
+    @Test
+    public void channelWriterEncodesCharsSplitAcrossBuffers() throws Exception {
+        String text = "a\"b\u00e9\ud83d\ude00c";
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ChannelWriter writer = new ChannelWriter(Channels.newChannel(outputStream), UTF_8, 3);
+        for (int i = 0; i < 100; i++) {
+            writer.write(text.charAt(0));
+            writer.write(text, 1, 3);
+            writer.write(text.toCharArray(), 4, text.length() - 4);
+        }
+        writer.close();
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            expected.append(text);
+        }
+        assertThat(new String(outputStream.toByteArray(), UTF_8)).isEqualTo(expected.toString());
+        assertThat(writer.getBytesWritten()).isEqualTo(outputStream.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.dto.PrimitiveFieldsDto;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueList;
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class FlightEventsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void eventsAreNotCreatedWithoutRecording() throws Exception {
+        assertThat(FlightEvents.GENERATION.begin()).isNull();
+        assertThat(uniqueObject(PrimitiveFieldsDto.class).generate()).isNotNull();
+    }
+
+    @Test
+    public void generationAndReservationAreRecorded() throws Exception {
+        assumeTrue(FlightEvents.GENERATION.isAvailable());
+
+        Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        Object recording = recordingClass.newInstance();
+        recordingClass.getMethod("enable", String.class).invoke(recording, "com.github.nginate.commons.testing.*");
+        recordingClass.getMethod("start").invoke(recording);
+
+        uniqueObject(PrimitiveFieldsDto.class).generate();
+        uniqueList(Long.class).withCollectionSize(FlightEvents.LARGE_COLLECTION_SIZE).generate();
+        Unique.reserve(10);
+
+        recordingClass.getMethod("stop").invoke(recording);
+        Path dump = folder.newFile("fixtures.jfr").toPath();
+        recordingClass.getMethod("dump", Path.class).invoke(recording, dump);
+        recordingClass.getMethod("close").invoke(recording);
+
+        List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class).invoke(null, dump);
+        Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent");
+        Class<?> recordedObject = Class.forName("jdk.jfr.consumer.RecordedObject");
+
+        long generations = 0;
+        long collections = 0;
+        long reservations = 0;
+        for (Object event : events) {
+            Object eventType = recordedEvent.getMethod("getEventType").invoke(event);
+            String name = (String) eventType.getClass().getMethod("getName").invoke(eventType);
+            if (name.equals("com.github.nginate.commons.testing.Generation")) {
+                generations++;
+                String kind = (String) recordedObject.getMethod("getString", String.class).invoke(event, "kind");
+                int count = (int) recordedObject.getMethod("getInt", String.class).invoke(event, "elementCount");
+                if (kind.equals("COLLECTION") && count == FlightEvents.LARGE_COLLECTION_SIZE) {
+                    collections++;
+                }
+            } else if (name.equals("com.github.nginate.commons.testing.Reservation")) {
+                reservations++;
+            }
+        }
+        assertThat(generations).isEqualTo(2);
+        assertThat(collections).isEqualTo(1);
+        assertThat(reservations).isGreaterThanOrEqualTo(1);
+    }
+}
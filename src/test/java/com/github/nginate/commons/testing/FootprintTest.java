@@ -0,0 +1,87 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import com.github.nginate.commons.testing.dto.RecursiveDto;
+import org.assertj.core.api.Condition;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.github.nginate.commons.testing.Conditions.retainedSizeAtMost;
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FootprintTest {
+
+    @Test
+    public void shallowSizeIsAligned() throws Exception {
+        assertThat(Footprint.shallowSizeOf(new Object())).isEqualTo(16);
+        assertThat(Footprint.shallowSizeOf(new long[10]) % 8).isZero();
+        assertThat(Footprint.shallowSizeOf(new long[10])).isGreaterThanOrEqualTo(96);
+        assertThat(Footprint.shallowSizeOf(null)).isZero();
+    }
+
+    @Test
+    public void sharedObjectsAreCountedOnce() throws Exception {
+        String shared = "shared";
+        List<String> sameElements = new ArrayList<>(Arrays.asList(shared, shared));
+        List<String> differentElements = new ArrayList<>(Arrays.asList("first", "second"));
+
+        Footprint same = Footprint.of(sameElements);
+        Footprint different = Footprint.of(differentElements);
+
+        assertThat(same.getObjects()).isEqualTo(different.getObjects() - 2);
+        assertThat(same.getRetainedSize()).isLessThan(different.getRetainedSize());
+        assertThat(same.getShallowSize()).isEqualTo(different.getShallowSize());
+    }
+
+    @Test
+    public void jdkInternalsAreCounted() throws Exception {
+        Map<String, String> map = new HashMap<>();
+        map.put("key", "value");
+        List<TimeUnit> units = new ArrayList<>(Arrays.asList(TimeUnit.SECONDS, TimeUnit.SECONDS));
+
+        assertThat(Footprint.of("text").getObjects()).isEqualTo(2);
+        assertThat(Footprint.of("text").getRetainedSize()).isGreaterThan(Footprint.shallowSizeOf("text"));
+        assertThat(Footprint.of(BigInteger.TEN.pow(100)).getObjects()).isEqualTo(2);
+        assertThat(Footprint.of(map).getObjects()).isEqualTo(7);
+        assertThat(Footprint.of(units).getObjects()).isEqualTo(2);
+    }
+
+    @Test
+    public void cyclesAreFollowedOnce() throws Exception {
+        RecursiveDto root = new RecursiveDto();
+        RecursiveDto child = new RecursiveDto();
+        root.setRecursiveDto(child);
+        child.setRecursiveDto(root);
+
+        Footprint footprint = Footprint.of(root);
+
+        assertThat(footprint.getObjects()).isEqualTo(2);
+        assertThat(footprint.getRetainedSize()).isEqualTo(2 * footprint.getShallowSize());
+    }
+
+    @Test
+    public void retainedSizeCondition() throws Exception {
+        ObjectFieldsDto dto = uniqueObject(ObjectFieldsDto.class).generate();
+        long retained = Footprint.of(dto).getRetainedSize();
+
+        assertThat(retained).isGreaterThan(Footprint.shallowSizeOf(dto));
+        assertThat(dto)
+                .has(retainedSizeAtMost(retained, Function.identity()))
+                .doesNotHave(retainedSizeAtMost(retained - 1, Function.identity()));
+
+        Condition<ObjectFieldsDto> condition = retainedSizeAtMost(retained - 1, Function.identity());
+        assertThat(dto).doesNotHave(condition);
+        assertThat(condition.description().value()).contains("but was");
+        assertThat(new ObjectFieldsDto()).has(condition);
+        assertThat(condition.description().value()).doesNotContain("but was");
+    }
+}
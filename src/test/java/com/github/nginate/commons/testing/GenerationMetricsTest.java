@@ -0,0 +1,58 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.GenerationListener.Stage;
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import com.github.nginate.commons.testing.dto.PrimitiveFieldsDto;
+import org.junit.Test;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueList;
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenerationMetricsTest {
+
+    @Test
+    public void collectTypeAndGeneratorStats() throws Exception {
+        int amount = 20;
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        uniqueList(ObjectFieldsDto.class)
+                .withCollectionSize(amount)
+                .withNestingDepth(2)
+                .withListener(metrics)
+                .generate();
+
+        assertThat(metrics.getTypes().get(ObjectFieldsDto.class).getCount()).isEqualTo(amount);
+        assertThat(metrics.getTypes().get(ObjectFieldsDto.class).getNanos()).isPositive();
+        assertThat(metrics.getGenerators().get("uniqueString").getCount()).isEqualTo(amount);
+        assertThat(metrics.getGenerators().get("uniqueUUID").getCount()).isEqualTo(amount);
+        assertThat(metrics.getStages().get(Stage.INSTANTIATE).getCount()).isEqualTo(amount);
+        assertThat(metrics.getStages().get(Stage.FIELD_FILL).getCount()).isEqualTo(amount);
+        assertThat(metrics.getStages().get(Stage.COLLECTION_FILL).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void collectPrimitiveFieldStats() throws Exception {
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        uniqueObject(PrimitiveFieldsDto.class).withListener(metrics).generate();
+
+        assertThat(metrics.getGenerators()).containsKeys("uniqueInteger", "uniqueLong", "uniqueCharacter");
+        assertThat(metrics.getTypes()).containsKeys(PrimitiveFieldsDto.class, int.class, long.class);
+    }
+
+    @Test
+    public void reportHottestTypes() throws Exception {
+        GenerationMetrics metrics = new GenerationMetrics();
+        uniqueList(ObjectFieldsDto.class).withCollectionSize(5).withListener(metrics).generate();
+
+        String report = metrics.report(1);
+        assertThat(report)
+                .contains("Stages :", "Hottest types :", "Hottest generators :")
+                .contains("java.util.List")
+                .doesNotContain(ObjectFieldsDto.class.getName());
+
+        metrics.reset();
+        assertThat(metrics.getTypes()).isEmpty();
+    }
+}
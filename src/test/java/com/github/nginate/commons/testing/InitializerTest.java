@@ -6,12 +6,17 @@ import com.google.common.reflect.TypeToken;
 import org.assertj.core.util.Maps;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.Serializable;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.*;
 
 import static com.github.nginate.commons.testing.Conditions.*;
 import static com.github.nginate.commons.testing.Initializer.uniqueObject;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class InitializerTest {
     @Test
@@ -210,6 +215,28 @@ public class InitializerTest {
         assertThat(dto.getBinArray()).isNotNull().isNotEmpty().doesNotHaveDuplicates();
     }
 
+    @Test
+    public void testBinArraysHaveNoDuplicates() throws Exception {
+        Initializer.InitContext<BinArrayDto> context = uniqueObject(BinArrayDto.class).withCollectionSize(5);
+
+        for (int i = 0; i < 20_000; i++) {
+            BinArrayDto dto = context.generate();
+            assertThat(dto.getBinArray()).hasSize(5).doesNotHaveDuplicates();
+            assertThat(context.refill(dto).getBinArray()).hasSize(5).doesNotHaveDuplicates();
+        }
+        assertThat(uniqueObject(byte[].class).withCollectionSize(256).generate()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void testLargeBinArraysAreFilledWithPayloads() throws Exception {
+        Initializer.InitContext<BinArrayDto> context = uniqueObject(BinArrayDto.class).withCollectionSize(1 << 20);
+
+        byte[] first = context.generate().getBinArray();
+        byte[] second = context.generate().getBinArray();
+
+        assertThat(first).hasSize(1 << 20).isNotEqualTo(second);
+    }
+
     @Test
     public void testObjectWithMiscSimpleObjectFields() throws Exception {
         ObjectFieldsDto dto = uniqueObject(ObjectFieldsDto.class).generate();
@@ -268,6 +295,7 @@ public class InitializerTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     public void testObjectWithMiscPrimitiveArrayFields() throws Exception {
         int amount = 5;
         PrimitiveArrayFieldsDto dto = uniqueObject(PrimitiveArrayFieldsDto.class).withCollectionSize(amount).generate();
@@ -283,10 +311,35 @@ public class InitializerTest {
                 .has(shortArraySize(amount, PrimitiveArrayFieldsDto::getShortField));
     }
 
+    @Test
+    public void testPrimitiveArrayFieldsHaveLength() throws Exception {
+        int amount = 5;
+        PrimitiveArrayFieldsDto dto = uniqueObject(PrimitiveArrayFieldsDto.class).withCollectionSize(amount).generate();
+
+        assertThat(dto).isNotNull()
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getByteField))
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getBooleanField))
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getCharacterField))
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getDoubleField))
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getFloatField))
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getIntegerField))
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getLongField))
+                .has(arrayLength(amount, PrimitiveArrayFieldsDto::getShortField));
+    }
+
     @Test
     public void testFileDto() throws Exception {
         FileDto fileDto = uniqueObject(FileDto.class).generate();
         assertThat(fileDto).isNotNull();
+        assertThat(fileDto.getFileField()).isAbsolute().doesNotExist();
+
+        try (Workspace workspace = Workspace.create()) {
+            Initializer.InitContext<FileDto> context = uniqueObject(FileDto.class).withWorkspace(workspace);
+            FileDto withFile = context.generate();
+            File first = withFile.getFileField();
+            assertThat(first).isFile().hasParent(workspace.getRoot().toFile());
+            assertThat(context.refill(withFile).getFileField()).isFile().isNotEqualTo(first);
+        }
     }
 
     @Test
@@ -294,6 +347,15 @@ public class InitializerTest {
         int amount = 5;
         FileArrayDto fileDto = uniqueObject(FileArrayDto.class).withCollectionSize(amount).generate();
         assertThat(fileDto).isNotNull().has(arraySize(amount, FileArrayDto::getFileField));
+        assertThat(fileDto.getFileField()).doesNotHaveDuplicates().allMatch(file -> !file.exists());
+
+        try (Workspace workspace = Workspace.create()) {
+            FileArrayDto withFiles = uniqueObject(FileArrayDto.class)
+                    .withCollectionSize(amount)
+                    .withWorkspace(workspace)
+                    .generate();
+            assertThat(withFiles.getFileField()).doesNotHaveDuplicates().allMatch(File::isFile);
+        }
     }
 
     @Test
@@ -350,4 +412,273 @@ public class InitializerTest {
         RecursiveDto dto = uniqueObject(RecursiveDto.class).generate();
         assertThat(dto).isNotNull().has(nonNullIn(RecursiveDto::getRecursiveDto));
     }
+
+    @Test
+    public void testLazyInterfaceFields() throws Exception {
+        int amount = 3;
+        InterfaceFieldsDto dto = uniqueObject(InterfaceFieldsDto.class)
+                .withCollectionSize(amount)
+                .withLazyFields(true)
+                .generate();
+
+        assertThat(Proxy.isProxyClass(dto.getListField().getClass())).isTrue();
+        assertThat(Proxy.isProxyClass(dto.getMapField().getClass())).isTrue();
+        assertThat(Proxy.isProxyClass(dto.getCharSequenceField().getClass())).isFalse();
+
+        long beforeAccess = Unique.nextId();
+        assertThat(Unique.nextId()).as("nothing is generated before first call").isEqualTo(beforeAccess + 1);
+        List<Long> list = dto.getListField();
+        assertThat(list.size()).isEqualTo(amount);
+        long afterAccess = Unique.nextId();
+        assertThat(afterAccess).as("list is generated on first call").isGreaterThanOrEqualTo(beforeAccess + 1 + amount);
+        assertThat(list.get(0)).isNotNull();
+        assertThat(list.size()).isEqualTo(amount);
+        assertThat(Unique.nextId()).as("list is generated once").isEqualTo(afterAccess + 1);
+
+        assertThat(dto.getListField()).hasSize(amount).doesNotContainNull();
+        assertThat(dto.getMapField()).hasSize(amount);
+        assertThat(dto.getListField()).isEqualTo(dto.getListField());
+    }
+
+    @Test
+    public void testEagerInterfaceFieldsByDefault() throws Exception {
+        InterfaceFieldsDto dto = uniqueObject(InterfaceFieldsDto.class).generate();
+
+        assertThat(Proxy.isProxyClass(dto.getListField().getClass())).isFalse();
+        assertThat(dto).has(hasSize(1, InterfaceFieldsDto::getListField));
+    }
+
+    @Test
+    public void testRefillPrimitiveFields() throws Exception {
+        Initializer.InitContext<PrimitiveFieldsDto> context = uniqueObject(PrimitiveFieldsDto.class);
+        PrimitiveFieldsDto dto = context.generate();
+        long longField = dto.getLongField();
+
+        assertThat(context.refill(dto)).isSameAs(dto);
+        assertThat(dto.getLongField()).isNotEqualTo(longField);
+    }
+
+    @Test
+    public void testRefillObjectFieldsInPlace() throws Exception {
+        Initializer.InitContext<ObjectFieldsDto> context = uniqueObject(ObjectFieldsDto.class);
+        ObjectFieldsDto dto = context.generate();
+        Date date = dto.getDateField();
+        long time = date.getTime();
+        String string = dto.getStringField();
+
+        context.refill(dto);
+
+        assertThat(dto.getDateField()).isSameAs(date);
+        assertThat(date.getTime()).isNotEqualTo(time);
+        assertThat(dto.getStringField()).isNotEqualTo(string);
+    }
+
+    @Test
+    public void testRefillArraysOfMatchingSize() throws Exception {
+        int amount = 5;
+        Initializer.InitContext<PrimitiveArrayFieldsDto> context = uniqueObject(PrimitiveArrayFieldsDto.class)
+                .withCollectionSize(amount);
+        PrimitiveArrayFieldsDto dto = context.generate();
+        long[] longs = dto.getLongField();
+        long first = longs[0];
+
+        context.refill(dto);
+        assertThat(dto.getLongField()).isSameAs(longs).hasSize(amount);
+        assertThat(longs[0]).isNotEqualTo(first);
+
+        context.withCollectionSize(amount + 1).refill(dto);
+        assertThat(dto.getLongField()).isNotSameAs(longs).hasSize(amount + 1);
+    }
+
+    @Test
+    public void testRefillCollectionsAndNestedObjects() throws Exception {
+        Initializer.InitContext<InterfaceFieldsDto> context = uniqueObject(InterfaceFieldsDto.class)
+                .withCollectionSize(2);
+        InterfaceFieldsDto dto = context.generate();
+        List<Long> list = dto.getListField();
+        Map<Long, String> map = dto.getMapField();
+        Set<Long> mapKeys = new HashSet<>(map.keySet());
+
+        context.refill(dto);
+
+        assertThat(dto.getListField()).isSameAs(list).hasSize(2);
+        assertThat(dto.getMapField()).isSameAs(map).hasSize(2);
+        assertThat(map.keySet()).doesNotContainAnyElementsOf(mapKeys);
+
+        RecursiveDto recursiveDto = uniqueObject(RecursiveDto.class).generate();
+        RecursiveDto nested = recursiveDto.getRecursiveDto();
+        assertThat(uniqueObject(RecursiveDto.class).refill(recursiveDto).getRecursiveDto()).isSameAs(nested);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRefillInterfaceTypedCollectionsAndMaps() throws Exception {
+        List<Object> list = new ArrayList<>(Arrays.asList("first", "second", "third"));
+        Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+
+        Collection<Object> refilledList = uniqueObject(Collection.class).withCollectionSize(2).refill(list);
+        Map<Object, Object> refilledMap = uniqueObject(Map.class).withCollectionSize(2).refill(map);
+
+        assertThat(refilledList).isSameAs(list).hasSize(2).doesNotContain("first", "second", "third");
+        assertThat(refilledMap).isSameAs(map).hasSize(2).doesNotContainKey("key");
+    }
+
+    @Test
+    public void testRefillReportsPrimitiveFields() throws Exception {
+        GenerationMetrics metrics = new GenerationMetrics();
+        Initializer.InitContext<PrimitiveFieldsDto> context = uniqueObject(PrimitiveFieldsDto.class)
+                .withListener(metrics);
+        PrimitiveFieldsDto dto = context.generate();
+        metrics.reset();
+
+        context.refill(dto);
+
+        assertThat(metrics.getGenerators()).containsKeys("uniqueInteger", "uniqueLong");
+        assertThat(metrics.getTypes()).containsKeys(int.class, long.class);
+    }
+
+    @Test
+    public void testFieldWorkIsReported() throws Exception {
+        GenerationMetrics metrics = new GenerationMetrics();
+        uniqueObject(PrimitiveArrayFieldsDto.class).withListener(metrics).generate();
+
+        assertThat(metrics.getTypes()).containsKeys(int[].class, byte[].class);
+        assertThat(metrics.getStages()).containsKey(GenerationListener.Stage.COLLECTION_FILL);
+
+        metrics.reset();
+        uniqueObject(BinArrayDto.class)
+                .withListener(metrics)
+                .withFieldGenerator(BinArrayDto.class, "binArray", () -> new byte[0])
+                .generate();
+        assertThat(metrics.getTypes()).containsKey(byte[].class);
+
+        metrics.reset();
+        uniqueObject(ConstrainedDto.class).withListener(metrics).generate();
+        assertThat(metrics.getTypes()).containsKeys(int.class, BigDecimal.class);
+    }
+
+    @Test
+    public void testValidationConstraints() throws Exception {
+        Initializer.InitContext<ConstrainedDto> context = uniqueObject(ConstrainedDto.class);
+        List<ConstrainedDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            dtos.add(context.generate());
+        }
+
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getCode()).hasSize(5);
+            assertThat(dto.getDescription().length()).isGreaterThanOrEqualTo(20);
+            assertThat(dto.getItems()).hasSize(2);
+            assertThat(dto.getAttributes()).hasSize(4);
+            assertThat(dto.getEmptyArray()).isEmpty();
+            assertThat(dto.getQuantity()).isBetween(10, 12);
+            assertThat(dto.getNegative()).isBetween(-5L, -1L);
+            assertThat(dto.getPrice()).isLessThan(BigDecimal.valueOf(100)).isPositive();
+            assertThat(dto.getCreated()).isInThePast();
+            assertThat(dto.getExpires()).isGreaterThan(Instant.now());
+            assertThat(dto.getDeleted()).isFalse();
+            assertThat(dto.getReserved()).isNull();
+            assertThat(dto.getSku()).matches("[A-Z]{3}-\\d{4}");
+        });
+        assertThat(dtos).extracting(ConstrainedDto::getCode).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void testValidationConstraintsOnRefill() throws Exception {
+        Initializer.InitContext<ConstrainedDto> context = uniqueObject(ConstrainedDto.class);
+        ConstrainedDto dto = context.generate();
+        dto.setReserved("value");
+
+        context.refill(dto);
+
+        assertThat(dto.getCode()).hasSize(5);
+        assertThat(dto.getItems()).hasSize(2);
+        assertThat(dto.getReserved()).isNull();
+    }
+
+    @Test
+    public void testValidationConstraintsClampContextSize() throws Exception {
+        ConstrainedDto dto = uniqueObject(ConstrainedDto.class).withCollectionSize(10).generate();
+
+        assertThat(dto.getItems()).hasSize(3);
+        assertThat(dto.getAttributes()).hasSize(10);
+    }
+
+    @Test
+    public void testFieldGenerators() throws Exception {
+        List<ObjectFieldsDto> dtos = Initializer.uniqueList(ObjectFieldsDto.class)
+                .withCollectionSize(100)
+                .withFieldPattern(ObjectFieldsDto.class, "stringField", "[A-Z]{2}\\d{6}")
+                .withFieldGenerator(ObjectFieldsDto.class, "integerField", () -> 42)
+                .generate();
+
+        assertThat(dtos).extracting(ObjectFieldsDto::getStringField)
+                .doesNotHaveDuplicates()
+                .allMatch(value -> value.matches("[A-Z]{2}\\d{6}"));
+        assertThat(dtos).extracting(ObjectFieldsDto::getIntegerField).containsOnly(42);
+    }
+
+    @Test
+    public void testFieldGeneratorOverridesConstraints() throws Exception {
+        ConstrainedDto dto = uniqueObject(ConstrainedDto.class)
+                .withFieldGenerator(ConstrainedDto.class, "code", () -> "X")
+                .generate();
+
+        assertThat(dto.getCode()).isEqualTo("X");
+    }
+
+    @Test
+    public void testFieldDistribution() throws Exception {
+        KeyDistribution distribution = KeyDistribution.hotspot(50, 0.1, 1.0);
+        List<ObjectFieldsDto> dtos = Initializer.uniqueList(ObjectFieldsDto.class)
+                .withCollectionSize(100)
+                .withFieldDistribution(ObjectFieldsDto.class, "longField", distribution)
+                .generate();
+
+        assertThat(dtos).extracting(ObjectFieldsDto::getLongField)
+                .allMatch(value -> value >= distribution.keyOf(0) && value <= distribution.keyOf(4));
+    }
+
+    @Test
+    public void testMapKeyGenerators() throws Exception {
+        Map<String, Long> map = Initializer.uniqueMap(String.class, Long.class)
+                .withCollectionSize(500)
+                .withMapKeys(String.class, () -> Unique.uniqueStringWithHash(0))
+                .generate();
+
+        assertThat(map).hasSize(500);
+        assertThat(map.keySet()).allMatch(key -> key.hashCode() == 0);
+    }
+
+    @Test
+    public void testMapKeyGeneratorsRepeatingKeys() throws Exception {
+        KeyDistribution distribution = KeyDistribution.zipf(50, 1.0);
+        Map<Long, String> map = Initializer.uniqueMap(Long.class, String.class)
+                .withCollectionSize(20)
+                .withMapKeys(Long.class, distribution.supplier(Long.class))
+                .generate();
+
+        assertThat(map).hasSize(20);
+        assertThat(map.keySet()).allMatch(key -> key >= distribution.keyOf(0) && key <= distribution.keyOf(49));
+
+        Initializer.InitContext<InterfaceFieldsDto> context = uniqueObject(InterfaceFieldsDto.class)
+                .withCollectionSize(5)
+                .withMapKeys(Long.class, distribution.supplier(Long.class));
+        InterfaceFieldsDto dto = context.generate();
+        Map<Long, String> mapField = dto.getMapField();
+        assertThat(context.refill(dto).getMapField()).isSameAs(mapField).hasSize(5);
+
+        assertThatThrownBy(() -> Initializer.uniqueMap(Long.class, String.class)
+                .withCollectionSize(10)
+                .withMapKeys(Long.class, KeyDistribution.uniform(3).supplier(Long.class))
+                .generate())
+                .isInstanceOf(ObjectInitializationException.class)
+                .hasMessageContaining("distinct keys of java.lang.Long");
+    }
+
+    @Test(expected = ObjectInitializationException.class)
+    public void testFieldGeneratorForMissingField() throws Exception {
+        uniqueObject(ObjectFieldsDto.class).withFieldGenerator(ObjectFieldsDto.class, "missing", () -> 1);
+    }
 }
@@ -0,0 +1,60 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JdbcBatchWriterTest {
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + Unique.uniqueString());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE dto (" +
+                    "string_field VARCHAR(64), character_field CHAR(1), byte_field TINYINT, boolean_field BOOLEAN, " +
+                    "short_field SMALLINT, integer_field INT, double_field DOUBLE, float_field REAL, " +
+                    "long_field BIGINT PRIMARY KEY, big_decimal_field DECIMAL(30, 2), big_integer_field DECIMAL(30), " +
+                    "date_field TIMESTAMP, instant_field TIMESTAMP, uuid_field UUID)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void writeBatches() throws Exception {
+        int rows = 2500;
+        ColumnBatch<ObjectFieldsDto> batch = uniqueObject(ObjectFieldsDto.class).generateColumns(rows);
+
+        JdbcBatchWriter writer = new JdbcBatchWriter(connection, "dto").withBatchSize(1000);
+        batch.getColumns().forEach(column -> writer.withColumnName(column.getName(), snakeCase(column.getName())));
+
+        assertThat(writer.write(batch)).isEqualTo(rows);
+        assertThat(queryLong("SELECT COUNT(DISTINCT long_field) FROM dto")).isEqualTo(rows);
+        assertThat(queryLong("SELECT COUNT(*) FROM dto WHERE string_field IS NULL OR uuid_field IS NULL")).isZero();
+        assertThat(queryLong("SELECT MIN(long_field) FROM dto")).isEqualTo(batch.getColumn("longField").getLongs()[0]);
+    }
+
+    private long queryLong(String sql) throws Exception {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            assertThat(resultSet.next()).isTrue();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String snakeCase(String fieldName) {
+        return fieldName.replaceAll("([A-Z])", "_$1").toLowerCase();
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.nginate.commons.testing;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeyDistributionTest {
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    public void keysStayInReservedSpace() throws Exception {
+        KeyDistribution distribution = KeyDistribution.uniform(100);
+        long unique = Unique.nextId();
+
+        assertThat(unique).isGreaterThan(distribution.keyOf(99));
+        IntStream.range(0, 1000).parallel().forEach(i ->
+                assertThat(distribution.nextKey()).isBetween(distribution.keyOf(0), distribution.keyOf(99)));
+        assertThatThrownBy(() -> distribution.keyOf(100)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void zipfPrefersFirstKeys() throws Exception {
+        int[] counts = histogram(KeyDistribution.zipf(1000, 1.0), 1000);
+
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[9] * 5);
+        assertThat(share(counts, 0, 100)).isGreaterThan(0.6);
+    }
+
+    @Test
+    public void latestPrefersLastKeys() throws Exception {
+        int[] counts = histogram(KeyDistribution.latest(1000, 1.0), 1000);
+
+        assertThat(counts[999]).isGreaterThan(counts[990] * 5);
+        assertThat(share(counts, 900, 1000)).isGreaterThan(0.6);
+    }
+
+    @Test
+    public void hotspotGivesHotKeysTheirShare() throws Exception {
+        int[] counts = histogram(KeyDistribution.hotspot(1000, 0.1, 0.9), 1000);
+
+        assertThat(share(counts, 0, 100)).isBetween(0.88, 0.92);
+    }
+
+    @Test
+    public void gaussianPrefersMiddleKeys() throws Exception {
+        int[] counts = histogram(KeyDistribution.gaussian(1000, 0.1), 1000);
+
+        assertThat(share(counts, 400, 600)).isGreaterThan(0.6);
+        assertThat(share(counts, 0, 100)).isLessThan(0.01);
+    }
+
+    @Test
+    public void zeroExponentIsUniform() throws Exception {
+        int[] counts = histogram(KeyDistribution.zipf(10, 0), 10);
+
+        for (int count : counts) {
+            assertThat(count).isBetween(SAMPLES / 10 * 9 / 10, SAMPLES / 10 * 11 / 10);
+        }
+    }
+
+    @Test
+    public void suppliersConvertKeys() throws Exception {
+        KeyDistribution distribution = KeyDistribution.uniform(1);
+        long key = distribution.keyOf(0);
+
+        assertThat(distribution.supplier(long.class).get()).isEqualTo(key);
+        assertThat(distribution.supplier(String.class).get()).isEqualTo(Unique.stringOf(key));
+        assertThat(distribution.supplier(UUID.class).get()).isEqualTo(Unique.uuidOf(key));
+        assertThatThrownBy(() -> distribution.supplier(Double.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void narrowKeysDoNotCollide() throws Exception {
+        Supplier<Byte> bytes = KeyDistribution.uniform(256).supplier(byte.class);
+        Set<Byte> values = new HashSet<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            values.add(bytes.get());
+        }
+
+        assertThat(values).hasSize(256);
+        assertThatThrownBy(() -> KeyDistribution.uniform(257).supplier(Byte.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeyDistribution.uniform(65537).supplier(short.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void invalidParametersAreRejected() throws Exception {
+        assertThatThrownBy(() -> KeyDistribution.uniform(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeyDistribution.zipf(10, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeyDistribution.hotspot(10, 0, 0.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeyDistribution.gaussian(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int[] histogram(KeyDistribution distribution, int keys) {
+        int[] counts = new int[keys];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.nextIndex()]++;
+        }
+        return counts;
+    }
+
+    private static double share(int[] counts, int from, int to) {
+        return (double) IntStream.range(from, to).map(i -> counts[i]).sum() / SAMPLES;
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.nginate.commons.testing;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PayloadTest {
+
+    @Test
+    public void sameSeedGivesSameContent() throws Exception {
+        byte[] first = Payload.of(42, 1000).toByteArray();
+        byte[] second = Payload.of(42, 1000).toByteArray();
+        byte[] other = Payload.of(43, 1000).toByteArray();
+
+        assertThat(first).hasSize(1000).isEqualTo(second).isNotEqualTo(other);
+        assertThat(Payload.unique(16).toByteArray()).isNotEqualTo(Payload.unique(16).toByteArray());
+    }
+
+    @Test
+    public void bulkCopiesMatchSingleBytes() throws Exception {
+        Payload payload = Payload.of(7, 100);
+        byte[] array = new byte[50];
+        payload.copyTo(13, array, 3, 45);
+
+        for (int i = 0; i < 45; i++) {
+            assertThat(array[3 + i]).isEqualTo(payload.byteAt(13 + i));
+        }
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        direct.position(5);
+        payload.copyTo(31, direct);
+        assertThat(direct.position()).isEqualTo(64);
+        for (int i = 0; i < 59; i++) {
+            assertThat(direct.get(5 + i)).isEqualTo(payload.byteAt(31 + i));
+        }
+
+        assertThatThrownBy(() -> payload.copyTo(90, array, 0, 20)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void streamReadsContent() throws Exception {
+        Payload payload = Payload.of(1, 10_000);
+        byte[] expected = payload.toByteArray();
+        byte[] actual = new byte[10_000];
+
+        try (InputStream in = payload.openStream()) {
+            actual[0] = (byte) in.read();
+            int offset = 1;
+            int read;
+            while ((read = in.read(actual, offset, Math.min(777, actual.length - offset))) > 0) {
+                offset += read;
+            }
+            assertThat(offset).isEqualTo(10_000);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+        assertThat(actual).isEqualTo(expected);
+
+        InputStream in = payload.openStream();
+        assertThat(in.skip(9_990)).isEqualTo(9_990);
+        in.mark(0);
+        assertThat(in.read()).isEqualTo(expected[9_990] & 0xFF);
+        in.reset();
+        assertThat(in.available()).isEqualTo(10);
+    }
+
+    @Test
+    public void channelStreamsLargePayloadWithSmallBuffer() throws Exception {
+        long size = 64L * 1024 * 1024 + 3;
+        Payload payload = Payload.of(5, size);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+        long total = 0;
+        byte last = 0;
+
+        try (SeekableByteChannel channel = payload.openChannel()) {
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                total += read;
+                last = buffer.get(read - 1);
+                buffer.clear();
+            }
+            assertThat(channel.size()).isEqualTo(size);
+
+            channel.position(size - 1);
+            channel.read(buffer);
+            assertThat(buffer.position()).isEqualTo(1);
+        }
+        assertThat(total).isEqualTo(size);
+        assertThat(last).isEqualTo(payload.byteAt(size - 1));
+    }
+
+    @Test
+    public void closedChannelRejectsReads() throws Exception {
+        SeekableByteChannel channel = Payload.of(1, 10).openChannel();
+        channel.close();
+
+        assertThatThrownBy(() -> channel.read(ByteBuffer.allocate(1))).isInstanceOf(ClosedChannelException.class);
+    }
+
+    @Test
+    public void mismatchFindsFirstDifference() throws Exception {
+        Payload payload = Payload.of(9, 200_000);
+        byte[] content = payload.toByteArray();
+
+        assertThat(payload.mismatch(new ByteArrayInputStream(content))).isEqualTo(-1);
+        assertThat(payload.mismatch(new ByteArrayInputStream(content, 0, 150_000))).isEqualTo(150_000);
+        assertThat(payload.mismatch(new ByteArrayInputStream(Arrays.copyOf(content, 200_001)))).isEqualTo(200_000);
+
+        content[123_456]++;
+        assertThat(payload.mismatch(new ByteArrayInputStream(content))).isEqualTo(123_456);
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.nginate.commons.testing;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nginate.commons.testing.Conditions.allocatedAtMost;
+import static com.github.nginate.commons.testing.Conditions.latencyAtMost;
+import static com.github.nginate.commons.testing.Conditions.throughputAtLeast;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PerformanceTest {
+    private Object sink;
+    private long counter;
+
+    @Test
+    public void allocationIsMeasuredPerInvocation() throws Exception {
+        Performance.Result allocating = Performance.of(() -> sink = new byte[1024])
+                .withWarmup(1000)
+                .withInvocations(1000)
+                .measure();
+        Performance.Result notAllocating = Performance.of(() -> counter++)
+                .withWarmup(1000)
+                .withInvocations(1000)
+                .measure();
+
+        assertThat(allocating.isAllocationMeasured()).isTrue();
+        assertThat(allocating)
+                .has(allocatedAtMost(2048))
+                .doesNotHave(allocatedAtMost(1000));
+        assertThat(notAllocating).has(allocatedAtMost(1));
+    }
+
+    @Test
+    public void latencyAndThroughput() throws Exception {
+        Performance.Result result = Performance.of(() -> counter++).withWarmup(0).withInvocations(100).measure();
+
+        assertThat(counter).isEqualTo(100);
+        assertThat(result.getInvocations()).isEqualTo(100);
+        assertThat(result.getLatencyNanos(0.5)).isLessThanOrEqualTo(result.getLatencyNanos(0.99));
+        assertThat(result)
+                .has(latencyAtMost(0.99, 1, TimeUnit.SECONDS))
+                .has(throughputAtLeast(1))
+                .doesNotHave(throughputAtLeast(Double.MAX_VALUE));
+        assertThat(result.toString()).contains("100 invocations");
+    }
+
+    @Test
+    public void percentileShouldBeValid() throws Exception {
+        Performance.Result result = Performance.of(() -> counter++).withInvocations(10).measure();
+
+        assertThatThrownBy(() -> result.getLatencyNanos(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> result.getLatencyNanos(1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.nginate.commons.testing.Initializer.uniqueList;
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PropertyRunnerTest {
+
+    @Test
+    public void holdingPropertyPassesAllTrials() throws Exception {
+        PropertyRunner.Result<ObjectFieldsDto> result = PropertyRunner.forAll(uniqueObject(ObjectFieldsDto.class))
+                .withTrials(1000)
+                .check(dto -> dto.getLongField() > 0 && dto.getStringField() != null);
+
+        assertThat(result.isPassed()).isTrue();
+        assertThat(result.getTrials()).isEqualTo(1000);
+        assertThat(result.getCounterexample()).isNull();
+    }
+
+    @Test
+    public void collectionSizeIsShrunk() throws Exception {
+        PropertyRunner.Result<List<Long>> result = PropertyRunner.forAll(uniqueList(Long.class))
+                .withMaxCollectionSize(50)
+                .check(list -> list.size() < 3);
+
+        assertThat(result.isPassed()).isFalse();
+        assertThat(result.getOriginalCounterexample().size()).isGreaterThanOrEqualTo(3);
+        assertThat(result.getCounterexample()).hasSize(3);
+        assertThat(result.getFailure()).isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void leafValuesAreShrunk() throws Exception {
+        PropertyRunner.Result<List<Long>> result = PropertyRunner.forAll(uniqueList(Long.class))
+                .withMaxCollectionSize(20)
+                .check(list -> list.stream().allMatch(value -> value < 100));
+
+        assertThat(result.getCounterexample()).containsExactly(100L);
+        assertThat(result.getShrinks()).isPositive();
+    }
+
+    @Test
+    public void sameSeedReproducesCounterexample() throws Exception {
+        PropertyRunner<ObjectFieldsDto> runner = PropertyRunner.forAll(uniqueObject(ObjectFieldsDto.class))
+                .withSeed(7)
+                .withMaxShrinks(0);
+
+        PropertyRunner.Result<ObjectFieldsDto> first = runner.check(dto -> dto.getIntegerField() % 5 != 0);
+        PropertyRunner.Result<ObjectFieldsDto> second = runner.check(dto -> dto.getIntegerField() % 5 != 0);
+
+        assertThat(first.getFailedTrial()).isEqualTo(second.getFailedTrial());
+        assertThat(first.getCounterexample()).isEqualTo(second.getCounterexample());
+        assertThat(first.getTrials()).isEqualTo(first.getFailedTrial() + 1);
+    }
+
+    @Test
+    public void firstFailingTrialIsReported() throws Exception {
+        PropertyRunner.Result<ObjectFieldsDto> result = PropertyRunner.forAll(uniqueObject(ObjectFieldsDto.class))
+                .withTrials(500)
+                .withMaxShrinks(0)
+                .check(dto -> dto.getLongField() % 10 != 3);
+
+        PropertyRunner.Result<ObjectFieldsDto> sequential = PropertyRunner.forAll(uniqueObject(ObjectFieldsDto.class))
+                .withTrials(result.getFailedTrial() + 1)
+                .withMaxShrinks(0)
+                .check(dto -> dto.getLongField() % 10 != 3);
+
+        assertThat(sequential.getFailedTrial()).isEqualTo(result.getFailedTrial());
+    }
+
+    @Test
+    public void verifyReportsCounterexample() throws Exception {
+        assertThatThrownBy(() -> PropertyRunner.forAll(uniqueList(Long.class))
+                .verify(list -> {
+                    throw new IllegalStateException("broken");
+                }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("counterexample <[]>")
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
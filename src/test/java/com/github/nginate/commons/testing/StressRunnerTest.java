@@ -0,0 +1,85 @@
+package com.github.nginate.commons.testing;
+
+import com.github.nginate.commons.testing.dto.ObjectFieldsDto;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.nginate.commons.testing.Conditions.noFailures;
+import static com.github.nginate.commons.testing.Conditions.onlyOutcomes;
+import static com.github.nginate.commons.testing.Conditions.outcomeCount;
+import static com.github.nginate.commons.testing.Initializer.uniqueObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StressRunnerTest {
+
+    @Test
+    public void threadsReceiveDistinctInputs() throws Exception {
+        Map<Long, Long> seen = new ConcurrentHashMap<>();
+
+        StressRunner.Result result = StressRunner.of(Unique::uniqueLong)
+                .withIterations(1000)
+                .withActor(4, value -> seen.putIfAbsent(value, value) == null ? "inserted" : "duplicate")
+                .run();
+
+        assertThat(result.getInvocations()).isEqualTo(4000);
+        assertThat(result)
+                .has(noFailures())
+                .has(outcomeCount("inserted", 4000))
+                .has(onlyOutcomes("inserted"));
+        assertThat(seen).hasSize(4000);
+    }
+
+    @Test
+    public void outcomesOfSeveralActorsAreCollected() throws Exception {
+        AtomicLong counter = new AtomicLong();
+
+        StressRunner.Result result = StressRunner.of(uniqueObject(ObjectFieldsDto.class))
+                .withIterations(100)
+                .withActor(2, dto -> counter.incrementAndGet() > 0 && dto.getLongField() != null)
+                .withActor(1, dto -> {
+                    throw new IllegalStateException("failed");
+                })
+                .run();
+
+        assertThat(result.getCount(true)).isEqualTo(200);
+        assertThat(result.getFailureCount()).isEqualTo(100);
+        assertThat(result.getFailures()).hasSize(10);
+        assertThat(result).doesNotHave(noFailures());
+        assertThat(counter.get()).isEqualTo(200);
+    }
+
+    @Test
+    public void indexedRunnerPassesIterationIndices() throws Exception {
+        StressRunner.Result result = StressRunner.indexed()
+                .withIterations(10)
+                .withActor(3, index -> index % 2 == 0 ? "even" : "odd")
+                .run();
+
+        assertThat(result)
+                .has(outcomeCount("even", 15))
+                .has(outcomeCount("odd", 15))
+                .doesNotHave(onlyOutcomes("even"));
+        assertThat(result.getThroughput()).isPositive();
+    }
+
+    @Test
+    public void timeoutIsReported() throws Exception {
+        assertThatThrownBy(() -> StressRunner.indexed()
+                .withIterations(1)
+                .withTimeout(100, TimeUnit.MILLISECONDS)
+                .withActor(1, index -> {
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return index;
+                })
+                .run()).isInstanceOf(IllegalStateException.class);
+    }
+}
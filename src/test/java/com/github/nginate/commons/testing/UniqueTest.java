@@ -4,12 +4,15 @@ import org.junit.Test;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.IntStream;
 
 import static com.github.nginate.commons.testing.Unique.*;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class UniqueTest {
 
@@ -180,4 +183,136 @@ public class UniqueTest {
         UUID uuid = uniqueUUID();
         assertThat(uniqueUUID()).isNotEqualTo(uuid);
     }
+
+    @Test
+    public void testReserve() throws Exception {
+        long first = reserve(10);
+        assertThat(uniqueLong()).isGreaterThanOrEqualTo(first + 10);
+    }
+
+    @Test
+    public void testReservedBlocksAreDisjoint() throws Exception {
+        int amount = 1000;
+
+        List<Long> values = IntStream.range(0, 4).parallel()
+                .mapToObj(thread -> withReservedBlocks(7, () -> IntStream.range(0, amount)
+                        .mapToObj(i -> uniqueLong())
+                        .collect(toList())))
+                .flatMap(List::stream)
+                .collect(toList());
+
+        assertThat(values).hasSize(4 * amount).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void testReservedBlocksAreReleased() throws Exception {
+        Long inBlock = withReservedBlocks(1000, Unique::uniqueLong);
+        Long afterBlock = uniqueLong();
+
+        assertThat(afterBlock).isGreaterThanOrEqualTo(inBlock + 1000);
+    }
+
+    @Test
+    public void testSequenceIsRepeatable() throws Exception {
+        List<String> first = withSequence(42, () -> IntStream.range(0, 3)
+                .mapToObj(i -> uniqueString())
+                .collect(toList()));
+        List<String> second = withSequence(42, () -> IntStream.range(0, 3)
+                .mapToObj(i -> uniqueString())
+                .collect(toList()));
+
+        assertThat(first).containsExactly("testValue42", "testValue43", "testValue44").isEqualTo(second);
+    }
+
+    @Test
+    public void testUniqueMatching() throws Exception {
+        String[] patterns = {"[A-Z]{3}-\\d{4}", "(DE|FR)\\d{2}[A-Z0-9]{4,6}", "[a-z]+\\.[a-z]{2,}@example\\.(com|org)",
+                "(?:ab|c)*x?", "[^a-z]\\w\\s\\D."};
+
+        for (String pattern : patterns) {
+            List<String> values = IntStream.range(0, 1000)
+                    .mapToObj(i -> uniqueMatching(pattern))
+                    .collect(toList());
+            assertThat(values).doesNotHaveDuplicates().allMatch(value -> value.matches(pattern));
+        }
+        assertThat(uniqueMatching("^\\u0041\\x42\\[\\]$")).isEqualTo("AB[]");
+    }
+
+    @Test
+    public void testMatchingStringsAreEnumerated() throws Exception {
+        RegexGenerator generator = RegexGenerator.of("[ab]{1,2}");
+
+        assertThat(generator.count()).isEqualTo(6);
+        assertThat(IntStream.range(0, 7).mapToObj(generator::generate).collect(toList()))
+                .containsExactly("a", "b", "aa", "ab", "ba", "bb", "a");
+    }
+
+    @Test
+    public void testUnsupportedPattern() throws Exception {
+        assertThatThrownBy(() -> uniqueMatching("(a)\\1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> uniqueMatching("(?=a)b")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> uniqueMatching("[a-z")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testScrambledValuesAreInvertible() throws Exception {
+        List<Long> longs = IntStream.range(0, 1000).mapToObj(i -> scrambledLong()).collect(toList());
+        List<Long> counters = longs.stream().map(Unique::unscrambleLong).collect(toList());
+
+        assertThat(longs).doesNotHaveDuplicates().allMatch(value -> value > 0).isNotEqualTo(sorted(longs));
+        assertThat(counters).isEqualTo(sorted(counters)).doesNotHaveDuplicates();
+
+        assertThat(unscrambleLong(withSequence(42, Unique::scrambledLong))).isEqualTo(42);
+        assertThat(unscrambleInteger(withSequence(42, Unique::scrambledInteger))).isEqualTo(42);
+        assertThat(unscrambleShort(withSequence(42, Unique::scrambledShort))).isEqualTo(42);
+        assertThat(unscrambleByte(withSequence(42, Unique::scrambledByte))).isEqualTo(42);
+        assertThat(unscrambleInteger(withSequence((1L << 32) + 7, Unique::scrambledInteger))).isEqualTo(7);
+    }
+
+    @Test
+    public void testScrambledNarrowValuesCoverTheirDomain() throws Exception {
+        Set<Short> shorts = withSequence(1, () -> IntStream.range(0, 1 << 16)
+                .mapToObj(i -> scrambledShort())
+                .collect(toSet()));
+        Set<Byte> bytes = withSequence(1000, () -> IntStream.range(0, 256)
+                .mapToObj(i -> scrambledByte())
+                .collect(toSet()));
+
+        assertThat(shorts).hasSize(1 << 16);
+        assertThat(bytes).hasSize(256);
+    }
+
+    @Test
+    public void testStringsWithHashCollide() throws Exception {
+        List<String> strings = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> uniqueStringWithHash(-42))
+                .collect(toList());
+
+        assertThat(strings).doesNotHaveDuplicates().allMatch(value -> value.hashCode() == -42);
+        assertThat(HashCollisions.stringOf(0, -1L).hashCode()).isZero();
+        assertThat(HashCollisions.stringOf(Integer.MIN_VALUE, 0).hashCode()).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void testStringsInBucketCollideInLowBitsOnly() throws Exception {
+        List<String> strings = IntStream.range(0, 1000)
+                .mapToObj(i -> uniqueStringInBucket(5, 10))
+                .collect(toList());
+
+        assertThat(strings).doesNotHaveDuplicates();
+        assertThat(strings.stream().map(String::hashCode).distinct().count()).isEqualTo(1000);
+        assertThat(strings).allMatch(value -> ((value.hashCode() ^ (value.hashCode() >>> 16)) & 1023) == 5);
+        assertThatThrownBy(() -> uniqueStringInBucket(0, 17)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testCompositeKeysWithHashCollide() throws Exception {
+        List<List<Long>> keys = IntStream.range(0, 1000).mapToObj(i -> uniqueKeyWithHash(7)).collect(toList());
+
+        assertThat(keys).doesNotHaveDuplicates().allMatch(key -> key.hashCode() == 7 && key.size() == 2);
+    }
+
+    private static List<Long> sorted(List<Long> values) {
+        return values.stream().sorted().collect(toList());
+    }
 }
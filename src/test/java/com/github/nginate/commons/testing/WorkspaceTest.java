@@ -0,0 +1,85 @@
+package com.github.nginate.commons.testing;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkspaceTest {
+
+    @Test
+    public void filesHavePayloadContent() throws Exception {
+        try (Workspace workspace = Workspace.create()) {
+            Payload payload = Payload.of(11, 200_000);
+            Path file = workspace.newFile(payload);
+
+            assertThat(file.getParent()).isEqualTo(workspace.getRoot());
+            assertThat(Files.size(file)).isEqualTo(payload.getSize());
+            try (InputStream in = Files.newInputStream(file)) {
+                assertThat(payload.mismatch(in)).isEqualTo(-1);
+            }
+        }
+    }
+
+    @Test
+    public void bulkFilesAreUnique() throws Exception {
+        try (Workspace workspace = Workspace.create()) {
+            List<Path> files = workspace.newFiles(500, 100);
+
+            assertThat(files).hasSize(500).doesNotHaveDuplicates();
+            assertThat(files.stream().map(WorkspaceTest::contentOf).distinct().count()).isEqualTo(500);
+        }
+    }
+
+    @Test
+    public void sparseFilesHaveSizeAndZeros() throws Exception {
+        try (Workspace workspace = Workspace.create()) {
+            Path file = workspace.newSparseFile(1L << 20);
+            Path empty = workspace.newSparseFile(0);
+
+            assertThat(Files.size(file)).isEqualTo(1L << 20);
+            assertThat(Files.readAllBytes(file)).containsOnly(0);
+            assertThat(Files.size(empty)).isZero();
+        }
+    }
+
+    @Test
+    public void cleanUpKeepsRootAndCloseDeletesIt() throws Exception {
+        Workspace workspace = Workspace.create();
+        Path directory = workspace.newDirectory();
+        Path nested = Files.write(directory.resolve("nested"), new byte[]{1});
+        Path file = workspace.newFile(10);
+
+        workspace.cleanUp();
+        assertThat(workspace.getRoot()).isDirectory();
+        assertThat(Files.exists(directory)).isFalse();
+        assertThat(Files.exists(nested)).isFalse();
+        assertThat(Files.exists(file)).isFalse();
+
+        workspace.newFile(10);
+        workspace.close();
+        assertThat(Files.exists(workspace.getRoot())).isFalse();
+    }
+
+    @Test
+    public void generatedValuesUseContextWorkspace() throws Exception {
+        Path path = Initializer.uniqueObject(Path.class).withWorkspace(Workspace.shared()).generate();
+
+        assertThat(path.getParent()).isEqualTo(Workspace.shared().getRoot());
+        assertThat(Files.isRegularFile(path)).isTrue();
+        assertThat(Workspace.shared()).isSameAs(Workspace.shared());
+        assertThat(Files.exists(Initializer.uniqueObject(Path.class).generate())).isFalse();
+    }
+
+    private static String contentOf(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), "ISO-8859-1");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.nginate.commons.testing.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.AssertFalse;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.Future;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Null;
+import javax.validation.constraints.Past;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ConstrainedDto {
+    @Size(min = 3, max = 5)
+    private String code;
+    @Size(min = 20)
+    private String description;
+    @Size(min = 2, max = 3)
+    private List<SimpleObjectFieldDto> items;
+    @Size(min = 4)
+    private Map<Long, String> attributes;
+    @Size(max = 0)
+    private long[] emptyArray;
+    @Min(10)
+    @Max(12)
+    private int quantity;
+    @Min(-5)
+    @Max(-1)
+    private Long negative;
+    @DecimalMax(value = "100", inclusive = false)
+    private BigDecimal price;
+    @Past
+    private Date created;
+    @Future
+    private Instant expires;
+    @AssertFalse
+    private Boolean deleted;
+    @Null
+    private String reserved;
+    @Pattern(regexp = "[A-Z]{3}-\\d{4}")
+    private String sku;
+}
@@ -0,0 +1,13 @@
+package com.github.nginate.commons.testing.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class InterfaceFieldsDto {
+    private List<Long> listField;
+    private Map<Long, String> mapField;
+    private CharSequence charSequenceField;
+}